@@ -31,6 +31,7 @@ import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -40,6 +41,8 @@ import org.ops4j.exec.ExecutionException;
 import org.ops4j.net.FreePort;
 import org.ops4j.pax.exam.ExamJavaRunner;
 import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.util.Backoff;
+import org.ops4j.pax.exam.util.ClassDataSharing;
 import org.ops4j.pax.swissbox.framework.RemoteFramework;
 import org.ops4j.pax.swissbox.framework.RemoteFrameworkImpl;
 import org.ops4j.pax.swissbox.tracker.ServiceLookup;
@@ -63,6 +66,12 @@ public class ForkedFrameworkFactory {
     // TODO make this configurable
     private static final long TIMEOUT = 60 * 1000;
 
+    /**
+     * Initial and maximum delay in millis between RMI lookup attempts.
+     */
+    private static final long LOOKUP_INITIAL_DELAY = 10;
+    private static final long LOOKUP_MAX_DELAY = 500;
+
     private FrameworkFactory frameworkFactory;
     private Registry registry;
 
@@ -123,11 +132,16 @@ public class ForkedFrameworkFactory {
             systemPropsNew.put("java.rmi.server.hostname", address);
             systemPropsNew.put(RemoteFramework.RMI_PORT_KEY, Integer.toString(port));
             systemPropsNew.put(RemoteFramework.RMI_NAME_KEY, rmiName);
-            String[] vmOptions = buildSystemProperties(vmArgs, systemPropsNew);
+            String[] classpath = buildClasspath(beforeFrameworkClasspath, afterFrameworkClasspath);
+            String javaHome = getJavaHome();
+            List<String> allVmArgs = new ArrayList<>(vmArgs);
+            allVmArgs.addAll(ClassDataSharing.getVmOptions(javaHome, vmArgs,
+                Arrays.asList(classpath)));
+            String[] vmOptions = buildSystemProperties(allVmArgs, systemPropsNew);
             String[] args = buildFrameworkProperties(frameworkProperties);
             javaRunner = new ExamJavaRunner(false);
-            javaRunner.exec(vmOptions, buildClasspath(beforeFrameworkClasspath, afterFrameworkClasspath),
-                RemoteFrameworkImpl.class.getName(), args, getJavaHome(), null);
+            javaRunner.exec(vmOptions, classpath, RemoteFrameworkImpl.class.getName(), args,
+                javaHome, null);
             return findRemoteFramework(address, port, rmiName);
         }
         catch (RemoteException | ExecutionException | URISyntaxException exc) {
@@ -229,6 +243,7 @@ public class ForkedFrameworkFactory {
         RemoteFramework framework = null;
         Throwable reason = null;
         long startedTrying = System.currentTimeMillis();
+        Backoff backoff = new Backoff(LOOKUP_INITIAL_DELAY, LOOKUP_MAX_DELAY);
         LOG.info("Connecting to host: " + address + " port: " + _port);
         do {
             try {
@@ -239,10 +254,12 @@ public class ForkedFrameworkFactory {
                 reason = e;
             }
         }
-        while (framework == null && System.currentTimeMillis() < startedTrying + TIMEOUT);
+        while (framework == null && backoff.await(startedTrying + TIMEOUT));
         if (framework == null) {
             throw new TestContainerException("cannot find remote framework in RMI registry", reason);
         }
+        LOG.info("Remote framework found after {} millis and {} retries",
+            System.currentTimeMillis() - startedTrying, backoff.getAttempts());
         return framework;
 
     }
@@ -0,0 +1,312 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import static org.ops4j.pax.exam.Constants.EXAM_FORKED_POOL_SIZE_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_FORKED_POOL_SIZE_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_INVOKER_PORT;
+import static org.osgi.framework.Constants.FRAMEWORK_STORAGE;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.spi.listener.TestEventChannel;
+import org.ops4j.pax.swissbox.framework.RemoteFramework;
+import org.osgi.framework.launch.FrameworkFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of forked Java VMs running a {@link RemoteFramework} which has not yet been initialized.
+ * <p>
+ * Each forked VM is identified by a key computed from its VM arguments, system properties,
+ * framework properties and class path. The framework storage directory and the port of the test
+ * event channel are excluded from the key, since they are allocated by the pool for each VM.
+ * <p>
+ * When a container acquires a VM, the pool forks a replacement with the same configuration in
+ * the background. VMs are never reused after a container has stopped. When the pool is full, idle
+ * VMs of other configurations are discarded, oldest first. All idle VMs are discarded when this
+ * VM exits.
+ *
+ * @since 5.0.0
+ */
+public class ForkedFrameworkPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ForkedFrameworkPool.class);
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private static ForkedFrameworkPool instance;
+
+    private final int size;
+    private final ExecutorService executor;
+    private final List<PooledFramework> idle = new LinkedList<>();
+    private int pending;
+    private boolean closed;
+
+    ForkedFrameworkPool(int size) {
+        this.size = size;
+        this.executor = Executors.newFixedThreadPool(size, r -> {
+            Thread thread = new Thread(r, "pax-exam-fork-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
+    }
+
+    /**
+     * @return the pool configured by {@code pax.exam.forked.pool.size}, or null if there is no
+     *         pool
+     */
+    public static synchronized ForkedFrameworkPool getInstance() {
+        if (instance == null) {
+            ConfigurationManager cm = new ConfigurationManager();
+            String value = cm.getProperty(EXAM_FORKED_POOL_SIZE_KEY,
+                EXAM_FORKED_POOL_SIZE_DEFAULT);
+            int size;
+            try {
+                size = Integer.parseInt(value.trim());
+            }
+            catch (NumberFormatException exc) {
+                throw new TestContainerException("illegal value for "
+                    + EXAM_FORKED_POOL_SIZE_KEY + ": " + value, exc);
+            }
+            if (size <= 0) {
+                return null;
+            }
+            instance = new ForkedFrameworkPool(size);
+        }
+        return instance;
+    }
+
+    /**
+     * Takes an idle VM with the given configuration from the pool and forks a replacement in the
+     * background.
+     *
+     * @param frameworkFactory
+     *            OSGi framework factory
+     * @param vmArgs
+     *            VM arguments
+     * @param systemProperties
+     *            system properties for the forked Java VM
+     * @param frameworkProperties
+     *            framework properties for the remote framework
+     * @param beforeFrameworkClasspath
+     *            system classpath entries before the framework itself
+     * @param afterFrameworkClasspath
+     *            system classpath entries after the framework itself
+     * @return idle VM, or null if there is none with this configuration
+     */
+    public PooledFramework acquire(FrameworkFactory frameworkFactory, List<String> vmArgs,
+        Map<String, String> systemProperties, Map<String, Object> frameworkProperties,
+        List<String> beforeFrameworkClasspath, List<String> afterFrameworkClasspath) {
+        Request request = new Request(frameworkFactory, vmArgs, systemProperties,
+            frameworkProperties, beforeFrameworkClasspath, afterFrameworkClasspath);
+        PooledFramework framework = null;
+        synchronized (this) {
+            Iterator<PooledFramework> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledFramework candidate = it.next();
+                if (candidate.key.equals(request.key)) {
+                    it.remove();
+                    framework = candidate;
+                    break;
+                }
+            }
+            if (idle.size() + pending >= size && !idle.isEmpty()) {
+                idle.remove(0).discard();
+            }
+            if (idle.size() + pending < size && !closed) {
+                pending++;
+                executor.execute(() -> fork(request));
+            }
+        }
+        LOG.debug("{} forked VM from pool", framework == null ? "no" : "using");
+        return framework;
+    }
+
+    private void fork(Request request) {
+        PooledFramework framework = null;
+        try {
+            framework = request.fork();
+        }
+        // CHECKSTYLE:SKIP
+        catch (Exception exc) {
+            LOG.warn("cannot fork VM for pool", exc);
+        }
+        synchronized (this) {
+            pending--;
+            if (framework != null && !closed) {
+                idle.add(framework);
+                return;
+            }
+        }
+        if (framework != null) {
+            framework.discard();
+        }
+    }
+
+    /**
+     * Discards all idle VMs. VMs which are still being forked are discarded when they are ready.
+     */
+    void shutdown() {
+        List<PooledFramework> frameworks;
+        synchronized (this) {
+            closed = true;
+            frameworks = new ArrayList<>(idle);
+            idle.clear();
+        }
+        executor.shutdown();
+        for (PooledFramework framework : frameworks) {
+            framework.discard();
+        }
+    }
+
+    /**
+     * Configuration of a forked VM.
+     */
+    private static class Request {
+
+        private final FrameworkFactory frameworkFactory;
+        private final List<String> vmArgs;
+        private final Map<String, String> systemProperties;
+        private final Map<String, Object> frameworkProperties;
+        private final List<String> beforeFrameworkClasspath;
+        private final List<String> afterFrameworkClasspath;
+        private final String key;
+
+        Request(FrameworkFactory frameworkFactory, List<String> vmArgs,
+            Map<String, String> systemProperties, Map<String, Object> frameworkProperties,
+            List<String> beforeFrameworkClasspath, List<String> afterFrameworkClasspath) {
+            this.frameworkFactory = frameworkFactory;
+            this.vmArgs = new ArrayList<>(vmArgs);
+            this.systemProperties = new TreeMap<>(systemProperties);
+            this.systemProperties.remove(EXAM_INVOKER_PORT);
+            this.frameworkProperties = new TreeMap<>(frameworkProperties);
+            this.frameworkProperties.remove(FRAMEWORK_STORAGE);
+            this.beforeFrameworkClasspath = new ArrayList<>(beforeFrameworkClasspath);
+            this.afterFrameworkClasspath = new ArrayList<>(afterFrameworkClasspath);
+            this.key = frameworkFactory.getClass().getName() + this.vmArgs
+                + this.systemProperties + this.frameworkProperties
+                + this.beforeFrameworkClasspath + this.afterFrameworkClasspath;
+        }
+
+        PooledFramework fork() throws IOException {
+            Path storage = Files.createTempDirectory("pax-exam-forked-");
+            TestEventChannel eventChannel = null;
+            try {
+                eventChannel = new TestEventChannel(0);
+                Map<String, String> sysProps = new HashMap<>(systemProperties);
+                sysProps.put(EXAM_INVOKER_PORT, Integer.toString(eventChannel.getPort()));
+                Map<String, Object> fwProps = new HashMap<>(frameworkProperties);
+                fwProps.put(FRAMEWORK_STORAGE, storage.toString());
+                ForkedFrameworkFactory factory = new ForkedFrameworkFactory(frameworkFactory);
+                RemoteFramework remoteFramework = factory.fork(vmArgs, sysProps, fwProps,
+                    beforeFrameworkClasspath, afterFrameworkClasspath);
+                return new PooledFramework(key, factory, remoteFramework, eventChannel,
+                    storage.toFile());
+            }
+            catch (IOException | RuntimeException exc) {
+                if (eventChannel != null) {
+                    eventChannel.close();
+                }
+                delete(storage.toFile());
+                throw exc;
+            }
+        }
+    }
+
+    /**
+     * A forked VM taken from the pool. The container owns the VM, the event channel and the
+     * storage directory and must call {@link #discard()} after stopping the framework.
+     */
+    public static class PooledFramework {
+
+        private final String key;
+        private final ForkedFrameworkFactory frameworkFactory;
+        private final RemoteFramework remoteFramework;
+        private final TestEventChannel eventChannel;
+        private final File storage;
+
+        PooledFramework(String key, ForkedFrameworkFactory frameworkFactory,
+            RemoteFramework remoteFramework, TestEventChannel eventChannel, File storage) {
+            this.key = key;
+            this.frameworkFactory = frameworkFactory;
+            this.remoteFramework = remoteFramework;
+            this.eventChannel = eventChannel;
+            this.storage = storage;
+        }
+
+        public ForkedFrameworkFactory getFrameworkFactory() {
+            return frameworkFactory;
+        }
+
+        public RemoteFramework getRemoteFramework() {
+            return remoteFramework;
+        }
+
+        public TestEventChannel getEventChannel() {
+            return eventChannel;
+        }
+
+        /**
+         * Terminates the forked VM, closes the event channel and deletes the storage directory.
+         */
+        public void discard() {
+            try {
+                frameworkFactory.join();
+            }
+            // CHECKSTYLE:SKIP
+            catch (RuntimeException exc) {
+                LOG.warn("cannot terminate forked VM", exc);
+            }
+            try {
+                eventChannel.close();
+            }
+            catch (IOException exc) {
+                LOG.warn("cannot close test event channel", exc);
+            }
+            delete(storage);
+        }
+    }
+
+    private static void delete(File folder) {
+        try (Stream<Path> paths = Files.walk(folder.toPath())) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot delete " + folder, exc);
+        }
+    }
+}
@@ -29,25 +29,23 @@ import static org.osgi.framework.Constants.FRAMEWORK_BOOTDELEGATION;
 import static org.osgi.framework.Constants.FRAMEWORK_STORAGE;
 import static org.osgi.framework.Constants.FRAMEWORK_SYSTEMPACKAGES_EXTRA;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
-import java.net.ServerSocket;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.rmi.RemoteException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Stack;
 import java.util.concurrent.TimeUnit;
 
-import org.ops4j.io.StreamUtils;
 import org.ops4j.net.FreePort;
 import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.ExamConfigurationException;
@@ -58,6 +56,7 @@ import org.ops4j.pax.exam.TestContainer;
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.TestListener;
+import org.ops4j.pax.exam.forked.ForkedFrameworkPool.PooledFramework;
 import org.ops4j.pax.exam.forked.provision.PlatformImpl;
 import org.ops4j.pax.exam.options.BootClasspathLibraryOption;
 import org.ops4j.pax.exam.options.BootDelegationOption;
@@ -71,7 +70,7 @@ import org.ops4j.pax.exam.options.UrlReference;
 import org.ops4j.pax.exam.options.ValueOption;
 import org.ops4j.pax.exam.options.extra.RepositoryOption;
 import org.ops4j.pax.exam.options.extra.VMOption;
-import org.ops4j.pax.exam.spi.listener.TestListenerTask;
+import org.ops4j.pax.exam.spi.listener.TestEventChannel;
 import org.ops4j.pax.swissbox.framework.RemoteFramework;
 import org.ops4j.pax.swissbox.framework.RemoteServiceReference;
 import org.osgi.framework.Bundle;
@@ -95,13 +94,16 @@ public class ForkedTestContainer implements TestContainer {
     private static final Logger LOG = LoggerFactory.getLogger(ForkedTestContainer.class);
 
     private ExamSystem system;
-    private final ForkedFrameworkFactory frameworkFactory;
+    private ForkedFrameworkFactory frameworkFactory;
+    private PooledFramework pooledFramework;
     private RemoteFramework remoteFramework;
     private final PlatformImpl platform;
     private final String name;
 
     private int port;
+    private TestEventChannel eventChannel;
     private HashMap<Long, String> bundlesById;
+    private final Stack<Long> installed = new Stack<>();
 
     public ForkedTestContainer(ExamSystem system, FrameworkFactory frameworkFactory) {
         this.system = system;
@@ -110,15 +112,30 @@ public class ForkedTestContainer implements TestContainer {
         this.name = "Forked:" + frameworkFactory.getClass().getSimpleName();
     }
 
-    private long install(InputStream stream) {
+    /**
+     * Installs a bundle by handing it over to the forked framework as a file in the temp folder of
+     * this container. The forked framework runs on the same host, so there is no need to pass the
+     * bundle content via RMI.
+     */
+    private long install(InputStream stream) throws IOException {
+        File probeDir = new File(system.getTempFolder(), "probes");
+        probeDir.mkdirs();
+        File probe = File.createTempFile("probe", ".jar", probeDir);
         try {
-            long bundleId = remoteFramework.installBundle("local", pack(stream));
+            try (InputStream in = stream) {
+                Files.copy(in, probe.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            long bundleId = remoteFramework.installBundle(probe.toURI().toString());
+            installed.push(bundleId);
             remoteFramework.startBundle(bundleId);
             return bundleId;
         }
         catch (RemoteException | BundleException exc) {
             throw new TestContainerException(exc);
         }
+        finally {
+            probe.delete();
+        }
     }
 
     @Override
@@ -152,8 +169,23 @@ public class ForkedTestContainer implements TestContainer {
                 }
             }
 
-            remoteFramework = frameworkFactory.fork(vmArgs, systemProperties, frameworkProperties,
-                beforeFrameworkClasspath, afterFrameworkClasspath);
+            ForkedFrameworkPool pool = ForkedFrameworkPool.getInstance();
+            if (pool != null) {
+                pooledFramework = pool.acquire(frameworkFactory.getFrameworkFactory(), vmArgs,
+                    systemProperties, frameworkProperties, beforeFrameworkClasspath,
+                    afterFrameworkClasspath);
+            }
+            if (pooledFramework != null) {
+                frameworkFactory = pooledFramework.getFrameworkFactory();
+                remoteFramework = pooledFramework.getRemoteFramework();
+                eventChannel = pooledFramework.getEventChannel();
+                port = eventChannel.getPort();
+            }
+            else {
+                eventChannel = new TestEventChannel(port);
+                remoteFramework = frameworkFactory.fork(vmArgs, systemProperties,
+                    frameworkProperties, beforeFrameworkClasspath, afterFrameworkClasspath);
+            }
             remoteFramework.init();
             installAndStartBundles();
         }
@@ -186,19 +218,29 @@ public class ForkedTestContainer implements TestContainer {
         catch (RemoteException | BundleException exc) {
             throw new TestContainerException(exc);
         }
-        frameworkFactory.join();
+        finally {
+            closeEventChannel();
+        }
+        if (pooledFramework != null) {
+            pooledFramework.discard();
+            pooledFramework = null;
+        }
+        else {
+            frameworkFactory.join();
+        }
         system.clear();
     }
 
-    private byte[] pack(InputStream stream) {
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
-        try {
-            StreamUtils.copyStream(stream, out, true);
-        }
-        catch (IOException e) {
-
+    private void closeEventChannel() {
+        if (eventChannel != null) {
+            try {
+                eventChannel.close();
+            }
+            catch (IOException exc) {
+                LOG.warn("cannot close test event channel", exc);
+            }
+            eventChannel = null;
         }
-        return out.toByteArray();
     }
 
     private Map<String, Object> createFrameworkProperties() throws IOException {
@@ -258,13 +300,11 @@ public class ForkedTestContainer implements TestContainer {
     }
 
     private void installAndStartBundles() throws BundleException, RemoteException, ExamConfigurationException {
-        File workDir = new File(system.getTempFolder(), "pax-exam-downloads");
-        workDir.mkdirs();
         List<Long> bundleIds = new ArrayList<Long>();
         ProvisionOption<?>[] options = system.getOptions(ProvisionOption.class);
         bundlesById = new HashMap<Long, String>();
         for (ProvisionOption<?> bundle : options) {
-            String localUrl = downloadBundle(workDir, bundle.getURL());
+            String localUrl = downloadBundle(bundle.getURL());
             long id = remoteFramework.installBundle(localUrl, bundle.shouldStart(),getStartLevel(bundle));
             bundlesById.put(id,bundle.getURL());
             if (bundle.shouldStart()) {
@@ -313,14 +353,13 @@ public class ForkedTestContainer implements TestContainer {
         }
     }
 
-    private String downloadBundle(File workDir, String url) {
+    private String downloadBundle(String url) {
         try {
             URL realUrl = new URL(url);
             if (realUrl.getProtocol().equals("reference")) {
                 return url;
             }
-            File localBundle = platform.download(workDir, realUrl, url, false, true,
-                true, false);
+            File localBundle = platform.download(realUrl, url, false, true, true, false);
             return localBundle.toURI().toURL().toString();
         }
         catch (MalformedURLException exc) {
@@ -338,8 +377,7 @@ public class ForkedTestContainer implements TestContainer {
             else if (realUrl.getProtocol().equals("file")) {
                 return realUrl.getPath();
             }
-            File artifact = platform.download(system.getTempFolder(), realUrl, url, false, false,
-                false, false);
+            File artifact = platform.download(realUrl, url, false, false, false, false);
             return artifact.getCanonicalPath();
         }
         catch (MalformedURLException exc) {
@@ -368,21 +406,37 @@ public class ForkedTestContainer implements TestContainer {
         install(stream);
     }
 
+    @Override
+    public boolean supportsProbeUninstall() {
+        return true;
+    }
+
+    @Override
+    public void uninstallProbe() {
+        try {
+            while (!installed.isEmpty()) {
+                remoteFramework.uninstallBundle(installed.pop());
+            }
+        }
+        catch (RemoteException | BundleException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+
 
     @Override
     public void runTest(TestDescription description, TestListener listener) {
         String filterExpression = "(&(objectClass=org.ops4j.pax.exam.ProbeInvoker))";
+        String runId = eventChannel.register(listener);
         try {
-            ServerSocket serverSocket = new ServerSocket(port);
-            TestListenerTask task = new TestListenerTask(serverSocket, listener);
-            ExecutorService executor = Executors.newSingleThreadExecutor();
-            executor.submit(task);
-
             RemoteServiceReference[] references = remoteFramework.getServiceReferences(
                 filterExpression, system.getTimeout().getValue(), TimeUnit.MILLISECONDS);
-            remoteFramework.invokeMethodOnService(references[0], "runTestClass", description.toString());
-            executor.shutdown();
-            serverSocket.close();
+            Object finished = remoteFramework.invokeMethodOnService(references[0],
+                "runTestClass", new Class<?>[] { String.class, String.class },
+                new Object[] { description.toString(), runId });
+            if (Boolean.TRUE.equals(finished)) {
+                eventChannel.await(runId, system.getTimeout());
+            }
         }
         catch (InvocationTargetException exc) {
             LOG.error("", exc.getCause());
@@ -392,6 +446,9 @@ public class ForkedTestContainer implements TestContainer {
         catch (Exception exc) {
             throw new TestContainerException(exc);
         }
+        finally {
+            eventChannel.unregister(runId);
+        }
     }
 
     @Override
@@ -18,17 +18,19 @@
 package org.ops4j.pax.exam.forked.provision;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.nio.channels.FileChannel;
-import java.util.Properties;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
 
 import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.util.ArtifactCache;
 import org.osgi.framework.Constants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -48,19 +50,46 @@ public class PlatformImpl {
     private static final Logger LOGGER = LoggerFactory.getLogger(PlatformImpl.class);
 
     /**
-     * Concrete platform builder as equinox, felix, kf.
+     * Validation results by cached file. An empty result means the bundle is valid.
      */
+    private static final Map<File, Optional<TestContainerException>> VALIDATIONS =
+        new ConcurrentHashMap<>();
+
+    private ArtifactCache cache;
+
+    /**
+     * Creates a platform using the default {@link ArtifactCache}.
+     */
+    public PlatformImpl() {
+    }
+
     /**
-     * Downloads files from urls.
+     * Creates a platform using the given cache.
+     *
+     * @param cache
+     *            artifact cache
+     */
+    public PlatformImpl(ArtifactCache cache) {
+        this.cache = cache;
+    }
+
+    private synchronized ArtifactCache getCache() {
+        if (cache == null) {
+            cache = ArtifactCache.getDefault();
+        }
+        return cache;
+    }
+
+    /**
+     * Downloads files from urls into the shared {@link ArtifactCache}. Each bundle is validated
+     * only once per process.
      *
-     * @param workDir
-     *            the directory where to download bundles
      * @param url
      *            of the file to be downloaded
      * @param displayName
      *            to be shown during download
      * @param overwrite
-     *            if the bundles should be overwritten
+     *            if the bundles should be downloaded again even if they are cached
      * @param checkAttributes
      *            whether or not to check attributes in the manifest
      * @param failOnValidation
@@ -74,150 +103,73 @@ public class PlatformImpl {
      * @throws TestContainerException
      *             if the url could not be downloaded
      */
-    public File download(final File workDir, final URL url, final String displayName,
-        final Boolean overwrite, final boolean checkAttributes, final boolean failOnValidation,
+    public File download(final URL url, final String displayName, final Boolean overwrite,
+        final boolean checkAttributes, final boolean failOnValidation,
         final boolean downloadFeeback) {
-        LOGGER.debug("Downloading [" + url + "]");
-        File downloadedBundlesFile = new File(workDir, "downloaded_bundles.properties");
-        Properties fileNamesForUrls = loadProperties(downloadedBundlesFile);
-
-        String downloadedFileName = fileNamesForUrls.getProperty(url.toExternalForm());
-        String hashFileName = "" + url.toExternalForm().hashCode();
-        if (downloadedFileName == null) {
-            // destination will be made based on the hashcode of the url to be downloaded
-            downloadedFileName = hashFileName + ".jar";
-
-        }
-        File destination = new File(workDir, downloadedFileName);
-
-        // download the bundle only if is a forced overwrite or the file does not exist or the file
-        // is there but is
-        // invalid
-        boolean forceOverwrite = overwrite || !destination.exists();
-        if (!forceOverwrite) {
-            try {
-                String cachingName = determineCachingName(destination, hashFileName);
-                if (!destination.getName().equals(cachingName)) {
-                    throw new TestContainerException("File " + destination + " should have name "
-                        + cachingName);
-                }
-            }
-            catch (TestContainerException ignore) {
-                forceOverwrite = true;
-            }
+        File destination = overwrite ? null : getCache().get(url.toExternalForm());
+        if (destination == null) {
+            destination = downloadToCache(url, displayName, downloadFeeback);
         }
-        if (forceOverwrite) {
-            try {
-                LOGGER.debug("Creating new file at destination: " + destination.getAbsolutePath());
-                destination.getParentFile().mkdirs();
-                destination.createNewFile();
-                FileOutputStream os = null;
-                try {
-                    os = new FileOutputStream(destination);
-                    FileChannel fileChannel = os.getChannel();
-                    StreamUtils.ProgressBar progressBar = null;
-                    if (LOGGER.isInfoEnabled()) {
-                        if (downloadFeeback) {
-                            progressBar = new StreamUtils.FineGrainedProgressBar(displayName);
-                        }
-                        else {
-                            progressBar = new StreamUtils.CoarseGrainedProgressBar(displayName);
-                        }
-                    }
-                    // Check if this is an exploded bundle...
-                    if (url.getPath().endsWith("/") && "file".equals(url.getProtocol())) {
-                        StreamUtils.streamCopy(new URL("assembly:" + url.toExternalForm()),
-                            fileChannel, progressBar);
-                    }
-                    else {
-                        StreamUtils.streamCopy(url, fileChannel, progressBar);
-                    }
-
-                    fileChannel.close();
-                    LOGGER.debug("Successfully downloaded to [" + destination + "]");
-                }
-                finally {
-                    if (os != null) {
-                        os.close();
-                    }
-                }
-            }
-            catch (IOException e) {
-                throw new TestContainerException("[" + url + "] could not be downloaded", e);
-            }
+        else {
+            LOGGER.debug("Using cached [" + url + "] at [" + destination + "]");
         }
         if (checkAttributes) {
-            try {
-                validateBundle(url, destination);
-            }
-            catch (TestContainerException e) {
+            Optional<TestContainerException> failure = VALIDATIONS.computeIfAbsent(destination,
+                file -> validate(url, file));
+            if (failure.isPresent()) {
                 if (failOnValidation) {
-                    throw e;
+                    throw new TestContainerException(failure.get().getMessage(), failure.get());
                 }
                 return null;
             }
         }
-        String cachingName = determineCachingName(destination, hashFileName);
-        File newDestination = new File(destination.getParentFile(), cachingName);
-        if (!cachingName.equals(destination.getName())) {
-            if (newDestination.exists()) {
-                if (!newDestination.delete()) {
-                    throw new TestContainerException("Cannot delete " + newDestination);
-                }
-            }
-            if (!destination.renameTo(newDestination)) {
-                throw new TestContainerException("Cannot rename " + destination + " to "
-                    + newDestination);
-            }
-            fileNamesForUrls.setProperty(url.toExternalForm(), cachingName);
-            saveProperties(fileNamesForUrls, downloadedBundlesFile);
-        }
-
-        return newDestination;
+        return destination;
     }
 
-    private Properties loadProperties(File file) {
-        Properties properties = new Properties();
-        FileInputStream in = null;
+    private File downloadToCache(URL url, String displayName, boolean downloadFeeback) {
+        LOGGER.debug("Downloading [" + url + "]");
+        File download = null;
         try {
-            in = new FileInputStream(file);
-            properties.load(in);
-            return properties;
-        }
-        catch (IOException e) {
-            return properties;
-        }
-        finally {
-            if (in != null) {
-                try {
-                    in.close();
+            download = getCache().createTempFile();
+            try (FileOutputStream os = new FileOutputStream(download);
+                FileChannel fileChannel = os.getChannel()) {
+                StreamUtils.ProgressBar progressBar = null;
+                if (LOGGER.isInfoEnabled()) {
+                    if (downloadFeeback) {
+                        progressBar = new StreamUtils.FineGrainedProgressBar(displayName);
+                    }
+                    else {
+                        progressBar = new StreamUtils.CoarseGrainedProgressBar(displayName);
+                    }
+                }
+                // Check if this is an exploded bundle...
+                if (url.getPath().endsWith("/") && "file".equals(url.getProtocol())) {
+                    StreamUtils.streamCopy(new URL("assembly:" + url.toExternalForm()),
+                        fileChannel, progressBar);
                 }
-                catch (IOException e) {
-                    // ignore
+                else {
+                    StreamUtils.streamCopy(url, fileChannel, progressBar);
                 }
             }
+            File destination = getCache().publish(url.toExternalForm(), download);
+            LOGGER.debug("Successfully downloaded to [" + destination + "]");
+            return destination;
+        }
+        catch (IOException e) {
+            if (download != null) {
+                download.delete();
+            }
+            throw new TestContainerException("[" + url + "] could not be downloaded", e);
         }
     }
 
-    private void saveProperties(Properties properties, File file) {
-        FileOutputStream os = null;
+    private Optional<TestContainerException> validate(URL url, File file) {
         try {
-            os = new FileOutputStream(file);
-            properties.store(os, "");
+            validateBundle(url, file);
+            return Optional.empty();
         }
-        catch (IOException e) {
-            throw new TestContainerException("Cannot store properties " + file, e);
-        }
-        finally {
-            if (os != null) {
-                try {
-                    os.close();
-                }
-                catch (IOException e) {
-                    // ignore
-                }
-            }
-
+        catch (TestContainerException e) {
+            return Optional.of(e);
         }
     }
 
@@ -291,58 +243,4 @@ public class PlatformImpl {
                 + "] is not a valid bundle (bundleSymbolicName and bundleName are null)");
         }
     }
-
-    /**
-     * Determine name to be used for caching on local file system.
-     *
-     * @param file
-     *            file to be validated
-     * @param defaultBundleSymbolicName
-     *            default bundle symbolic name to be used if manifest does not have a bundle
-     *            symbolic name
-     *
-     * @return file name based on bundle symbolic name and version
-     */
-    String determineCachingName(final File file, final String defaultBundleSymbolicName) {
-        String bundleSymbolicName = null;
-        String bundleVersion = null;
-        JarFile jar = null;
-        try {
-            // verify that is a valid jar. Do not verify that is signed (the false param).
-            jar = new JarFile(file, false);
-            final Manifest manifest = jar.getManifest();
-            if (manifest != null) {
-                bundleSymbolicName = manifest.getMainAttributes().getValue(
-                    Constants.BUNDLE_SYMBOLICNAME);
-                bundleVersion = manifest.getMainAttributes().getValue(Constants.BUNDLE_VERSION);
-            }
-        }
-        catch (IOException ignore) {
-            // just ignore
-        }
-        finally {
-            if (jar != null) {
-                try {
-                    jar.close();
-                }
-                catch (IOException ignore) {
-                    // just ignore as this is less probably to happen.
-                }
-            }
-        }
-        if (bundleSymbolicName == null) {
-            bundleSymbolicName = defaultBundleSymbolicName;
-        }
-        else {
-            // remove directives like "; singleton:=true"
-            int semicolonPos = bundleSymbolicName.indexOf(";");
-            if (semicolonPos > 0) {
-                bundleSymbolicName = bundleSymbolicName.substring(0, semicolonPos);
-            }
-        }
-        if (bundleVersion == null) {
-            bundleVersion = "0.0.0";
-        }
-        return bundleSymbolicName + "_" + bundleVersion + ".jar";
-    }
 }
@@ -17,19 +17,22 @@
  */
 package org.ops4j.pax.exam.forked.provision;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
 
 import org.ops4j.lang.NullArgumentException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Stream related utilities. TODO add units tests
+ * Stream related utilities.
  * 
  * @author Alin Dreghiciu
  * @since August 19, 2007
@@ -83,7 +86,9 @@ public class StreamUtils {
     }
 
     /**
-     * Copy a stream from an urlto a destination.
+     * Copy a stream from an urlto a destination. For {@code file:} URLs, the content is
+     * transferred from channel to channel, which lets the operating system copy the file without
+     * passing it through a buffer on the heap.
      * 
      * @param url
      *            the url to copy from
@@ -98,6 +103,11 @@ public class StreamUtils {
     public static void streamCopy(final URL url, final FileChannel out,
         final ProgressBar progressBar) throws IOException {
         NullArgumentException.validateNotNull(url, "URL");
+        File file = toLocalFile(url);
+        if (file != null) {
+            fileCopy(file, out, progressBar);
+            return;
+        }
         InputStream is = null;
         try {
             is = url.openStream();
@@ -111,6 +121,44 @@ public class StreamUtils {
 
     }
 
+    private static File toLocalFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        }
+        catch (URISyntaxException | IllegalArgumentException exc) {
+            return null;
+        }
+    }
+
+    private static void fileCopy(final File file, final FileChannel out,
+        final ProgressBar progressBar) throws IOException {
+        NullArgumentException.validateNotNull(out, "Output stream");
+        final long start = System.currentTimeMillis();
+        long bytes = 0;
+        ProgressBar feedbackBar = progressBar;
+        if (feedbackBar == null) {
+            feedbackBar = new NullProgressBar();
+        }
+        try (FileChannel in = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = in.size();
+            while (bytes < size) {
+                long n = in.transferTo(bytes, size - bytes, out);
+                if (n <= 0) {
+                    break;
+                }
+                bytes += n;
+            }
+        }
+        finally {
+            feedbackBar.increment(bytes, bytes / Math.max(System.currentTimeMillis() - start, 1));
+            feedbackBar.stop();
+        }
+    }
+
     /**
      * Feddback for downloading process.
      */
@@ -183,6 +231,7 @@ public class StreamUtils {
          * Name of the downloaded artifact.
          */
         private final String downloadTargetName;
+        private final long start = System.currentTimeMillis();
         private long bytes;
         private long kbps;
 
@@ -197,7 +246,8 @@ public class StreamUtils {
         }
 
         public void stop() {
-            LOGGER.debug(downloadTargetName + " : " + bytes + " bytes @ [ " + kbps + "kBps ]");
+            LOGGER.debug(downloadTargetName + " : " + bytes + " bytes in "
+                + (System.currentTimeMillis() - start) + " ms @ [ " + kbps + "kBps ]");
         }
 
     }
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.junit.After;
+import org.junit.Test;
+import org.ops4j.pax.exam.forked.ForkedFrameworkPool.PooledFramework;
+import org.osgi.framework.Constants;
+import org.osgi.framework.launch.FrameworkFactory;
+
+public class ForkedFrameworkPoolTest {
+
+    private final ForkedFrameworkPool pool = new ForkedFrameworkPool(1);
+    private final FrameworkFactory frameworkFactory = ServiceLoader.load(FrameworkFactory.class)
+        .iterator().next();
+    private final List<String> classpath = Collections.emptyList();
+
+    @After
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    private PooledFramework acquire(String storage, String port) {
+        Map<String, String> systemProperties = new HashMap<>();
+        systemProperties.put(org.ops4j.pax.exam.Constants.EXAM_INVOKER_PORT, port);
+        Map<String, Object> frameworkProperties = new HashMap<>();
+        frameworkProperties.put(Constants.FRAMEWORK_STORAGE, storage);
+        return pool.acquire(frameworkFactory, Collections.<String> emptyList(), systemProperties,
+            frameworkProperties, classpath, classpath);
+    }
+
+    @Test
+    public void shouldHandOutVmForkedInBackground() throws InterruptedException {
+        assertThat(acquire("target/storage/a", "20001"), is(nullValue()));
+
+        PooledFramework framework = null;
+        long deadline = System.currentTimeMillis() + 60000;
+        while (framework == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+            framework = acquire("target/storage/b", "20002");
+        }
+        assertThat(framework, is(notNullValue()));
+        assertThat(framework.getEventChannel().getPort(), is(not(20002)));
+        framework.discard();
+    }
+}
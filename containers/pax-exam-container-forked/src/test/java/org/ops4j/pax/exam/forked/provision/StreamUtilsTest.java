@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.forked.provision;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class StreamUtilsTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldCopyLocalFileAndReportSize() throws IOException {
+        byte[] content = new byte[300000];
+        new Random(1).nextBytes(content);
+        File source = tempFolder.newFile("source.jar");
+        Files.write(source.toPath(), content);
+        File target = tempFolder.newFile("target.jar");
+        long[] reported = new long[1];
+        StreamUtils.ProgressBar progressBar = new StreamUtils.NullProgressBar() {
+
+            @Override
+            public void increment(long bytes, long kbps) {
+                reported[0] = bytes;
+            }
+        };
+
+        try (FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.WRITE)) {
+            StreamUtils.streamCopy(source.toURI().toURL(), out, progressBar);
+        }
+
+        assertArrayEquals(content, Files.readAllBytes(target.toPath()));
+        assertThat(reported[0], is((long) content.length));
+    }
+}
@@ -18,26 +18,44 @@ package org.ops4j.pax.exam.karaf.container.internal;
 
 import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.compress.archivers.ArchiveEntry;
 import org.apache.commons.compress.archivers.ArchiveInputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 
 /**
  * Extract zip or tar.gz archives to a target folder
  */
 public class ArchiveExtractor {
-    
+
+    private static final int BUFFER_SIZE = 65536;
+
+    /** Entries up to this size are read into memory and written by the writer threads. */
+    private static final long MAX_BUFFERED_ENTRY_SIZE = 1024 * 1024;
+
+    private static final int WRITER_THREADS = 4;
+
+    private static final int WRITER_QUEUE_SIZE = 32;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
     private ArchiveExtractor() {
     }
 
@@ -77,35 +95,31 @@ public class ArchiveExtractor {
 
     private static void extractTarGzDistribution(URL sourceDistribution, File _targetFolder)
         throws IOException {
-        File uncompressedFile = File.createTempFile("uncompressedTarGz-", ".tar");
-        extractGzArchive(sourceDistribution.openStream(), uncompressedFile);
-        extract(new TarArchiveInputStream(new FileInputStream(uncompressedFile)), _targetFolder);
-        FileUtils.forceDelete(uncompressedFile);
+        InputStream in = new BufferedInputStream(sourceDistribution.openStream(), BUFFER_SIZE);
+        extract(new TarArchiveInputStream(new GzipCompressorInputStream(in)), _targetFolder);
     }
 
     private static void extractZipDistribution(URL sourceDistribution, File _targetFolder)
         throws IOException {
-        extract(new ZipArchiveInputStream(sourceDistribution.openStream()), _targetFolder);
-    }
-
-    private static void extractGzArchive(InputStream tarGz, File tar) throws IOException {
-        BufferedInputStream in = new BufferedInputStream(tarGz);
-        FileOutputStream out = new FileOutputStream(tar);
-        GzipCompressorInputStream gzIn = new GzipCompressorInputStream(in);
-        final byte[] buffer = new byte[1000];
-        int n = 0;
-        while (-1 != (n = gzIn.read(buffer))) {
-            out.write(buffer, 0, n);
-        }
-        out.close();
-        gzIn.close();
+        InputStream in = new BufferedInputStream(sourceDistribution.openStream(), BUFFER_SIZE);
+        extract(new ZipArchiveInputStream(in), _targetFolder);
     }
 
+    /**
+     * Reads the archive in a single pass. Small entries are read into memory and written by a
+     * bounded pool of threads, so decompression and disk I/O overlap. Large entries are written
+     * directly by the calling thread.
+     */
     private static void extract(ArchiveInputStream is, File targetDir) throws IOException {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(WRITER_THREADS, WRITER_THREADS, 0L,
+            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<Runnable>(WRITER_QUEUE_SIZE), r -> {
+                Thread thread = new Thread(r, "pax-exam-extract-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.CallerRunsPolicy());
+        List<Future<?>> writes = new ArrayList<>();
         try {
-            if (targetDir.exists()) {
-                FileUtils.forceDelete(targetDir);
-            }
+            RuntimeFolders.delete(targetDir);
             targetDir.mkdirs();
             ArchiveEntry entry = is.getNextEntry();
             while (entry != null) {
@@ -117,19 +131,45 @@ public class ArchiveExtractor {
                 }
                 else {
                     file.getParentFile().mkdirs();
-                    OutputStream os = new FileOutputStream(file);
-                    try {
-                        IOUtils.copy(is, os);
+                    long size = entry.getSize();
+                    if (size >= 0 && size <= MAX_BUFFERED_ENTRY_SIZE) {
+                        byte[] content = IOUtils.toByteArray(is, size);
+                        writes.add(executor.submit(() -> {
+                            write(file, content);
+                            return null;
+                        }));
                     }
-                    finally {
-                        IOUtils.closeQuietly(os);
+                    else {
+                        try (OutputStream os = new FileOutputStream(file)) {
+                            IOUtils.copyLarge(is, os, new byte[BUFFER_SIZE]);
+                        }
                     }
                 }
                 entry = is.getNextEntry();
             }
+            for (Future<?> write : writes) {
+                write.get();
+            }
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("extraction interrupted");
+        }
+        catch (ExecutionException exc) {
+            if (exc.getCause() instanceof IOException) {
+                throw (IOException) exc.getCause();
+            }
+            throw new IOException(exc.getCause());
         }
         finally {
+            executor.shutdownNow();
             is.close();
         }
     }
+
+    private static void write(File file, byte[] content) throws IOException {
+        try (OutputStream os = new FileOutputStream(file)) {
+            os.write(content);
+        }
+    }
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.util.ArtifactCache;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+/**
+ * Collects the inputs of a {@link KarafBootCache} key.
+ * <p>
+ * The framework storage holds private copies of all installed bundles, so the key must change
+ * whenever the content behind an artifact URL changes. Released Maven artifacts are identified by
+ * their URL. Local files are identified by size and modification time, all other artifacts by a
+ * digest of their content. Features repositories are identified by their content, and the
+ * artifacts and repositories they refer to are added as well.
+ *
+ * @since 5.0.0
+ */
+class BootCacheInputs {
+
+    /** URL handlers which wrap another artifact URL. */
+    private static final String[] WRAPPERS = { "wrap:", "blueprint:", "spring:", "war:",
+        "webbundle:" };
+
+    private final List<String> inputs = new ArrayList<>();
+    private final Set<String> visited = new HashSet<>();
+
+    /**
+     * @param input
+     *            input which is not an artifact
+     */
+    void add(String input) {
+        inputs.add(input);
+    }
+
+    /**
+     * Adds a bundle or another artifact.
+     *
+     * @param url
+     *            artifact URL
+     * @throws IOException
+     *             if the artifact cannot be read
+     */
+    void addArtifact(String url) throws IOException {
+        if (!visited.add(url)) {
+            return;
+        }
+        String artifact = unwrap(url);
+        if (ArtifactCache.isImmutable(artifact)) {
+            inputs.add(url);
+        }
+        else if (artifact.startsWith("file:")) {
+            File file = FileUtils.toFile(new URL(artifact));
+            if (file == null || !file.isFile()) {
+                throw new IOException("no such file: " + artifact);
+            }
+            inputs.add(url + ":" + file.length() + ":" + file.lastModified());
+        }
+        else {
+            try (InputStream in = new URL(artifact).openStream()) {
+                inputs.add(url + ":" + digest(in));
+            }
+        }
+    }
+
+    /**
+     * Adds a features repository with all artifacts and repositories it refers to.
+     *
+     * @param url
+     *            features repository URL
+     * @throws IOException
+     *             if the repository or one of its artifacts cannot be read
+     */
+    void addFeaturesRepository(String url) throws IOException {
+        if (!visited.add(url)) {
+            return;
+        }
+        byte[] content;
+        try (InputStream in = new URL(url).openStream()) {
+            content = IOUtils.toByteArray(in);
+        }
+        inputs.add(url + ":" + digest(new ByteArrayInputStream(content)));
+        Document document = parse(content, url);
+        for (String repository : getTexts(document, "repository")) {
+            addFeaturesRepository(repository);
+        }
+        for (String bundle : getTexts(document, "bundle")) {
+            addArtifact(bundle);
+        }
+        for (String configFile : getTexts(document, "configfile")) {
+            addArtifact(configFile);
+        }
+    }
+
+    /**
+     * @return all inputs added so far
+     */
+    List<String> getInputs() {
+        return inputs;
+    }
+
+    private static String unwrap(String url) {
+        for (String wrapper : WRAPPERS) {
+            if (url.startsWith(wrapper)) {
+                String wrapped = url.substring(wrapper.length());
+                int instructions = wrapped.indexOf('$');
+                return unwrap(instructions < 0 ? wrapped : wrapped.substring(0, instructions));
+            }
+        }
+        return url;
+    }
+
+    private static Document parse(byte[] content, String url) throws IOException {
+        try {
+            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+            factory.setNamespaceAware(true);
+            factory.setExpandEntityReferences(false);
+            return factory.newDocumentBuilder().parse(new ByteArrayInputStream(content));
+        }
+        catch (ParserConfigurationException | SAXException exc) {
+            throw new IOException("cannot parse features repository " + url, exc);
+        }
+    }
+
+    private static List<String> getTexts(Document document, String element) {
+        List<String> texts = new ArrayList<>();
+        NodeList nodes = document.getElementsByTagNameNS("*", element);
+        for (int i = 0; i < nodes.getLength(); i++) {
+            String text = nodes.item(i).getTextContent().trim();
+            if (!text.isEmpty()) {
+                texts.add(text);
+            }
+        }
+        return texts;
+    }
+
+    private static String digest(InputStream in) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+}
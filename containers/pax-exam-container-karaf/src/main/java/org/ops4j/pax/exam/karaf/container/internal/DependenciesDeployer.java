@@ -22,7 +22,15 @@ import java.io.IOException;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamException;
@@ -30,26 +38,53 @@ import javax.xml.stream.XMLStreamWriter;
 
 import org.apache.commons.io.FileUtils;
 import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.karaf.options.KarafFeaturesOption;
 import org.ops4j.pax.exam.options.BootClasspathLibraryOption;
 import org.ops4j.pax.exam.options.ProvisionOption;
 import org.ops4j.pax.exam.options.UrlReference;
+import org.ops4j.pax.exam.util.ArtifactCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Deploys exam and the user specified dependencies and creates the 
  * KarafFeatureOption for the exam feature.
  */
 public class DependenciesDeployer {
-    
+
+    private static final Logger LOG = LoggerFactory.getLogger(DependenciesDeployer.class);
+
     private static final String KARAF_FEATURE_NS = "http://karaf.apache.org/xmlns/features/v1.0.0";
+
+    private static final int DEPLOY_THREADS = 4;
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
     private ExamSystem subsystem;
     private File karafBase;
     private File karafHome;
 
+    private ArtifactCache artifactCache;
+
     public DependenciesDeployer(ExamSystem subsystem, File karafBase, File karafHome) {
+        this(subsystem, karafBase, karafHome, null);
+    }
+
+    /**
+     * Creates a deployer using the given cache for artifacts copied to the deploy folder.
+     *
+     * @param subsystem exam system
+     * @param karafBase Karaf base folder
+     * @param karafHome Karaf home folder
+     * @param artifactCache artifact cache, or null for the default cache
+     */
+    DependenciesDeployer(ExamSystem subsystem, File karafBase, File karafHome,
+        ArtifactCache artifactCache) {
         this.subsystem = subsystem;
         this.karafBase = karafBase;
         this.karafHome = karafHome;
+        this.artifactCache = artifactCache;
     }
 
     /**
@@ -71,21 +106,104 @@ public class DependenciesDeployer {
     }
     
     /**
-     * Copy dependencies specified as ProvisionOption in system to the deploy folder
+     * Copy dependencies specified as ProvisionOption in system to the deploy folder.
+     * <p>
+     * Each artifact is resolved once into the shared {@link ArtifactCache} and hard linked into
+     * the deploy folder, or copied if the file system does not support hard links. Artifacts are
+     * deployed concurrently. Artifacts which cannot be deployed are logged and skipped.
      */
     public void copyReferencedArtifactsToDeployFolder() {
+        long start = System.currentTimeMillis();
         File deploy = new File(karafBase, "deploy");
+        deploy.mkdirs();
         String[] fileEndings = new String[] { "jar", "war", "zip", "kar", "xml" };
         ProvisionOption<?>[] options = subsystem.getOptions(ProvisionOption.class);
+        if (options.length == 0) {
+            return;
+        }
+        ArtifactCache cache = artifactCache == null ? ArtifactCache.getDefault() : artifactCache;
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(DEPLOY_THREADS, options.length), r -> {
+                Thread thread = new Thread(r, "pax-exam-deploy-" + THREAD_COUNT.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        List<Deployment> deployments = new ArrayList<>();
         for (ProvisionOption<?> option : options) {
+            Deployment deployment = new Deployment(cache, option.getURL(),
+                createUnique(option.getURL(), deploy, fileEndings));
+            deployment.future = executor.submit(deployment::deploy);
+            deployments.add(deployment);
+        }
+        int failed = 0;
+        try {
+            for (Deployment deployment : deployments) {
+                deployment.future.get();
+                if (deployment.failure == null) {
+                    LOG.debug("deployed {} in {} ms", deployment.url, deployment.millis);
+                }
+                else {
+                    failed++;
+                    LOG.warn("cannot deploy " + deployment.url + " (failed after "
+                        + deployment.millis + " ms)", deployment.failure);
+                }
+            }
+        }
+        catch (InterruptedException | ExecutionException exc) {
+            throw new TestContainerException("cannot deploy artifacts", exc);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        LOG.info("Deployed {} of {} artifacts in {} ms", new Object[] {
+            options.length - failed, options.length, System.currentTimeMillis() - start });
+    }
+
+    /**
+     * An artifact to be linked or copied from the {@link ArtifactCache} to the deploy folder.
+     */
+    private static class Deployment {
+
+        private final ArtifactCache cache;
+        private final String url;
+        private final File target;
+        private Future<?> future;
+        private long millis;
+        private Exception failure;
+
+        Deployment(ArtifactCache cache, String url, File target) {
+            this.cache = cache;
+            this.url = url;
+            this.target = target;
+        }
+
+        void deploy() {
+            long start = System.currentTimeMillis();
             try {
-                File target = createUnique(option.getURL(), deploy, fileEndings);
-                FileUtils.copyURLToFile(new URL(option.getURL()), target);
+                File artifact = cache.get(url);
+                if (artifact == null) {
+                    File download = cache.createTempFile();
+                    try {
+                        FileUtils.copyURLToFile(new URL(url), download);
+                        artifact = cache.publish(url, download);
+                    }
+                    finally {
+                        FileUtils.deleteQuietly(download);
+                    }
+                }
+                try {
+                    Files.createLink(target.toPath(), artifact.toPath());
+                }
+                catch (IOException | UnsupportedOperationException exc) {
+                    LOG.debug("cannot link {}, copying it", artifact, exc);
+                    Files.copy(artifact.toPath(), target.toPath());
+                }
             }
             // CHECKSTYLE:SKIP
-            catch (Exception e) {
-                // well, this can happen...
+            catch (Exception exc) {
+                failure = exc;
             }
+            millis = System.currentTimeMillis() - start;
         }
     }
 
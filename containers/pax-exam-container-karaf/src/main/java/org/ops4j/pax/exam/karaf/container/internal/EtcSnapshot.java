@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The content of the Karaf {@code etc} folder at a given point in time.
+ * <p>
+ * Karaf keeps file based configurations in sync with the configuration admin service: changes of
+ * such configurations are saved to their {@code .cfg} file, and Felix File Install updates or
+ * deletes configurations when their files are changed or deleted. Restoring the snapshot thus
+ * resets the configuration changes made by tests in a running container.
+ *
+ * @since 5.0.0
+ */
+class EtcSnapshot {
+
+    private final Path etc;
+    private final Map<Path, byte[]> files = new HashMap<>();
+
+    /**
+     * Reads all files in the given folder.
+     *
+     * @param etc
+     *            Karaf etc folder
+     * @throws IOException
+     *             on I/O error
+     */
+    EtcSnapshot(File etc) throws IOException {
+        this.etc = etc.toPath();
+        for (Path file : listFiles()) {
+            files.put(this.etc.relativize(file), Files.readAllBytes(file));
+        }
+    }
+
+    /**
+     * @return files created, modified or deleted since the snapshot was taken
+     * @throws IOException
+     *             on I/O error
+     */
+    List<File> getChangedFiles() throws IOException {
+        List<File> changed = new ArrayList<>();
+        for (Path file : listFiles()) {
+            if (!files.containsKey(etc.relativize(file))) {
+                changed.add(file.toFile());
+            }
+        }
+        for (Map.Entry<Path, byte[]> entry : files.entrySet()) {
+            Path file = etc.resolve(entry.getKey());
+            if (!Files.isRegularFile(file)
+                || !Arrays.equals(entry.getValue(), Files.readAllBytes(file))) {
+                changed.add(file.toFile());
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Restores modified and deleted files and deletes files created after the snapshot was taken.
+     *
+     * @return true if any file was changed
+     * @throws IOException
+     *             on I/O error
+     */
+    boolean restore() throws IOException {
+        List<File> changed = getChangedFiles();
+        for (File file : changed) {
+            byte[] content = files.get(etc.relativize(file.toPath()));
+            if (content == null) {
+                Files.delete(file.toPath());
+            }
+            else {
+                Files.createDirectories(file.toPath().getParent());
+                Files.write(file.toPath(), content);
+            }
+        }
+        return !changed.isEmpty();
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> paths = Files.walk(etc)) {
+            return paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+    }
+}
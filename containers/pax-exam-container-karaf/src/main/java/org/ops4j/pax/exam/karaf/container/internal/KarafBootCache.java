@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of Karaf framework storage folders, shared by all test containers and test runs of the
+ * current user.
+ * <p>
+ * Karaf keeps the installed bundles and the state of the features service in the framework
+ * storage ({@code data/cache}). When Karaf starts with the storage of an earlier boot with the
+ * same configuration, the boot features are already installed and the features resolver does not
+ * run again. This cache saves the storage of the first container with a given configuration once
+ * Karaf has booted and has been stopped cleanly, before any probe is installed, and restores it
+ * into the data folder of later containers.
+ * <p>
+ * Each entry is identified by a key computed from all inputs relevant for feature resolution,
+ * including the content of all artifacts which may change behind the same URL, since the storage
+ * holds private copies of the installed bundles (see {@link BootCacheInputs}). Since the features
+ * service keeps the URLs of its repositories, the generated repository for the test
+ * dependencies is moved into the cache entry, so that all containers of this entry use the same
+ * URL.
+ *
+ * @since 5.0.0
+ */
+public class KarafBootCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KarafBootCache.class);
+
+    /** Maximum number of entries kept. The least recently used ones are deleted. */
+    static final int MAX_ENTRIES = 8;
+
+    private static final String STORAGE = "cache";
+
+    private static KarafBootCache defaultCache;
+
+    private final File root;
+    private final File tempDir;
+
+    /**
+     * Creates a boot cache in the given directory.
+     *
+     * @param root
+     *            cache directory
+     */
+    public KarafBootCache(File root) {
+        this.root = root.getAbsoluteFile();
+        this.tempDir = new File(this.root, "tmp");
+        RuntimeFolders.keep(this.root);
+    }
+
+    /**
+     * @return the boot cache in {@code ~/.pax/exam-cache/karaf-boot-cache}, which is outside of
+     *         the default runtime folder {@code ~/.pax/exam}
+     */
+    public static synchronized KarafBootCache getDefault() {
+        if (defaultCache == null) {
+            defaultCache = new KarafBootCache(new File(System.getProperty("user.home"),
+                ".pax/exam-cache/karaf-boot-cache"));
+        }
+        return defaultCache;
+    }
+
+    /**
+     * @param inputs
+     *            all inputs relevant for feature resolution
+     * @return cache key for the given inputs
+     */
+    public static String getKey(List<String> inputs) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String input : inputs) {
+                digest.update(input.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            StringBuilder sb = new StringBuilder();
+            for (byte b : digest.digest()) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+
+    /**
+     * Copies a generated features repository into the cache entry, unless it is already there.
+     *
+     * @param key
+     *            cache key, which must cover the content of the repository
+     * @param repository
+     *            generated features repository
+     * @return URL of the repository in the cache entry
+     * @throws IOException
+     *             on I/O error
+     */
+    public String getFeaturesRepository(String key, File repository) throws IOException {
+        File entry = new File(root, key);
+        File cached = new File(entry, repository.getName());
+        if (!cached.exists()) {
+            entry.mkdirs();
+            tempDir.mkdirs();
+            File temp = File.createTempFile("repository", ".xml", tempDir);
+            FileUtils.copyFile(repository, temp);
+            move(temp.toPath(), cached.toPath());
+        }
+        return cached.toURI().toString();
+    }
+
+    /**
+     * @param key
+     *            cache key
+     * @return true if the given entry has a framework storage
+     */
+    public boolean contains(String key) {
+        return new File(new File(root, key), STORAGE).isDirectory();
+    }
+
+    /**
+     * Restores the framework storage of the given entry into the data folder of a container.
+     *
+     * @param key
+     *            cache key
+     * @param karafData
+     *            Karaf data folder of the container
+     * @return true if the framework storage was restored
+     * @throws IOException
+     *             on I/O error
+     */
+    public boolean restore(String key, File karafData) throws IOException {
+        File entry = new File(root, key);
+        File storage = new File(entry, STORAGE);
+        if (!storage.isDirectory()) {
+            return false;
+        }
+        entry.setLastModified(System.currentTimeMillis());
+        File target = new File(karafData, STORAGE);
+        if (target.exists()) {
+            FileUtils.forceDelete(target);
+        }
+        copy(storage.toPath(), target.toPath());
+        LOG.info("Restored framework storage from {}", storage);
+        return true;
+    }
+
+    /**
+     * Saves the framework storage of a booted and cleanly stopped container, unless the entry already has a framework
+     * storage. Failures are logged and ignored.
+     *
+     * @param key
+     *            cache key
+     * @param karafData
+     *            Karaf data folder of the container
+     */
+    public void save(String key, File karafData) {
+        File entry = new File(root, key);
+        File storage = new File(entry, STORAGE);
+        File source = new File(karafData, STORAGE);
+        if (storage.exists() || !source.isDirectory()) {
+            return;
+        }
+        evict(entry);
+        File temp = new File(tempDir, UUID.randomUUID().toString());
+        try {
+            copy(source.toPath(), temp.toPath());
+            entry.mkdirs();
+            move(temp.toPath(), storage.toPath());
+            LOG.info("Saved framework storage to {}", storage);
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot save framework storage to {}", storage, exc);
+        }
+        finally {
+            FileUtils.deleteQuietly(temp);
+        }
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException exc) {
+            Files.move(source, target);
+        }
+    }
+
+    private static void copy(final Path source, final Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()),
+                    StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    private void evict(File current) {
+        File[] entries = root.listFiles(file -> file.isDirectory() && !file.equals(tempDir)
+            && !file.equals(current));
+        if (entries == null || entries.length < MAX_ENTRIES) {
+            return;
+        }
+        Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i <= entries.length - MAX_ENTRIES; i++) {
+            LOG.debug("evicting Karaf boot cache entry {}", entries[i]);
+            FileUtils.deleteQuietly(entries[i]);
+        }
+    }
+}
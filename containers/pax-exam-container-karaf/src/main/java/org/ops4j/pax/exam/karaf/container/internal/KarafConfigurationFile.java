@@ -41,6 +41,8 @@ public abstract class KarafConfigurationFile {
 
     public void replace(final File source) {
         try {
+            // files in system/ and lib/ may be hard links to a distribution template
+            FileUtils.deleteQuietly(file);
             FileUtils.copyFile(source, file);
         }
         catch (IOException e) {
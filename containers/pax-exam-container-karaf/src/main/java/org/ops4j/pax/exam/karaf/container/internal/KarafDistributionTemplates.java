@@ -0,0 +1,252 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.UUID;
+
+import org.apache.commons.io.FileUtils;
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A cache of extracted Karaf distributions, shared by all test containers and test runs of the
+ * current user.
+ * <p>
+ * Each distribution is extracted once into a template folder named after the digest of its URL
+ * and a checksum. For {@code file:} URLs, the checksum is made of the size and the modification
+ * time of the archive, for all other URLs it is the digest of the archive content. A template is
+ * extracted to a temporary folder and published with an atomic rename, so concurrent processes
+ * never see partial templates.
+ * <p>
+ * Containers get a clone of the template. Files in {@code system/} and {@code lib/} are never
+ * modified by a container and are hard linked, all other files are copied. When the file system
+ * does not support hard links, all files are copied.
+ *
+ * @since 5.0.0
+ */
+public class KarafDistributionTemplates {
+
+    private static final Logger LOG = LoggerFactory.getLogger(KarafDistributionTemplates.class);
+
+    /** Maximum number of templates kept. The least recently used ones are deleted. */
+    static final int MAX_TEMPLATES = 4;
+
+    private static KarafDistributionTemplates defaultTemplates;
+
+    private final File root;
+    private final File tempDir;
+
+    /**
+     * Creates a template cache in the given directory.
+     *
+     * @param root
+     *            cache directory
+     */
+    public KarafDistributionTemplates(File root) {
+        this.root = root.getAbsoluteFile();
+        this.tempDir = new File(this.root, "tmp");
+        RuntimeFolders.keep(this.root);
+    }
+
+    /**
+     * @return the template cache in {@code ~/.pax/exam-cache/karaf-templates}, which is outside
+     *         of the default runtime folder {@code ~/.pax/exam}
+     */
+    public static synchronized KarafDistributionTemplates getDefault() {
+        if (defaultTemplates == null) {
+            defaultTemplates = new KarafDistributionTemplates(new File(
+                System.getProperty("user.home"), ".pax/exam-cache/karaf-templates"));
+        }
+        return defaultTemplates;
+    }
+
+    /**
+     * Extracts the given distribution into the target folder, using a cached template. Like
+     * {@link ArchiveExtractor#extract(URL, File)}, any previous content of the target folder is
+     * deleted, except for the caches of Pax Exam.
+     *
+     * @param sourceURL
+     *            url of the archive to extract
+     * @param targetFolder
+     *            where to extract to
+     * @throws IOException
+     *             on I/O error
+     */
+    public void extract(URL sourceURL, File targetFolder) throws IOException {
+        File template = getTemplate(sourceURL);
+        long start = System.currentTimeMillis();
+        RuntimeFolders.delete(targetFolder);
+        targetFolder.mkdirs();
+        copy(template.toPath(), targetFolder.toPath());
+        LOG.debug("cloned template {} in {} ms", template, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Returns the template of the given distribution, extracting it if required.
+     *
+     * @param sourceURL
+     *            url of the archive
+     * @return template folder
+     * @throws IOException
+     *             on I/O error
+     */
+    File getTemplate(URL sourceURL) throws IOException {
+        File template = new File(root, getKey(sourceURL));
+        if (template.isDirectory()) {
+            template.setLastModified(System.currentTimeMillis());
+            return template;
+        }
+        evict();
+        tempDir.mkdirs();
+        File extracted = new File(tempDir, UUID.randomUUID().toString());
+        LOG.info("Extracting {} into template {}", sourceURL, template);
+        try {
+            ArchiveExtractor.extract(sourceURL, extracted);
+            move(extracted.toPath(), template.toPath());
+        }
+        catch (IOException exc) {
+            if (!template.isDirectory()) {
+                throw exc;
+            }
+            // published by another process
+        }
+        finally {
+            FileUtils.deleteQuietly(extracted);
+        }
+        return template;
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException exc) {
+            Files.move(source, target);
+        }
+    }
+
+    /**
+     * @return digest of the URL and the checksum of the archive
+     */
+    private static String getKey(URL sourceURL) throws IOException {
+        MessageDigest digest = newDigest();
+        digest.update(sourceURL.toExternalForm().getBytes(StandardCharsets.UTF_8));
+        if (sourceURL.getProtocol().equals("file")) {
+            File archive = FileUtils.toFile(sourceURL);
+            digest.update((archive.length() + ":" + archive.lastModified())
+                .getBytes(StandardCharsets.UTF_8));
+        }
+        else {
+            try (InputStream is = sourceURL.openStream()) {
+                byte[] buffer = new byte[65536];
+                int n;
+                while ((n = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+
+    private static void copy(final Path source, final Path target) throws IOException {
+        Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+
+            private boolean linksSupported = true;
+
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs)
+                throws IOException {
+                Path relative = source.relativize(file);
+                Path copy = target.resolve(relative.toString());
+                if (linksSupported && isShared(relative)) {
+                    try {
+                        Files.createLink(copy, file);
+                        return FileVisitResult.CONTINUE;
+                    }
+                    catch (IOException | UnsupportedOperationException exc) {
+                        LOG.debug("cannot link {}, copying template files", file, exc);
+                        linksSupported = false;
+                    }
+                }
+                Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * @return true if the file is in {@code system/} or {@code lib/} and may be shared by all
+     *         clones
+     */
+    private static boolean isShared(Path relative) {
+        if (relative.getNameCount() < 2) {
+            return false;
+        }
+        String folder = relative.getName(0).toString();
+        return folder.equals("system") || folder.equals("lib");
+    }
+
+    private void evict() {
+        File[] templates = root.listFiles(file -> file.isDirectory() && !file.equals(tempDir));
+        if (templates == null || templates.length < MAX_TEMPLATES) {
+            return;
+        }
+        Arrays.sort(templates, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i <= templates.length - MAX_TEMPLATES; i++) {
+            LOG.debug("evicting Karaf template {}", templates[i]);
+            FileUtils.deleteQuietly(templates[i]);
+        }
+    }
+}
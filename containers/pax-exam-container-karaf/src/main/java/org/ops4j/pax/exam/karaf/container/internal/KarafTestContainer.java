@@ -16,6 +16,10 @@
  */
 package org.ops4j.pax.exam.karaf.container.internal;
 
+import static org.ops4j.pax.exam.Constants.EXAM_KARAF_BOOT_CACHE_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_KARAF_BOOT_CACHE_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_KARAF_TEMPLATES_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_KARAF_TEMPLATES_KEY;
 import static org.ops4j.pax.exam.CoreOptions.maven;
 import static org.ops4j.pax.exam.CoreOptions.options;
 import static org.ops4j.pax.exam.CoreOptions.systemProperty;
@@ -32,8 +36,11 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
+import java.net.URI;
 import java.net.URL;
 import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
@@ -43,6 +50,7 @@ import java.util.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.WildcardFileFilter;
 import org.ops4j.net.FreePort;
+import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.ExamSystem;
 import org.ops4j.pax.exam.Info;
 import org.ops4j.pax.exam.Option;
@@ -71,6 +79,7 @@ import org.ops4j.pax.exam.karaf.options.LogLevelOption;
 import org.ops4j.pax.exam.karaf.options.configs.CustomProperties;
 import org.ops4j.pax.exam.karaf.options.configs.FeaturesCfg;
 import org.ops4j.pax.exam.karaf.options.libraries.OverrideJUnitBundlesOption;
+import org.ops4j.pax.exam.options.BootClasspathLibraryOption;
 import org.ops4j.pax.exam.options.BootDelegationOption;
 import org.ops4j.pax.exam.options.MavenArtifactUrlReference;
 import org.ops4j.pax.exam.options.PropagateSystemPropertyOption;
@@ -80,6 +89,7 @@ import org.ops4j.pax.exam.options.SystemPropertyOption;
 import org.ops4j.pax.exam.options.extra.EnvironmentOption;
 import org.ops4j.pax.exam.options.extra.VMOption;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
+import org.ops4j.pax.exam.util.ClassDataSharing;
 import org.osgi.framework.Bundle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +100,10 @@ public class KarafTestContainer implements TestContainer {
 
     private static final String KARAF_TEST_CONTAINER = "KarafTestContainer.start";
     private static final String EXAM_INJECT_PROPERTY = "pax.exam.inject";
+    /** Default polling interval of Felix File Install in Karaf. */
+    private static final long FILEINSTALL_POLL_MILLIS = 1000;
+    /** Polling interval for configurations while waiting for a configuration reset. */
+    private static final long CONFIGURATION_POLL_MILLIS = 50;
     private static final MavenArtifactUrlReference EXAM_REPO_URL = maven()
         .groupId("org.ops4j.pax.exam").artifactId("pax-exam-features")
         .version(Info.getPaxExamVersion()).type("xml");
@@ -101,9 +115,17 @@ public class KarafTestContainer implements TestContainer {
     private KarafManipulator versionAdaptions;
     private boolean started;
     private RBCRemoteTarget target;
+    private ExamSystem subsystem;
+    private String rmiName;
+    private int rmiPort;
+    private int invokerPort;
 
     private File targetFolder;
     private File karafBase;
+    private String bootCacheKey;
+    private EtcSnapshot etcSnapshot;
+    /** Hashes of the configurations of restored files before the reset, keyed by file URL. */
+    private Map<String, Integer> resetConfigurations;
 
     private Registry registry;
 
@@ -127,33 +149,33 @@ public class KarafTestContainer implements TestContainer {
 
     @Override
     public synchronized void start() throws IOException {
-            String name = system.createID(KARAF_TEST_CONTAINER);
+            rmiName = system.createID(KARAF_TEST_CONTAINER);
 
             Option invokerConfiguration = getInvokerConfiguration();
 
             //registry.selectGracefully();
             FreePort freePort = new FreePort(21000, 21099);
-            int port = freePort.getPort();
+            rmiPort = freePort.getPort();
 
             String host = InetAddress.getLoopbackAddress().getHostAddress();
-            LOGGER.info("Creating RMI registry server on {}:{}", host, port);
+            LOGGER.info("Creating RMI registry server on {}:{}", host, rmiPort);
             System.setProperty("java.rmi.server.hostname", host);
-            registry = LocateRegistry.createRegistry(port);
+            registry = LocateRegistry.createRegistry(rmiPort);
             FreePort invokerPortRange = new FreePort(21100, 21199);
-            int invokerPort = invokerPortRange.getPort();
+            invokerPort = invokerPortRange.getPort();
 
-            ExamSystem subsystem = system
+            subsystem = system
                 .fork(options(
                     systemProperty("java.rmi.server.hostname").value(host),
                     systemProperty(RMI_HOST_PROPERTY).value(host),
-                    systemProperty(RMI_PORT_PROPERTY).value(Integer.toString(port)),
-                    systemProperty(RMI_NAME_PROPERTY).value(name),
+                    systemProperty(RMI_PORT_PROPERTY).value(Integer.toString(rmiPort)),
+                    systemProperty(RMI_NAME_PROPERTY).value(rmiName),
                     systemProperty("pax.exam.invoker.port").value(Integer.toString(invokerPort)),
                     invokerConfiguration,
                     systemProperty(EXAM_INJECT_PROPERTY).value("true"),
                     editConfigurationFileExtend("etc/system.properties", "jline.shutdownhook",
                         "true")));
-            target = new RBCRemoteTarget(name, port, invokerPort, subsystem.getTimeout());
+            target = new RBCRemoteTarget(rmiName, rmiPort, invokerPort, subsystem.getTimeout());
 
             System.setProperty("java.protocol.handler.pkgs", "org.ops4j.pax.url");
 
@@ -162,7 +184,13 @@ public class KarafTestContainer implements TestContainer {
             } else {
                 URL sourceDistribution = new URL(framework.getFrameworkURL());
                 targetFolder = retrieveFinalTargetFolder(subsystem);
-                ArchiveExtractor.extract(sourceDistribution, targetFolder);
+                if (useTemplates()) {
+                    KarafDistributionTemplates.getDefault().extract(sourceDistribution,
+                        targetFolder);
+                }
+                else {
+                    ArchiveExtractor.extract(sourceDistribution, targetFolder);
+                }
             }
 
             karafBase = searchKarafBase(targetFolder);
@@ -187,16 +215,35 @@ public class KarafTestContainer implements TestContainer {
                     : "exam-no-junit";
             options.addAll(fromFeatureOptions(KarafDistributionOption.features(EXAM_REPO_URL, usedExamFeature)));
 
+            KarafFeaturesOption dependenciesFeature = null;
             if (framework.isUseDeployFolder()) {
                 deployer.copyReferencedArtifactsToDeployFolder();
             }
             else {
-                options.addAll(fromFeatureOptions(deployer.getDependenciesFeature()));
+                dependenciesFeature = deployer.getDependenciesFeature();
             }
 
             options.addAll(configureBootDelegation(subsystem));
             options.addAll(configureSystemPackages(subsystem));
+            bootCacheKey = null;
+            if (dependenciesFeature != null && framework.getExisting() == null && useBootCache()) {
+                File repository = FileUtils.toFile(new URL(dependenciesFeature.getURL()));
+                bootCacheKey = getBootCacheKey(subsystem, options, repository);
+                if (bootCacheKey != null) {
+                    String repositoryUrl = KarafBootCache.getDefault().getFeaturesRepository(
+                        bootCacheKey, repository);
+                    dependenciesFeature = new KarafFeaturesOption(repositoryUrl,
+                        dependenciesFeature.getFeatures());
+                }
+            }
+            if (dependenciesFeature != null) {
+                options.addAll(fromFeatureOptions(dependenciesFeature));
+            }
             updateUserSetProperties(karafHome, options);
+            if (bootCacheKey != null) {
+                KarafBootCache.getDefault().restore(bootCacheKey,
+                    new File(karafBase, framework.getKarafData()));
+            }
 
             startKaraf(subsystem, karafBase, karafHome);
             started = true;
@@ -258,6 +305,8 @@ public class KarafTestContainer implements TestContainer {
         }
         ArrayList<String> javaOpts = new ArrayList<>();
         appendVmSettingsFromSystem(javaOpts, subsystem);
+        javaOpts.addAll(ClassDataSharing.getVmOptions(javaHome.toString(), javaOpts,
+            Arrays.asList(classPath)));
         String[] javaEndorsedDirs = null;
         if (isJava9Compatible()) {
             javaEndorsedDirs = new String[] {};
@@ -370,6 +419,61 @@ public class KarafTestContainer implements TestContainer {
         }
     }
 
+    private boolean useBootCache() {
+        ConfigurationManager cm = new ConfigurationManager();
+        return Boolean.parseBoolean(cm.getProperty(EXAM_KARAF_BOOT_CACHE_KEY,
+            EXAM_KARAF_BOOT_CACHE_DEFAULT));
+    }
+
+    /**
+     * Computes the boot cache key from the distribution, the Java version, the configuration
+     * file options, the boot classpath libraries, and all feature repositories including the
+     * generated test dependencies repository. Artifacts which may change behind the same URL are
+     * identified by their content, see {@link BootCacheInputs}.
+     *
+     * @return the key, or null if the boot cache cannot be used since an artifact cannot be read
+     */
+    private String getBootCacheKey(ExamSystem subsystem,
+        List<KarafDistributionConfigurationFileOption> options, File repository) {
+        BootCacheInputs inputs = new BootCacheInputs();
+        inputs.add(System.getProperty("java.version"));
+        for (KarafDistributionConfigurationFileOption option : options) {
+            Object value = option.getValue();
+            inputs.add(option.getClass().getName() + ":" + option.getConfigurationFilePath() + ":"
+                + option.getKey() + "="
+                + (value instanceof Object[] ? Arrays.toString((Object[]) value) : value));
+            if (option instanceof KarafDistributionConfigurationFileReplacementOption) {
+                File source = ((KarafDistributionConfigurationFileReplacementOption) option)
+                    .getSource();
+                inputs.add(source.getAbsolutePath() + ":" + source.length() + ":"
+                    + source.lastModified());
+            }
+        }
+        try {
+            inputs.addArtifact(framework.getFrameworkURL());
+            for (BootClasspathLibraryOption option : subsystem
+                .getOptions(BootClasspathLibraryOption.class)) {
+                inputs.addArtifact(option.getLibraryUrl().getURL());
+            }
+            inputs.addFeaturesRepository(EXAM_REPO_URL.getURL());
+            for (KarafFeaturesOption option : subsystem.getOptions(KarafFeaturesOption.class)) {
+                inputs.addFeaturesRepository(option.getURL());
+            }
+            inputs.addFeaturesRepository(repository.toURI().toString());
+        }
+        catch (IOException exc) {
+            LOGGER.warn("Karaf boot cache not used, cannot read all provisioned artifacts", exc);
+            return null;
+        }
+        return KarafBootCache.getKey(inputs.getInputs());
+    }
+
+    private boolean useTemplates() {
+        ConfigurationManager cm = new ConfigurationManager();
+        return Boolean.parseBoolean(cm.getProperty(EXAM_KARAF_TEMPLATES_KEY,
+            EXAM_KARAF_TEMPLATES_DEFAULT));
+    }
+
     private File retrieveFinalTargetFolder(ExamSystem subsystem) {
         if (framework.getUnpackDirectory() == null) {
             return subsystem.getConfigFolder();
@@ -669,13 +773,16 @@ public class KarafTestContainer implements TestContainer {
         finally {
             started = false;
             target = null;
+            subsystem = null;
+            etcSnapshot = null;
+            resetConfigurations = null;
             if (framework.getExisting() != null) {
                 restoreConfigFiles();
             }
             if (shouldDeleteRuntime()) {
                 system.clear();
                 try {
-                    FileUtils.forceDelete(targetFolder);
+                    RuntimeFolders.delete(targetFolder);
                 }
                 catch (IOException e) {
                     forceCleanup();
@@ -705,9 +812,156 @@ public class KarafTestContainer implements TestContainer {
 
     @Override
     public void installProbe(InputStream stream) throws IOException {
+        if (etcSnapshot == null) {
+            saveBootCache();
+            etcSnapshot = new EtcSnapshot(new File(karafBase, framework.getKarafEtc()));
+        }
+        else {
+            waitForConfigurationReset();
+        }
         target.installProbe(stream);
     }
 
+    /**
+     * Saves the framework storage of the booted container before the first probe is installed, so
+     * that the boot cache holds neither probes nor any state changed by tests.
+     * <p>
+     * The framework and the features service write to the storage while Karaf is running, so a
+     * copy of a running container may be torn. Karaf is therefore stopped cleanly, its storage is
+     * saved, and it is started again from that storage. This costs one restart for each new cache
+     * entry and is skipped for runners which cannot wait for Karaf to exit.
+     */
+    private void saveBootCache() {
+        String key = bootCacheKey;
+        bootCacheKey = null;
+        if (key == null || KarafBootCache.getDefault().contains(key)
+            || !runner.supportsRestart()) {
+            return;
+        }
+        LOGGER.info("Restarting Karaf to save its framework storage to the boot cache");
+        target.getClientRBC().stop();
+        target.stop();
+        if (waitForExit()) {
+            KarafBootCache.getDefault().save(key, new File(karafBase, framework.getKarafData()));
+        }
+        else {
+            LOGGER.warn("Karaf did not stop within {}, framework storage not saved",
+                subsystem.getTimeout());
+            runner.shutdown();
+        }
+        unbindRemoteBundleContext();
+        target = new RBCRemoteTarget(rmiName, rmiPort, invokerPort, subsystem.getTimeout());
+        startKaraf(subsystem, karafBase, karafBase);
+    }
+
+    private boolean waitForExit() {
+        try {
+            return runner.waitForExit(subsystem.getTimeout().getValue());
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new TestContainerException(exc);
+        }
+    }
+
+    /**
+     * Removes the binding of the stopped Karaf from the registry, so that the new client does not
+     * find it before the restarted Karaf has bound its own remote bundle context.
+     */
+    private void unbindRemoteBundleContext() {
+        try {
+            registry.unbind(rmiName);
+        }
+        catch (NotBoundException exc) {
+            // already unbound by the stopped Karaf
+        }
+        catch (RemoteException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+
+    @Override
+    public boolean supportsProbeUninstall() {
+        return true;
+    }
+
+    @Override
+    public void uninstallProbe() {
+        target.uninstallProbe();
+        resetConfiguration();
+    }
+
+    /**
+     * Restores the etc folder as it was before the first probe was installed, so that a container
+     * reused by the next test class does not see the configuration changes of earlier tests.
+     */
+    private void resetConfiguration() {
+        if (etcSnapshot == null) {
+            return;
+        }
+        try {
+            List<String> fileNames = new ArrayList<>();
+            for (File file : etcSnapshot.getChangedFiles()) {
+                String name = file.getName();
+                if (name.endsWith(".cfg") || name.endsWith(".config")) {
+                    fileNames.add(file.getAbsoluteFile().toURI().toString());
+                }
+            }
+            Map<String, Integer> hashes = fileNames.isEmpty() ? Collections.emptyMap()
+                : target.getClientRBC().getConfigurationHashes(fileNames);
+            if (etcSnapshot.restore()) {
+                LOGGER.debug("restored etc folder of {}", karafBase);
+                resetConfigurations = new HashMap<>();
+                for (String fileName : fileNames) {
+                    resetConfigurations.put(fileName, hashes.get(fileName));
+                }
+            }
+        }
+        catch (IOException exc) {
+            throw new TestContainerException("cannot restore etc folder of " + karafBase, exc);
+        }
+    }
+
+    /**
+     * Waits until Felix File Install has applied the restored configuration files, i.e. until the
+     * configurations of restored files have changed and those of deleted files are gone. Gives up
+     * with a warning after ten polling intervals of File Install.
+     */
+    private void waitForConfigurationReset() {
+        Map<String, Integer> before = resetConfigurations;
+        resetConfigurations = null;
+        if (before == null || before.isEmpty()) {
+            return;
+        }
+        List<String> fileNames = new ArrayList<>(before.keySet());
+        long deadline = System.currentTimeMillis() + 10 * FILEINSTALL_POLL_MILLIS;
+        while (!isReset(before, target.getClientRBC().getConfigurationHashes(fileNames))) {
+            if (System.currentTimeMillis() >= deadline) {
+                LOGGER.warn("configuration of {} not reset after {} ms", karafBase,
+                    10 * FILEINSTALL_POLL_MILLIS);
+                return;
+            }
+            try {
+                Thread.sleep(CONFIGURATION_POLL_MILLIS);
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static boolean isReset(Map<String, Integer> before, Map<String, Integer> current) {
+        for (Map.Entry<String, Integer> entry : before.entrySet()) {
+            Integer hash = current.get(entry.getKey());
+            boolean restored = new File(URI.create(entry.getKey())).exists();
+            if (restored ? (hash == null || hash.equals(entry.getValue())) : hash != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public void runTest(TestDescription description, TestListener listener) throws IOException {
         target.runTest(description, listener);
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.FileUtils;
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.Constants;
+
+/**
+ * Deletes Karaf runtime folders. The caches of Pax Exam live in {@code ~/.pax/exam-cache}, outside
+ * of the default runtime folder {@code ~/.pax/exam}, but a runtime folder or the artifact cache may
+ * be configured so that one contains the other. Cache folders are therefore kept when a runtime
+ * folder is deleted.
+ *
+ * @since 5.0.0
+ */
+final class RuntimeFolders {
+
+    private static final Set<File> KEPT = ConcurrentHashMap.newKeySet();
+
+    static {
+        keep(new File(System.getProperty("user.home"), ".pax/exam-cache"));
+        String artifactCache = new ConfigurationManager()
+            .getProperty(Constants.EXAM_ARTIFACT_CACHE_KEY);
+        if (artifactCache != null) {
+            keep(new File(artifactCache));
+        }
+    }
+
+    private RuntimeFolders() {
+    }
+
+    /**
+     * Registers a cache folder which must not be deleted with a runtime folder.
+     *
+     * @param folder
+     *            cache folder
+     */
+    static void keep(File folder) {
+        KEPT.add(folder.getAbsoluteFile());
+    }
+
+    /**
+     * Deletes the given folder, except for cache folders inside it and their parent folders.
+     *
+     * @param folder
+     *            folder to be deleted
+     * @throws IOException
+     *             on I/O error
+     */
+    static void delete(File folder) throws IOException {
+        File absolute = folder.getAbsoluteFile();
+        if (KEPT.contains(absolute)) {
+            return;
+        }
+        if (!containsCache(absolute)) {
+            if (absolute.exists()) {
+                FileUtils.forceDelete(absolute);
+            }
+            return;
+        }
+        File[] children = absolute.listFiles();
+        if (children != null) {
+            for (File child : children) {
+                delete(child);
+            }
+        }
+    }
+
+    private static boolean containsCache(File folder) {
+        for (File cache : KEPT) {
+            if (cache.toPath().startsWith(folder.toPath())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -69,4 +69,14 @@ public abstract class BaseScriptRunner implements Runner {
         runner.shutdown();
     }
 
+    @Override
+    public boolean supportsRestart() {
+        return true;
+    }
+
+    @Override
+    public boolean waitForExit(long timeoutMillis) throws InterruptedException {
+        return runner.waitForExit(timeoutMillis);
+    }
+
 }
@@ -22,12 +22,13 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.ops4j.io.Pipe;
 
 public class InternalRunner {
 
-    private Process frameworkProcess;
+    private volatile Process frameworkProcess;
     private Object frameworkProcessMonitor = new Object();
     private Thread shutdownHook;
     private final Object shutdownHookMonitor = new Object();
@@ -103,6 +104,25 @@ public class InternalRunner {
         }
     }
 
+    /**
+     * Waits till the framework process exits after it was asked to stop, and releases it, so that
+     * the framework can be started again.
+     *
+     * @param timeoutMillis
+     *            maximum time to wait in milliseconds
+     * @return true if the process has exited
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    public boolean waitForExit(long timeoutMillis) throws InterruptedException {
+        Process process = frameworkProcess;
+        if (process != null && !process.waitFor(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        shutdown();
+        return true;
+    }
+
     /**
      * Create helper thread to safely shutdown the external framework process
      * 
@@ -122,4 +122,14 @@ public class KarafJavaRunner implements Runner {
         runner.shutdown();
     }
 
+    @Override
+    public boolean supportsRestart() {
+        return true;
+    }
+
+    @Override
+    public boolean waitForExit(long timeoutMillis) throws InterruptedException {
+        return runner.waitForExit(timeoutMillis);
+    }
+
 }
@@ -71,4 +71,26 @@ public interface Runner {
      */
     void shutdown();
 
+    /**
+     * @return true if the framework started by this runner runs in a separate process, which
+     *         {@link #waitForExit(long)} can wait for, so that the framework can be started again
+     *         after it was stopped
+     */
+    default boolean supportsRestart() {
+        return false;
+    }
+
+    /**
+     * Waits till the framework exits after it was asked to stop, so that it can be started again.
+     *
+     * @param timeoutMillis
+     *            maximum time to wait in milliseconds
+     * @return true if the framework has exited
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    default boolean waitForExit(long timeoutMillis) throws InterruptedException {
+        return false;
+    }
+
 }
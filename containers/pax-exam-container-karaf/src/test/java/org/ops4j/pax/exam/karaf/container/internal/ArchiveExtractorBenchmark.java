@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Measures the extraction time of a Karaf distribution by {@link ArchiveExtractor}. This is not a
+ * unit test, run its main method on the test class path of this module with the path of a Karaf
+ * 4.x {@code tar.gz} or {@code zip} distribution, e.g.
+ * {@code ~/.m2/repository/org/apache/karaf/apache-karaf/4.2.8/apache-karaf-4.2.8.zip}. A zip
+ * distribution is repacked as {@code tar.gz} and both archives are measured.
+ */
+public class ArchiveExtractorBenchmark {
+
+    private static final int ROUNDS = 10;
+
+    private static void measure(File archive, File target) throws IOException {
+        ArchiveExtractor.extract(archive.toURI().toURL(), target);
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            ArchiveExtractor.extract(archive.toURI().toURL(), target);
+            total += System.nanoTime() - start;
+        }
+        System.out.printf("%-40s %6d ms%n", archive.getName(), total / ROUNDS / 1000000);
+    }
+
+    private static File repack(File zip, File dir) throws IOException {
+        File tarGz = new File(dir, zip.getName().replace(".zip", ".tar.gz"));
+        try (ZipArchiveInputStream is = new ZipArchiveInputStream(new FileInputStream(zip));
+            TarArchiveOutputStream os = new TarArchiveOutputStream(
+                new GzipCompressorOutputStream(new FileOutputStream(tarGz)))) {
+            os.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            ArchiveEntry entry = is.getNextEntry();
+            while (entry != null) {
+                byte[] content = IOUtils.toByteArray(is);
+                TarArchiveEntry tarEntry = new TarArchiveEntry(entry.getName());
+                tarEntry.setSize(entry.isDirectory() ? 0 : content.length);
+                os.putArchiveEntry(tarEntry);
+                os.write(content);
+                os.closeArchiveEntry();
+                entry = is.getNextEntry();
+            }
+        }
+        return tarGz;
+    }
+
+    public static void main(String[] args) throws IOException {
+        File archive = new File(args[0]);
+        File dir = Files.createTempDirectory("pax-exam-extract-").toFile();
+        try {
+            if (archive.getName().endsWith(".zip")) {
+                measure(archive, new File(dir, "zip"));
+                archive = repack(archive, dir);
+            }
+            measure(archive, new File(dir, "tar.gz"));
+        }
+        finally {
+            FileUtils.deleteQuietly(dir);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArchiveExtractorTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldExtractTarGz() throws IOException {
+        byte[] large = new byte[3 * 1024 * 1024];
+        new Random(42).nextBytes(large);
+        File archive = tempFolder.newFile("karaf.tar.gz");
+        try (TarArchiveOutputStream os = new TarArchiveOutputStream(
+            new GzipCompressorOutputStream(new FileOutputStream(archive)))) {
+            os.putArchiveEntry(new TarArchiveEntry("karaf/etc/"));
+            os.closeArchiveEntry();
+            for (int i = 0; i < 200; i++) {
+                addEntry(os, "karaf/system/bundle" + i + ".jar",
+                    ("bundle" + i).getBytes(StandardCharsets.UTF_8));
+            }
+            addEntry(os, "karaf/lib/large.jar", large);
+        }
+
+        File target = new File(tempFolder.getRoot(), "target");
+        ArchiveExtractor.extract(archive.toURI().toURL(), target);
+
+        assertTrue(new File(target, "etc").isDirectory());
+        for (int i = 0; i < 200; i++) {
+            assertArrayEquals(("bundle" + i).getBytes(StandardCharsets.UTF_8),
+                Files.readAllBytes(new File(target, "system/bundle" + i + ".jar").toPath()));
+        }
+        assertArrayEquals(large, Files.readAllBytes(new File(target, "lib/large.jar").toPath()));
+    }
+
+    @Test
+    public void shouldKeepCachesInTargetFolder() throws IOException {
+        File archive = tempFolder.newFile("karaf.tar.gz");
+        try (TarArchiveOutputStream os = new TarArchiveOutputStream(
+            new GzipCompressorOutputStream(new FileOutputStream(archive)))) {
+            addEntry(os, "karaf/etc/config.properties", "config".getBytes(StandardCharsets.UTF_8));
+        }
+        File target = tempFolder.newFolder("target");
+        File cache = new File(target, "cache/entry");
+        cache.mkdirs();
+        File stale = new File(target, "stale");
+        stale.mkdirs();
+        RuntimeFolders.keep(new File(target, "cache"));
+
+        ArchiveExtractor.extract(archive.toURI().toURL(), target);
+
+        assertTrue(cache.isDirectory());
+        assertFalse(stale.exists());
+        assertTrue(new File(target, "etc/config.properties").isFile());
+    }
+
+    private void addEntry(TarArchiveOutputStream os, String name, byte[] content)
+        throws IOException {
+        TarArchiveEntry entry = new TarArchiveEntry(name);
+        entry.setSize(content.length);
+        os.putArchiveEntry(entry);
+        os.write(content);
+        os.closeArchiveEntry();
+    }
+}
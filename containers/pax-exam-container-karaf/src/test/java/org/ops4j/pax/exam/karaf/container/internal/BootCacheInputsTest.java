@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class BootCacheInputsTest {
+
+    private static final String FEATURES_NS = "http://karaf.apache.org/xmlns/features/v1.3.0";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldMissCacheWhenBundleBehindSameUrlChanges() throws IOException {
+        File bundle = tempFolder.newFile("bundle.jar");
+        FileUtils.write(bundle, "old code", "UTF-8");
+        bundle.setLastModified(1000000000L);
+        File included = writeRepository("included.xml",
+            "<feature name='f'><bundle>" + bundle.toURI() + "</bundle></feature>");
+        File repository = writeRepository("test-dependencies.xml",
+            "<repository>" + included.toURI() + "</repository>");
+
+        String key = getKey(repository);
+        assertEquals(key, getKey(repository));
+
+        FileUtils.write(bundle, "new code!", "UTF-8");
+        bundle.setLastModified(1000002000L);
+        assertNotEquals(key, getKey(repository));
+    }
+
+    @Test
+    public void shouldIdentifyReleasedArtifactsByUrl() throws IOException {
+        File repository = writeRepository("test-dependencies.xml",
+            "<feature name='f'><bundle>mvn:g/a/1.0</bundle>"
+                + "<bundle>wrap:mvn:g/b/2.0$Bundle-SymbolicName=b</bundle></feature>");
+
+        BootCacheInputs inputs = new BootCacheInputs();
+        inputs.addFeaturesRepository(repository.toURI().toString());
+
+        assertEquals("mvn:g/a/1.0", inputs.getInputs().get(1));
+        assertEquals("wrap:mvn:g/b/2.0$Bundle-SymbolicName=b", inputs.getInputs().get(2));
+    }
+
+    @Test(expected = IOException.class)
+    public void shouldFailForMissingSnapshot() throws IOException {
+        File repository = writeRepository("test-dependencies.xml", "<feature name='f'><bundle>"
+            + new File(tempFolder.getRoot(), "missing.jar").toURI() + "</bundle></feature>");
+
+        new BootCacheInputs().addFeaturesRepository(repository.toURI().toString());
+    }
+
+    private File writeRepository(String name, String content) throws IOException {
+        File file = tempFolder.newFile(name);
+        FileUtils.write(file, "<features name='" + name + "' xmlns='" + FEATURES_NS + "'>"
+            + content + "</features>", "UTF-8");
+        return file;
+    }
+
+    private static String getKey(File repository) throws IOException {
+        BootCacheInputs inputs = new BootCacheInputs();
+        inputs.addFeaturesRepository(repository.toURI().toString());
+        return KarafBootCache.getKey(inputs.getInputs());
+    }
+}
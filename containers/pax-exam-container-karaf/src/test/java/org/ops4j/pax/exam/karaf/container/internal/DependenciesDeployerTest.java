@@ -1,19 +1,31 @@
 package org.ops4j.pax.exam.karaf.container.internal;
 
+import static org.ops4j.pax.exam.CoreOptions.bundle;
 import static org.ops4j.pax.exam.CoreOptions.mavenBundle;
+import static org.ops4j.pax.exam.CoreOptions.options;
 import static org.ops4j.pax.exam.CoreOptions.wrappedBundle;
 
+import java.io.File;
 import java.io.StringWriter;
 
+import org.apache.commons.io.FileUtils;
 import org.hamcrest.core.StringContains;
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ops4j.pax.exam.ExamSystem;
 import org.ops4j.pax.exam.options.MavenArtifactProvisionOption;
 import org.ops4j.pax.exam.options.WrappedUrlProvisionOption;
 import org.ops4j.pax.exam.options.WrappedUrlProvisionOption.OverwriteMode;
+import org.ops4j.pax.exam.spi.DefaultExamSystem;
+import org.ops4j.pax.exam.util.ArtifactCache;
 
 public class DependenciesDeployerTest {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     /**
      * See https://ops4j1.jira.com/browse/PAXEXAM-572
      */
@@ -54,4 +66,23 @@ public class DependenciesDeployerTest {
             "</feature>\n" + 
             "</features>\n", wr.toString());
     }
+
+    @Test
+    public void testCopyReferencedArtifactsToDeployFolder() throws Exception {
+        File bundle = tempFolder.newFile("bundle.jar");
+        FileUtils.write(bundle, "bundle", "UTF-8");
+        File karafBase = tempFolder.newFolder("karaf");
+        ExamSystem system = DefaultExamSystem.create(options(
+            bundle(bundle.toURI().toString()), bundle(bundle.toURI().toString()),
+            bundle("file:/missing/bundle.jar")));
+        ArtifactCache cache = new ArtifactCache(tempFolder.newFolder("cache"), 1024 * 1024);
+        new DependenciesDeployer(system, karafBase, karafBase, cache)
+            .copyReferencedArtifactsToDeployFolder();
+        File[] deployed = new File(karafBase, "deploy").listFiles();
+        Assert.assertEquals(2, deployed.length);
+        for (File file : deployed) {
+            Assert.assertEquals("bundle", FileUtils.readFileToString(file, "UTF-8"));
+        }
+        Assert.assertNotNull(cache.get(bundle.toURI().toString()));
+    }
 }
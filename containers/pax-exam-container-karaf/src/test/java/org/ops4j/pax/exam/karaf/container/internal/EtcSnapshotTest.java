@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class EtcSnapshotTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRestoreConfigurationFiles() throws IOException {
+        File etc = tempFolder.newFolder("etc");
+        File modified = new File(etc, "org.ops4j.pax.logging.cfg");
+        File deleted = new File(etc, "jmx.acl.cfg");
+        File created = new File(etc, "org.example.cfg");
+        FileUtils.write(modified, "level = INFO", "UTF-8");
+        FileUtils.write(deleted, "list* = viewer", "UTF-8");
+
+        EtcSnapshot snapshot = new EtcSnapshot(etc);
+        assertFalse(snapshot.restore());
+
+        FileUtils.write(modified, "level = DEBUG", "UTF-8");
+        FileUtils.forceDelete(deleted);
+        FileUtils.write(created, "key = value", "UTF-8");
+        assertEquals(new HashSet<>(Arrays.asList(modified, deleted, created)),
+            new HashSet<>(snapshot.getChangedFiles()));
+        assertTrue(snapshot.restore());
+        assertTrue(snapshot.getChangedFiles().isEmpty());
+
+        assertEquals("level = INFO", FileUtils.readFileToString(modified, "UTF-8"));
+        assertEquals("list* = viewer", FileUtils.readFileToString(deleted, "UTF-8"));
+        assertFalse(created.exists());
+    }
+}
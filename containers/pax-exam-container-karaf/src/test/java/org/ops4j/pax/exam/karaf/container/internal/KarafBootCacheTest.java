@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class KarafBootCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldRestoreSavedStorage() throws IOException {
+        KarafBootCache cache = new KarafBootCache(tempFolder.newFolder("boot-cache"));
+        String key = KarafBootCache.getKey(Arrays.asList("karaf", "feature"));
+        File first = tempFolder.newFolder("first");
+        File second = tempFolder.newFolder("second");
+        assertFalse(cache.restore(key, second));
+        assertFalse(cache.contains(key));
+
+        FileUtils.write(new File(first, "cache/bundle1/data/state"), "installed", "UTF-8");
+        cache.save(key, first);
+        assertTrue(cache.contains(key));
+        FileUtils.write(new File(first, "cache/bundle1/data/state"), "modified", "UTF-8");
+        cache.save(key, first);
+
+        assertTrue(cache.restore(key, second));
+        assertEquals("installed", FileUtils.readFileToString(
+            new File(second, "cache/bundle1/data/state"), "UTF-8"));
+    }
+
+    @Test
+    public void shouldUseSameRepositoryUrlForKey() throws IOException {
+        KarafBootCache cache = new KarafBootCache(tempFolder.newFolder("boot-cache"));
+        File first = new File(tempFolder.newFolder("first"), "test-dependencies.xml");
+        File second = new File(tempFolder.newFolder("second"), "test-dependencies.xml");
+        FileUtils.write(first, "<features/>", "UTF-8");
+        FileUtils.write(second, "<features/>", "UTF-8");
+        String key = KarafBootCache.getKey(Arrays.asList("<features/>"));
+
+        String url = cache.getFeaturesRepository(key, first);
+        assertEquals(url, cache.getFeaturesRepository(key, second));
+        assertNotEquals(url, first.toURI().toString());
+        assertNotEquals(key, KarafBootCache.getKey(Arrays.asList("<features>", "</features>")));
+    }
+}
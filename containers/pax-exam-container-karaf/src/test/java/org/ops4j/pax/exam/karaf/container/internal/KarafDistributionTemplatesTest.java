@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.karaf.container.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class KarafDistributionTemplatesTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File createDistribution() throws IOException {
+        File zip = tempFolder.newFile("karaf.zip");
+        try (ZipOutputStream os = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (String name : new String[] { "system/bundle.jar", "lib/boot.jar", "etc/config.properties" }) {
+                os.putNextEntry(new ZipEntry("karaf/" + name));
+                os.write(name.getBytes(StandardCharsets.UTF_8));
+                os.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+    @Test
+    public void shouldCloneTemplate() throws IOException {
+        File zip = createDistribution();
+        KarafDistributionTemplates templates = new KarafDistributionTemplates(
+            tempFolder.newFolder("templates"));
+        File first = new File(tempFolder.getRoot(), "first");
+        File second = new File(tempFolder.getRoot(), "second");
+        templates.extract(zip.toURI().toURL(), first);
+        templates.extract(zip.toURI().toURL(), second);
+
+        File template = templates.getTemplate(zip.toURI().toURL());
+        assertEquals("etc/config.properties", new String(Files.readAllBytes(
+            new File(second, "etc/config.properties").toPath()), StandardCharsets.UTF_8));
+        assertTrue(Files.isSameFile(new File(first, "system/bundle.jar").toPath(),
+            new File(second, "system/bundle.jar").toPath()));
+        assertTrue(Files.isSameFile(new File(template, "lib/boot.jar").toPath(),
+            new File(second, "lib/boot.jar").toPath()));
+        assertFalse(Files.isSameFile(new File(first, "etc/config.properties").toPath(),
+            new File(second, "etc/config.properties").toPath()));
+    }
+
+    @Test
+    public void shouldKeepTemplatesWhenClearingParentFolder() throws IOException {
+        File zip = createDistribution();
+        File parent = tempFolder.newFolder("exam");
+        KarafDistributionTemplates templates = new KarafDistributionTemplates(
+            new File(parent, "karaf-templates"));
+        templates.extract(zip.toURI().toURL(), parent);
+        assertTrue(new File(parent, "system/bundle.jar").exists());
+
+        RuntimeFolders.delete(parent);
+        assertFalse(new File(parent, "system").exists());
+        assertTrue(templates.getTemplate(zip.toURI().toURL()).isDirectory());
+        assertEquals(1, parent.list().length);
+    }
+}
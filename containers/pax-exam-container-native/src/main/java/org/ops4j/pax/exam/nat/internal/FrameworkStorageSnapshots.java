@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Templates of provisioned framework storage directories, shared by all native test containers of
+ * this JVM.
+ * <p>
+ * A template is a copy of the framework storage taken after all bundles have been installed and
+ * before the framework was started. It is identified by a key computed from everything that
+ * influences the storage content, see {@link #key(List)}. Templates are kept in a temporary
+ * directory which is deleted when the JVM exits.
+ * <p>
+ * Templates are restored by copying, not by hard links, since frameworks update some of their
+ * state files in place.
+ *
+ * @since 5.0.0
+ */
+public class FrameworkStorageSnapshots {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FrameworkStorageSnapshots.class);
+
+    private static final Map<String, File> TEMPLATES = new ConcurrentHashMap<>();
+
+    private static File templateRoot;
+
+    private FrameworkStorageSnapshots() {
+    }
+
+    /**
+     * Computes a template key.
+     *
+     * @param parts
+     *            framework factory, framework properties, provision options and everything else
+     *            that determines the content of the framework storage, in a stable order
+     * @return SHA-256 digest of the given parts
+     */
+    public static String key(List<String> parts) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+        for (String part : parts) {
+            digest.update(part.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Restores a template into the given storage directory.
+     *
+     * @param key
+     *            template key
+     * @param storage
+     *            empty framework storage directory
+     * @return true if the template exists and has been restored
+     * @throws IOException
+     *             if the template cannot be copied
+     */
+    public static boolean restore(String key, File storage) throws IOException {
+        File template = TEMPLATES.get(key);
+        if (template == null) {
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        copy(template.toPath(), storage.toPath());
+        LOG.debug("restored framework storage {} from template {} in {} ms",
+            new Object[] { storage, template, System.currentTimeMillis() - start });
+        return true;
+    }
+
+    /**
+     * Saves the given storage directory as template. The framework must not be active. An existing
+     * template with the same key is kept.
+     *
+     * @param key
+     *            template key
+     * @param storage
+     *            framework storage directory
+     * @throws IOException
+     *             if the storage cannot be copied
+     */
+    public static void save(String key, File storage) throws IOException {
+        if (TEMPLATES.containsKey(key)) {
+            return;
+        }
+        File template = new File(getTemplateRoot(), key);
+        File tempTemplate = Files.createTempDirectory(getTemplateRoot().toPath(), key).toFile();
+        copy(storage.toPath(), tempTemplate.toPath());
+        synchronized (FrameworkStorageSnapshots.class) {
+            if (TEMPLATES.containsKey(key)) {
+                delete(tempTemplate.toPath());
+                return;
+            }
+            Files.move(tempTemplate.toPath(), template.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            TEMPLATES.put(key, template);
+        }
+        LOG.debug("saved framework storage {} as template {}", storage, template);
+    }
+
+    /**
+     * Copies a directory tree. Directories are created first, then the files are copied in
+     * parallel.
+     */
+    static void copy(Path source, Path target) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(target.resolve(source.relativize(path)));
+                }
+                else {
+                    files.add(path);
+                }
+            }
+        }
+        try {
+            files.parallelStream().forEach(path -> copyFile(path, target.resolve(source
+                .relativize(path))));
+        }
+        catch (UncheckedIOException exc) {
+            throw exc.getCause();
+        }
+    }
+
+    private static void copyFile(Path source, Path target) {
+        try {
+            Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.COPY_ATTRIBUTES);
+        }
+        catch (IOException exc) {
+            throw new UncheckedIOException(exc);
+        }
+    }
+
+    private static synchronized File getTemplateRoot() throws IOException {
+        if (templateRoot == null) {
+            Path root = Files.createTempDirectory("pax-exam-storage-");
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> delete(root)));
+            templateRoot = root.toFile();
+        }
+        return templateRoot;
+    }
+
+    private static void delete(Path root) {
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot delete " + root, exc);
+        }
+    }
+}
@@ -19,6 +19,10 @@ package org.ops4j.pax.exam.nat.internal;
 
 import static java.util.stream.Collectors.joining;
 import static org.ops4j.pax.exam.Constants.EXAM_FAIL_ON_UNRESOLVED_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_NATIVE_DOWNLOAD_THREADS_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_NATIVE_DOWNLOAD_THREADS_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_NATIVE_STORAGE_SNAPSHOT_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_NATIVE_STORAGE_SNAPSHOT_KEY;
 import static org.ops4j.pax.exam.Constants.EXAM_SERVICE_TIMEOUT_DEFAULT;
 import static org.ops4j.pax.exam.Constants.EXAM_SERVICE_TIMEOUT_KEY;
 import static org.ops4j.pax.exam.Constants.START_LEVEL_TEST_BUNDLE;
@@ -31,16 +35,32 @@ import static org.osgi.framework.Constants.FRAMEWORK_STORAGE_CLEAN;
 import static org.osgi.framework.Constants.FRAMEWORK_STORAGE_CLEAN_ONFIRSTINIT;
 import static org.osgi.framework.Constants.FRAMEWORK_SYSTEMPACKAGES_EXTRA;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
 import java.util.Stack;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.Constants;
@@ -81,6 +101,11 @@ import org.slf4j.LoggerFactory;
  * <p>
  * When the framework has reached the configured start level, the container checks that all bundles
  * are resolved and throws an exception otherwise.
+ * <p>
+ * With {@link org.ops4j.pax.exam.Constants#EXAM_NATIVE_STORAGE_SNAPSHOT_KEY} enabled, the
+ * framework storage of the first container is saved after provisioning. Later containers with
+ * the same configuration restore it and let the framework load the bundles from its persisted
+ * state instead of installing them again.
  *
  * @author Toni Menzel
  * @author Harald Wellmann
@@ -89,6 +114,7 @@ import org.slf4j.LoggerFactory;
 public class NativeTestContainer implements TestContainer {
 
     private static final Logger LOG = LoggerFactory.getLogger(NativeTestContainer.class);
+    private static final AtomicInteger DOWNLOAD_THREAD_COUNT = new AtomicInteger();
     private final Stack<Bundle> installed = new Stack<>();
 
     private final FrameworkFactory frameworkFactory;
@@ -169,8 +195,20 @@ public class NativeTestContainer implements TestContainer {
                 systemPackage("org.ops4j.pax.exam.util;version=" + examVersion),
                 systemProperty("java.protocol.handler.pkgs").value("org.ops4j.pax.url") });
             setSystemProperties();
-            createFramework(createFrameworkProperties());
-            installAndStartBundles();
+            Map<String, String> properties = createFrameworkProperties();
+            String snapshotKey = getSnapshotKey(properties);
+            File storage = new File(properties.get(FRAMEWORK_STORAGE));
+            if (snapshotKey != null && FrameworkStorageSnapshots.restore(snapshotKey, storage)) {
+                properties.remove(FRAMEWORK_STORAGE_CLEAN);
+                createFramework(properties);
+            }
+            else {
+                createFramework(properties);
+                installAndStartBundles();
+                if (snapshotKey != null) {
+                    saveSnapshot(snapshotKey, storage, properties);
+                }
+            }
             startFramework();
         }
         catch (BundleException exc) {
@@ -179,6 +217,58 @@ public class NativeTestContainer implements TestContainer {
         catch (ExamConfigurationException e) {
             throw new TestContainerException("Problem in test container configuration", e);
         }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new TestContainerException(exc);
+        }
+    }
+
+    /**
+     * Computes the key of the framework storage template for this container. Snapshots are only
+     * used when enabled and when the storage directory is still empty, so that the template does
+     * not pick up any leftovers of earlier runs.
+     *
+     * @return template key, or null if snapshots are not used
+     */
+    private String getSnapshotKey(Map<String, String> properties) {
+        ConfigurationManager cm = new ConfigurationManager();
+        if (!Boolean.parseBoolean(cm.getProperty(EXAM_NATIVE_STORAGE_SNAPSHOT_KEY,
+            EXAM_NATIVE_STORAGE_SNAPSHOT_DEFAULT))) {
+            return null;
+        }
+        File storage = new File(properties.get(FRAMEWORK_STORAGE));
+        String[] content = storage.list();
+        if (content != null && content.length > 0) {
+            LOG.debug("framework storage {} is not empty, not using snapshots", storage);
+            return null;
+        }
+        List<String> parts = new ArrayList<>();
+        parts.add(frameworkFactory.getClass().getName());
+        new TreeMap<>(properties).forEach((k, v) -> {
+            if (!FRAMEWORK_STORAGE.equals(k) && !FRAMEWORK_STORAGE_CLEAN.equals(k)) {
+                parts.add(k + "=" + v);
+            }
+        });
+        for (SystemPropertyOption option : system.getOptions(SystemPropertyOption.class)) {
+            parts.add(option.getKey() + "=" + option.getValue());
+        }
+        parts.add(join(system.getOptions(RepositoryOption.class)));
+        for (ProvisionOption<?> bundle : system.getOptions(ProvisionOption.class)) {
+            parts.add(bundle.getURL() + "@" + getStartLevel(bundle) + ":" + bundle.shouldStart());
+        }
+        return FrameworkStorageSnapshots.key(parts);
+    }
+
+    /**
+     * Stops the framework with all bundles installed, saves its storage as template and creates a
+     * new framework on the same storage.
+     */
+    private void saveSnapshot(String snapshotKey, File storage, Map<String, String> properties)
+        throws BundleException, IOException, InterruptedException {
+        stopOrAbort();
+        FrameworkStorageSnapshots.save(snapshotKey, storage);
+        properties.remove(FRAMEWORK_STORAGE_CLEAN);
+        createFramework(properties);
     }
 
     private void createFramework(Map<String, String> p) throws BundleException {
@@ -295,14 +385,135 @@ public class NativeTestContainer implements TestContainer {
         return Arrays.stream(options).map(o -> o.getValue().toString()).collect(joining(","));
     }
 
+    /**
+     * Installs all provisioned bundles in the configured order. Remote bundles are downloaded to
+     * local files by a thread pool ahead of their installation, so that installation is only
+     * delayed by the slowest download up to the current bundle and not by the sum of all downloads.
+     */
     private void installAndStartBundles() throws BundleException {
-        Arrays.stream(system.getOptions(ProvisionOption.class))
-            .forEach(this::installAndStartBundle);
+        ProvisionOption<?>[] bundles = system.getOptions(ProvisionOption.class);
+        int threads = Math.min(getDownloadThreads(), bundles.length);
+        if (threads < 2) {
+            Arrays.stream(bundles).forEach(b -> installAndStartBundle(b, null));
+            return;
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r,
+                "pax-exam-download-" + DOWNLOAD_THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Path downloadFolder = null;
+        try {
+            downloadFolder = Files.createTempDirectory("pax-exam-bundles-");
+            List<Future<File>> downloads = new ArrayList<>(bundles.length);
+            for (ProvisionOption<?> bundle : bundles) {
+                downloads.add(isLocal(bundle.getURL()) ? null
+                    : executor.submit(download(bundle.getURL(), downloadFolder)));
+            }
+            for (int i = 0; i < bundles.length; i++) {
+                installAndStartBundle(bundles[i], awaitDownload(downloads.get(i)));
+            }
+        }
+        catch (IOException exc) {
+            throw new TestContainerException("cannot create download folder", exc);
+        }
+        finally {
+            executor.shutdownNow();
+            if (downloadFolder != null) {
+                awaitTermination(executor);
+                deleteFolder(downloadFolder);
+            }
+        }
     }
 
-    private void installAndStartBundle(ProvisionOption<?> bundle) {
+    private int getDownloadThreads() {
+        ConfigurationManager cm = new ConfigurationManager();
+        String value = cm.getProperty(EXAM_NATIVE_DOWNLOAD_THREADS_KEY,
+            EXAM_NATIVE_DOWNLOAD_THREADS_DEFAULT);
         try {
-            Bundle b = framework.getBundleContext().installBundle(bundle.getURL());
+            return Integer.parseInt(value.trim());
+        }
+        catch (NumberFormatException exc) {
+            throw new TestContainerException("illegal value for "
+                + EXAM_NATIVE_DOWNLOAD_THREADS_KEY + ": " + value, exc);
+        }
+    }
+
+    /**
+     * Local bundles are installed directly. For {@code reference:} URLs, the framework must not
+     * receive a stream, since it would copy the bundle into its storage.
+     */
+    private static boolean isLocal(String url) {
+        return url.startsWith("file:") || url.startsWith("reference:");
+    }
+
+    private static Callable<File> download(String url, Path downloadFolder) {
+        return () -> {
+            File file = Files.createTempFile(downloadFolder, "bundle", ".jar").toFile();
+            try (InputStream is = new URL(url).openStream()) {
+                Files.copy(is, file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                return file;
+            }
+            catch (IOException exc) {
+                // e.g. the protocol is only known inside the framework
+                LOG.debug("cannot download {}, leaving it to the framework: {}", url,
+                    exc.toString());
+                file.delete();
+                return null;
+            }
+        };
+    }
+
+    /**
+     * @return the downloaded file, or null if the framework shall install from the URL
+     */
+    private static File awaitDownload(Future<File> download) {
+        if (download == null) {
+            return null;
+        }
+        try {
+            return download.get();
+        }
+        catch (ExecutionException exc) {
+            throw new TestContainerException(exc.getCause());
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new TestContainerException(exc);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void deleteFolder(Path folder) {
+        try (Stream<Path> paths = Files.walk(folder)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot delete " + folder, exc);
+        }
+    }
+
+    private void installAndStartBundle(ProvisionOption<?> bundle, File downloaded) {
+        try {
+            Bundle b;
+            if (downloaded == null) {
+                b = framework.getBundleContext().installBundle(bundle.getURL());
+            }
+            else {
+                try (InputStream is = new FileInputStream(downloaded)) {
+                    b = framework.getBundleContext().installBundle(bundle.getURL(), is);
+                }
+                downloaded.delete();
+            }
             int startLevel = getStartLevel(bundle);
             BundleStartLevel sl = b.adapt(BundleStartLevel.class);
             sl.setStartLevel(startLevel);
@@ -314,7 +525,7 @@ public class NativeTestContainer implements TestContainer {
                 LOG.debug("+ Install (no start) {}", bundle);
             }
         }
-        catch (BundleException exc) {
+        catch (BundleException | IOException exc) {
             throw new TestContainerException("Error starting bundle " + bundle.getURL(), exc);
         }
     }
@@ -428,4 +639,14 @@ public class NativeTestContainer implements TestContainer {
         install(stream);
     }
 
+    @Override
+    public boolean supportsProbeUninstall() {
+        return true;
+    }
+
+    @Override
+    public synchronized void uninstallProbe() {
+        cleanup();
+    }
+
 }
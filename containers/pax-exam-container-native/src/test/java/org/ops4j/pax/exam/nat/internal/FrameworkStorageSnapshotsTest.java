@@ -0,0 +1,67 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.nat.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FrameworkStorageSnapshotsTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldDistinguishConfigurations() {
+        String key = FrameworkStorageSnapshots.key(Arrays.asList("felix", "mvn:a/b/1@5:true"));
+
+        assertThat(FrameworkStorageSnapshots.key(Arrays.asList("felix", "mvn:a/b/1@5:true")),
+            is(key));
+        assertThat(FrameworkStorageSnapshots.key(Arrays.asList("felix", "mvn:a/b/1@5:false")),
+            is(not(key)));
+    }
+
+    @Test
+    public void shouldRestoreSavedStorage() throws IOException {
+        String key = FrameworkStorageSnapshots.key(Arrays.asList(tempFolder.getRoot().getPath()));
+        File storage = tempFolder.newFolder("storage");
+        File bundle = new File(storage, "bundle1/version0.0/bundle.jar");
+        bundle.getParentFile().mkdirs();
+        Files.write(bundle.toPath(), "content".getBytes(StandardCharsets.UTF_8));
+        File restored = tempFolder.newFolder("restored");
+
+        assertThat(FrameworkStorageSnapshots.restore(key, restored), is(false));
+        FrameworkStorageSnapshots.save(key, storage);
+        Files.write(bundle.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(FrameworkStorageSnapshots.restore(key, restored), is(true));
+        byte[] content = Files.readAllBytes(new File(restored, "bundle1/version0.0/bundle.jar")
+            .toPath());
+        assertThat(new String(content, StandardCharsets.UTF_8), is("content"));
+    }
+}
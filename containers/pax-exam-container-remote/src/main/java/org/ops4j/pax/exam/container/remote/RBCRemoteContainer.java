@@ -59,6 +59,16 @@ public class RBCRemoteContainer implements TestContainer {
         target.installProbe(stream);
     }
 
+    @Override
+    public boolean supportsProbeUninstall() {
+        return target.supportsProbeUninstall();
+    }
+
+    @Override
+    public void uninstallProbe() {
+        target.uninstallProbe();
+    }
+
     @Override
     public void runTest(TestDescription description, TestListener listener) throws IOException, TestContainerException, InterruptedException {
     	target.runTest(description, listener);
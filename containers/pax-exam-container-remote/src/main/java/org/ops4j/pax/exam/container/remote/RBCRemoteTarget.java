@@ -19,9 +19,6 @@ package org.ops4j.pax.exam.container.remote;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.ServerSocket;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.TestContainer;
@@ -30,7 +27,7 @@ import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.TestListener;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
 import org.ops4j.pax.exam.rbc.client.intern.RemoteBundleContextClientImpl;
-import org.ops4j.pax.exam.spi.listener.TestListenerTask;
+import org.ops4j.pax.exam.spi.listener.TestEventChannel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,9 +44,12 @@ public class RBCRemoteTarget implements TestContainer {
 
     private RemoteBundleContextClient remoteBundleContextClient;
     private int invokerPort;
+    private RelativeTimeout timeout;
+    private TestEventChannel eventChannel;
 
     public RBCRemoteTarget(String name, Integer registry, int invokerPort, RelativeTimeout timeout) {
         this.invokerPort = invokerPort;
+        this.timeout = timeout;
         remoteBundleContextClient = new RemoteBundleContextClientImpl(name, registry, timeout);
     }
 
@@ -83,6 +83,26 @@ public class RBCRemoteTarget implements TestContainer {
     @Override
     public void stop() {
         remoteBundleContextClient.cleanup();
+        closeEventChannel();
+    }
+
+    private synchronized TestEventChannel getEventChannel() throws IOException {
+        if (eventChannel == null) {
+            eventChannel = new TestEventChannel(invokerPort);
+        }
+        return eventChannel;
+    }
+
+    private synchronized void closeEventChannel() {
+        if (eventChannel != null) {
+            try {
+                eventChannel.close();
+            }
+            catch (IOException exc) {
+                LOG.warn("cannot close test event channel", exc);
+            }
+            eventChannel = null;
+        }
     }
 
     @Override
@@ -90,15 +110,28 @@ public class RBCRemoteTarget implements TestContainer {
         install(stream);
     }
 
+    @Override
+    public boolean supportsProbeUninstall() {
+        return true;
+    }
+
+    @Override
+    public void uninstallProbe() {
+        remoteBundleContextClient.cleanup();
+    }
+
     @Override
     public void runTest(TestDescription description, TestListener listener) throws IOException {
-            ServerSocket serverSocket = new ServerSocket(invokerPort);
-            TestListenerTask task = new TestListenerTask(serverSocket, listener);
-            ExecutorService executor = Executors.newSingleThreadExecutor();
-            executor.submit(task);
-            remoteBundleContextClient.runTestClass(description);
-            executor.shutdown();
-            serverSocket.close();
+        TestEventChannel channel = getEventChannel();
+        String runId = channel.register(listener);
+        try {
+            if (remoteBundleContextClient.runTestClass(description, runId)) {
+                channel.await(runId, timeout);
+            }
+        }
+        finally {
+            channel.unregister(runId);
+        }
     }
 
 }
@@ -18,6 +18,8 @@
 package org.ops4j.pax.exam.rbc.client;
 
 import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.TestDescription;
@@ -46,5 +48,27 @@ public interface RemoteBundleContextClient {
 
     void waitForState(final long bundleId, final int state, final RelativeTimeout timeout);
 
+    /**
+     * @param fileNames
+     *            configuration file URLs
+     * @return hash of each configuration created from one of the given files by Felix File
+     *         Install, keyed by file URL
+     * @see RemoteBundleContext#getConfigurationHashes(List)
+     * @since 5.0.0
+     */
+    Map<String, Integer> getConfigurationHashes(List<String> fileNames);
+
     void runTestClass(TestDescription description);
+
+    /**
+     * Runs the given tests, tagging their events with the given run ID.
+     *
+     * @param description
+     *            test description
+     * @param runId
+     *            run ID registered on the test event channel of the container
+     * @return true if the probe invoker has sent a RUN_FINISHED event for the given run
+     * @since 5.0.0
+     */
+    boolean runTestClass(TestDescription description, String runId);
 }
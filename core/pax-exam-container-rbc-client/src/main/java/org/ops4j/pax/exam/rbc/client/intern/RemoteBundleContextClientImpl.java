@@ -17,7 +17,6 @@
  */
 package org.ops4j.pax.exam.rbc.client.intern;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.InvocationHandler;
@@ -28,15 +27,19 @@ import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Stack;
 
-import org.ops4j.io.StreamUtils;
 import org.ops4j.pax.exam.ProbeInvoker;
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.rbc.client.RemoteBundleContextClient;
 import org.ops4j.pax.exam.rbc.internal.NoSuchServiceException;
 import org.ops4j.pax.exam.rbc.internal.RemoteBundleContext;
+import org.ops4j.pax.exam.util.Backoff;
 import org.ops4j.pax.exam.util.Exceptions;
 import org.osgi.framework.BundleException;
 import org.slf4j.Logger;
@@ -55,6 +58,12 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
     // TODO duplicate
     private static final String PROBE_SIGNATURE_KEY = "Probe-Signature";
 
+    /**
+     * Initial and maximum delay in millis between RMI lookup attempts.
+     */
+    private static final long LOOKUP_INITIAL_DELAY = 10;
+    private static final long LOOKUP_MAX_DELAY = 500;
+
     private RemoteBundleContext remoteBundleContext;
 
     /**
@@ -115,13 +124,8 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
 
     @Override
     public long install(String location, InputStream stream) {
-        // turn this into a local url because we don't want pass the stream any further.
         try {
-            // URI location = store.getLocation( store.store( stream ) );
-            // pack as bytecode
-            byte[] packed = pack(stream);
-
-            long id = getRemoteBundleContext().installBundle(location, packed);
+            long id = upload(location, stream);
             installed.push(id);
             getRemoteBundleContext().startBundle(id);
             return id;
@@ -134,16 +138,53 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
         }
     }
 
-    private byte[] pack(InputStream stream) {
-        LOG.debug("Packing probe into memory for true RMI. Hopefully things will fill in..");
-        ByteArrayOutputStream out = new ByteArrayOutputStream();
+    /**
+     * Transfers the bundle content to the remote bundle context in chunks, so that the content is
+     * never held in memory as a whole. An upload which is not installed is aborted, so that it
+     * does not leave an open file behind in the remote framework.
+     */
+    private long upload(String location, InputStream stream) throws IOException, BundleException {
+        RemoteBundleContext rbc = getRemoteBundleContext();
+        try (InputStream in = stream) {
+            String uploadId = rbc.beginUpload();
+            boolean completed = false;
+            try {
+                byte[] buffer = new byte[RemoteBundleContext.UPLOAD_CHUNK_SIZE];
+                int length;
+                while ((length = fill(in, buffer)) > 0) {
+                    rbc.uploadChunk(uploadId,
+                        length == buffer.length ? buffer : Arrays.copyOf(buffer, length));
+                }
+                completed = true;
+                return rbc.installUpload(uploadId, location);
+            }
+            finally {
+                if (!completed) {
+                    abortUpload(rbc, uploadId);
+                }
+            }
+        }
+    }
+
+    private static void abortUpload(RemoteBundleContext rbc, String uploadId) {
         try {
-            StreamUtils.copyStream(stream, out, true);
+            rbc.abortUpload(uploadId);
         }
-        catch (IOException e) {
+        catch (RemoteException exc) {
+            LOG.debug("cannot abort upload " + uploadId, exc);
+        }
+    }
 
+    private static int fill(InputStream in, byte[] buffer) throws IOException {
+        int length = 0;
+        while (length < buffer.length) {
+            int n = in.read(buffer, length, buffer.length - length);
+            if (n == -1) {
+                break;
+            }
+            length += n;
         }
-        return out.toByteArray();
+        return length;
     }
 
     @Override
@@ -217,6 +258,16 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
         }
     }
 
+    @Override
+    public Map<String, Integer> getConfigurationHashes(List<String> fileNames) {
+        try {
+            return getRemoteBundleContext().getConfigurationHashes(new ArrayList<>(fileNames));
+        }
+        catch (RemoteException e) {
+            throw new RuntimeException("getConfigurationHashes", e);
+        }
+    }
+
     /**
      * Looks up the {@link RemoteBundleContext} via RMI. The lookup will timeout in the specified
      * number of millis.
@@ -234,6 +285,9 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
             // TODO create registry here
             Throwable reason = null;
             long startedTrying = System.currentTimeMillis();
+            long deadline = rmiLookupTimeout.isNoTimeout() ? Long.MAX_VALUE : startedTrying
+                + rmiLookupTimeout.getValue();
+            Backoff backoff = new Backoff(LOOKUP_INITIAL_DELAY, LOOKUP_MAX_DELAY);
 
             do {
                 try {
@@ -246,14 +300,12 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
                     reason = e;
                 }
             }
-            while (remoteBundleContext == null
-                && (rmiLookupTimeout.isNoTimeout() || System.currentTimeMillis() < startedTrying
-                    + rmiLookupTimeout.getValue()));
+            while (remoteBundleContext == null && backoff.await(deadline));
             if (remoteBundleContext == null) {
                 throw new RuntimeException("Cannot get the remote bundle context", reason);
             }
-            LOG.debug("Remote bundle context found after "
-                + (System.currentTimeMillis() - startedTrying) + " millis");
+            LOG.info("Remote bundle context found after {} millis and {} retries",
+                System.currentTimeMillis() - startedTrying, backoff.getAttempts());
         }
         return remoteBundleContext;
 
@@ -303,4 +355,18 @@ public class RemoteBundleContextClientImpl implements RemoteBundleContextClient
                 throw Exceptions.unchecked(exc);
             }
         }
+
+    @Override
+    public boolean runTestClass(TestDescription description, String runId) {
+        try {
+            Object finished = getRemoteBundleContext().remoteCall(ProbeInvoker.class,
+                "runTestClass", new Class<?>[] { String.class, String.class }, null,
+                rmiLookupTimeout, new Object[] { description.toString(), runId });
+            return Boolean.TRUE.equals(finished);
+        }
+        catch (RemoteException | NoSuchMethodException | IllegalAccessException
+            | InvocationTargetException | NoSuchServiceException exc) {
+            throw Exceptions.unchecked(exc);
+        }
+    }
 }
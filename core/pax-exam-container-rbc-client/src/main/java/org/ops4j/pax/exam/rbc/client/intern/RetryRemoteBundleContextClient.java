@@ -22,6 +22,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.rmi.NoSuchObjectException;
+import java.util.List;
+import java.util.Map;
 
 import org.ops4j.pax.exam.ExceptionHelper;
 import org.ops4j.pax.exam.RelativeTimeout;
@@ -130,6 +132,11 @@ public class RetryRemoteBundleContextClient implements RemoteBundleContextClient
         proxy.waitForState(bundleId, state, timeout);
     }
 
+    @Override
+    public Map<String, Integer> getConfigurationHashes(List<String> fileNames) {
+        return proxy.getConfigurationHashes(fileNames);
+    }
+
     @Override
     public void uninstall(long bundleId) {
         proxy.uninstall(bundleId);
@@ -139,4 +146,9 @@ public class RetryRemoteBundleContextClient implements RemoteBundleContextClient
     public void runTestClass(TestDescription description) {
         proxy.runTestClass(description);
     }
+
+    @Override
+    public boolean runTestClass(TestDescription description, String runId) {
+        return proxy.runTestClass(description, runId);
+    }
 }
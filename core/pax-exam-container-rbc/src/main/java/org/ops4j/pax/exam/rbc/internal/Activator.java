@@ -60,7 +60,7 @@ public class Activator implements BundleActivator {
      * garbage collect it and this will result in an java.rmi.NoSuchObjectException: no such object
      * in table
      */
-    private volatile RemoteBundleContext remoteBundleContext;
+    private volatile RemoteBundleContextImpl remoteBundleContext;
 
     private Thread registerRBCThread;
 
@@ -153,6 +153,7 @@ public class Activator implements BundleActivator {
             try {
                 registry.unbind(name);
                 UnicastRemoteObject.unexportObject(remoteBundleContext, true);
+                remoteBundleContext.close();
             }
             catch (NotBoundException | NoSuchObjectException ex) {
                 LOG.warn("No such Object bound {}", name, ex);
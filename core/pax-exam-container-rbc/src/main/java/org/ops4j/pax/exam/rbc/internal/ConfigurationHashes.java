@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.rbc.internal;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.ops4j.pax.exam.util.Exceptions;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.cm.ConfigurationAdmin;
+
+/**
+ * Hashes configurations created by Felix File Install. Kept apart from
+ * {@link RemoteBundleContextImpl}, so that the configuration admin API is only loaded when it is
+ * used.
+ *
+ * @since 5.0.0
+ */
+final class ConfigurationHashes {
+
+    /** Configuration property holding the URL of the file a configuration was created from. */
+    static final String FILENAME = "felix.fileinstall.filename";
+
+    private ConfigurationHashes() {
+    }
+
+    /**
+     * @see RemoteBundleContext#getConfigurationHashes(List)
+     */
+    static Map<String, Integer> get(BundleContext bundleContext, List<String> fileNames) {
+        Map<String, Integer> hashes = new HashMap<>();
+        ServiceReference<ConfigurationAdmin> reference = bundleContext
+            .getServiceReference(ConfigurationAdmin.class);
+        if (reference == null) {
+            return hashes;
+        }
+        ConfigurationAdmin configAdmin = bundleContext.getService(reference);
+        try {
+            Configuration[] configurations = (configAdmin == null) ? null
+                : configAdmin.listConfigurations("(" + FILENAME + "=*)");
+            if (configurations == null) {
+                return hashes;
+            }
+            for (Configuration configuration : configurations) {
+                Dictionary<String, Object> properties = configuration.getProperties();
+                String fileName = (properties == null) ? null
+                    : String.valueOf(properties.get(FILENAME));
+                if (fileNames.contains(fileName)) {
+                    hashes.put(fileName, hash(properties));
+                }
+            }
+            return hashes;
+        }
+        catch (IOException | InvalidSyntaxException exc) {
+            throw Exceptions.unchecked(exc);
+        }
+        finally {
+            bundleContext.ungetService(reference);
+        }
+    }
+
+    /**
+     * @return hash of the string forms of all properties, independent of their order
+     */
+    private static int hash(Dictionary<String, Object> properties) {
+        Map<String, String> values = new TreeMap<>();
+        Enumeration<String> keys = properties.keys();
+        while (keys.hasMoreElements()) {
+            String key = keys.nextElement();
+            values.put(key, Arrays.deepToString(new Object[] { properties.get(key) }));
+        }
+        return values.hashCode();
+    }
+}
@@ -20,6 +20,8 @@ package org.ops4j.pax.exam.rbc.internal;
 import java.lang.reflect.InvocationTargetException;
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.List;
+import java.util.Map;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.osgi.framework.BundleException;
@@ -42,6 +44,10 @@ public interface RemoteBundleContext extends Remote {
      * Timeout specifing that it should wait forever.
      */
     long WAIT_FOREVER = Long.MAX_VALUE;
+    /**
+     * Size of the chunks used for uploading bundle content.
+     */
+    int UPLOAD_CHUNK_SIZE = 64 * 1024;
 
     /**
      * Makes a remote call on a service.
@@ -105,6 +111,57 @@ public interface RemoteBundleContext extends Remote {
     long installBundle(String bundleLocation, byte[] bundle) throws RemoteException,
         BundleException;
 
+    /**
+     * Starts a chunked upload of bundle content. The content is transferred by subsequent calls
+     * to {@link #uploadChunk(String, byte[])} and installed by
+     * {@link #installUpload(String, String)}. Unlike {@link #installBundle(String, byte[])}, the
+     * bundle content never needs to be held in memory as a whole on either side.
+     *
+     * @return upload id
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     */
+    String beginUpload() throws RemoteException;
+
+    /**
+     * Appends a chunk of bundle content to an upload.
+     *
+     * @param uploadId
+     *            id returned by {@link #beginUpload()}
+     * @param chunk
+     *            next chunk of the bundle content
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     */
+    void uploadChunk(String uploadId, byte[] chunk) throws RemoteException;
+
+    /**
+     * Installs the bundle content of a completed upload and discards the upload.
+     *
+     * @param uploadId
+     *            id returned by {@link #beginUpload()}
+     * @param bundleLocation
+     *            bundle location
+     * @return bundle id of the installed bundle
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     * @throws BundleException
+     *             - Re-thrown from installing the bundle
+     */
+    long installUpload(String uploadId, String bundleLocation) throws RemoteException,
+        BundleException;
+
+    /**
+     * Discards an upload which will not be installed, e.g. because reading the bundle content
+     * failed. Unknown upload ids are ignored.
+     *
+     * @param uploadId
+     *            id returned by {@link #beginUpload()}
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     */
+    void abortUpload(String uploadId) throws RemoteException;
+
     /**
      * Starts a bundle.
      * 
@@ -171,4 +228,18 @@ public interface RemoteBundleContext extends Remote {
      *             - If bundle cannot be found
      */
     void uninstallBundle(long id) throws RemoteException, BundleException;
+
+    /**
+     * Returns a hash of the properties of each configuration created by Felix File Install from
+     * one of the given files. The hash changes when File Install applies a modified file.
+     *
+     * @param fileNames
+     *            configuration file URLs, as in the {@code felix.fileinstall.filename} property
+     * @return hash of the configuration properties, keyed by file URL. Files without a
+     *         configuration are missing. The map is empty if there is no configuration admin.
+     * @throws RemoteException
+     *             - Remote communication related exception (mandatory by RMI)
+     * @since 5.0.0
+     */
+    Map<String, Integer> getConfigurationHashes(List<String> fileNames) throws RemoteException;
 }
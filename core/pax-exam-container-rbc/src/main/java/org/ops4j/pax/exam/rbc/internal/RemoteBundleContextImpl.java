@@ -20,22 +20,43 @@ package org.ops4j.pax.exam.rbc.internal;
 import static org.ops4j.lang.NullArgumentException.validateNotNull;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
 import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import org.ops4j.pax.exam.RelativeTimeout;
 import org.ops4j.pax.exam.RerunTestException;
 import org.ops4j.pax.exam.TimeoutException;
 import org.ops4j.pax.exam.util.Exceptions;
-import org.ops4j.pax.swissbox.tracker.ServiceLookup;
+import org.ops4j.pax.swissbox.tracker.ServiceLookupException;
 import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
 import org.osgi.framework.BundleException;
+import org.osgi.framework.BundleListener;
 import org.osgi.framework.Constants;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkListener;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceReference;
 import org.osgi.framework.startlevel.BundleStartLevel;
+import org.osgi.util.tracker.ServiceTracker;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +80,27 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
      */
     private final transient BundleContext bundleContext;
 
+    /**
+     * Pending uploads, keyed by upload id.
+     */
+    private final transient Map<String, Upload> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * Service trackers for remote calls, keyed by service type. Filters are applied to the
+     * tracked references, since they usually differ for each probe.
+     */
+    private final transient Map<String, ServiceTracker<Object, Object>> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * Notified when a tracked service is added or modified.
+     */
+    private final transient Object serviceMonitor = new Object();
+
+    /**
+     * Service methods for remote calls, keyed by service type, method name and parameter types.
+     */
+    private final transient Map<List<Object>, Method> methods = new ConcurrentHashMap<>();
+
     /**
      * Constructor.
      *
@@ -79,15 +121,16 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         final Object... actualParams) throws NoSuchServiceException, NoSuchMethodException,
         IllegalAccessException, InvocationTargetException {
         LOG.trace("Remote call of [" + serviceType.getName() + "." + methodName + "]");
-        Object service = ServiceLookup.getService(bundleContext, serviceType, timeout.getValue(), filter);
+        Object service = getService(serviceType, filter, timeout);
+        Method method = getMethod(serviceType, methodName, methodParams);
         Object obj = null;
         try {
-            obj = serviceType.getMethod(methodName, methodParams).invoke(service, actualParams);
+            obj = method.invoke(service, actualParams);
         } catch (InvocationTargetException t) {
             if (t.getTargetException().getCause() instanceof RerunTestException) {
                 LOG.debug("rerun the test");
-                service = ServiceLookup.getService(bundleContext, serviceType, timeout.getValue(), filter);
-                obj = serviceType.getMethod(methodName, methodParams).invoke(service, actualParams);
+                service = getService(serviceType, filter, timeout);
+                obj = method.invoke(service, actualParams);
             } else {
                 throw t;
             }
@@ -95,6 +138,126 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         return obj;
     }
 
+    /**
+     * Returns a service of the given type matching the given filter, waiting for the given
+     * timeout if there is no such service yet. Services are obtained from a tracker which is
+     * opened on first use and reused for all subsequent calls with the same type.
+     */
+    private Object getService(Class<?> serviceType, String filter, RelativeTimeout timeout) {
+        Filter serviceFilter = createFilter(filter);
+        ServiceTracker<Object, Object> tracker = trackers.computeIfAbsent(serviceType.getName(),
+            this::openTracker);
+        long deadline = System.currentTimeMillis() + timeout.getValue();
+        synchronized (serviceMonitor) {
+            Object service = findService(tracker, serviceFilter);
+            while (service == null && !timeout.isNoWait()) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (!timeout.isNoTimeout() && remaining <= 0) {
+                    break;
+                }
+                try {
+                    serviceMonitor.wait(timeout.isNoTimeout() ? 0 : remaining);
+                }
+                catch (InterruptedException exc) {
+                    Thread.currentThread().interrupt();
+                    throw new ServiceLookupException(exc);
+                }
+                service = findService(tracker, serviceFilter);
+            }
+            if (service == null) {
+                throw new ServiceLookupException("gave up waiting for service "
+                    + serviceType.getName() + ((filter == null) ? "" : filter));
+            }
+            return service;
+        }
+    }
+
+    private Filter createFilter(String filter) {
+        if (filter == null) {
+            return null;
+        }
+        try {
+            return bundleContext.createFilter(filter);
+        }
+        catch (InvalidSyntaxException exc) {
+            throw new ServiceLookupException(exc);
+        }
+    }
+
+    /**
+     * @return the tracked service with the highest ranking matching the given filter, or null
+     */
+    private static Object findService(ServiceTracker<Object, Object> tracker, Filter filter) {
+        ServiceReference<Object>[] references = tracker.getServiceReferences();
+        if (references == null) {
+            return null;
+        }
+        ServiceReference<Object> best = null;
+        for (ServiceReference<Object> reference : references) {
+            if ((filter == null || filter.match(reference))
+                && (best == null || reference.compareTo(best) > 0)) {
+                best = reference;
+            }
+        }
+        return (best == null) ? null : tracker.getService(best);
+    }
+
+    /**
+     * Opens a tracker for the given service type, which wakes up callers waiting in
+     * {@link #getService(Class, String, RelativeTimeout)} when a service is added or modified.
+     */
+    private ServiceTracker<Object, Object> openTracker(String serviceType) {
+        Filter objectClass = createFilter("(" + Constants.OBJECTCLASS + "=" + serviceType + ")");
+        ServiceTracker<Object, Object> tracker = new ServiceTracker<Object, Object>(bundleContext,
+            objectClass, null) {
+
+            @Override
+            public Object addingService(ServiceReference<Object> reference) {
+                Object service = super.addingService(reference);
+                synchronized (serviceMonitor) {
+                    serviceMonitor.notifyAll();
+                }
+                return service;
+            }
+
+            @Override
+            public void modifiedService(ServiceReference<Object> reference, Object service) {
+                super.modifiedService(reference, service);
+                synchronized (serviceMonitor) {
+                    serviceMonitor.notifyAll();
+                }
+            }
+        };
+        tracker.open();
+        return tracker;
+    }
+
+    private Method getMethod(Class<?> serviceType, String methodName, Class<?>[] methodParams)
+        throws NoSuchMethodException {
+        List<Object> key = Arrays.<Object> asList(serviceType, methodName,
+            (methodParams == null) ? Collections.emptyList() : Arrays.asList(methodParams));
+        Method method = methods.get(key);
+        if (method == null) {
+            method = serviceType.getMethod(methodName, methodParams);
+            methods.put(key, method);
+        }
+        return method;
+    }
+
+    /**
+     * Closes all service trackers opened by remote calls and discards all pending uploads.
+     */
+    public void close() {
+        for (ServiceTracker<Object, Object> tracker : trackers.values()) {
+            tracker.close();
+        }
+        trackers.clear();
+        methods.clear();
+        for (String uploadId : uploads.keySet()) {
+            discardUpload(uploadId);
+        }
+    }
+
     @Override
     public long installBundle(final String bundleUrl) throws BundleException {
         LOG.trace("Install bundle from URL [" + bundleUrl + "]");
@@ -113,6 +276,82 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         }
     }
 
+    @Override
+    public String beginUpload() {
+        String uploadId = UUID.randomUUID().toString();
+        File dir = bundleContext.getDataFile("uploads");
+        try {
+            if (dir == null) {
+                dir = new File(System.getProperty("java.io.tmpdir"));
+            }
+            dir.mkdirs();
+            File file = File.createTempFile("upload", ".jar", dir);
+            uploads.put(uploadId, new Upload(file, new FileOutputStream(file)));
+        }
+        catch (IOException exc) {
+            throw Exceptions.unchecked(exc);
+        }
+        LOG.trace("Begin upload [" + uploadId + "]");
+        return uploadId;
+    }
+
+    @Override
+    public void uploadChunk(String uploadId, byte[] chunk) {
+        try {
+            getUpload(uploadId).out.write(chunk);
+        }
+        catch (IOException exc) {
+            discardUpload(uploadId);
+            throw Exceptions.unchecked(exc);
+        }
+    }
+
+    @Override
+    public long installUpload(String uploadId, String bundleLocation) throws BundleException {
+        LOG.trace("Install bundle [ location=" + bundleLocation + "] from upload [" + uploadId
+            + "]");
+        Upload upload = getUpload(uploadId);
+        try {
+            upload.out.close();
+            try (InputStream inp = new FileInputStream(upload.file)) {
+                return bundleContext.installBundle(bundleLocation, inp).getBundleId();
+            }
+        }
+        catch (IOException exc) {
+            throw Exceptions.unchecked(exc);
+        }
+        finally {
+            discardUpload(uploadId);
+        }
+    }
+
+    @Override
+    public void abortUpload(String uploadId) {
+        LOG.trace("Abort upload [" + uploadId + "]");
+        discardUpload(uploadId);
+    }
+
+    private Upload getUpload(String uploadId) {
+        Upload upload = uploads.get(uploadId);
+        if (upload == null) {
+            throw new IllegalStateException("no such upload: " + uploadId);
+        }
+        return upload;
+    }
+
+    private void discardUpload(String uploadId) {
+        Upload upload = uploads.remove(uploadId);
+        if (upload != null) {
+            try {
+                upload.out.close();
+            }
+            catch (IOException exc) {
+                LOG.debug("cannot close upload " + uploadId, exc);
+            }
+            upload.file.delete();
+        }
+    }
+
     @Override
     public void uninstallBundle(long id) throws BundleException {
         LOG.trace("Uninstall bundle [" + id + "] ");
@@ -124,6 +363,17 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         }
     }
 
+    @Override
+    public Map<String, Integer> getConfigurationHashes(List<String> fileNames) {
+        try {
+            return ConfigurationHashes.get(bundleContext, fileNames);
+        }
+        catch (NoClassDefFoundError exc) {
+            // the configuration admin API is optional
+            return new HashMap<>();
+        }
+    }
+
     @Override
     public void startBundle(long bundleId) throws BundleException {
         startBundle(bundleContext.getBundle(bundleId));
@@ -150,28 +400,51 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
                 + bundleStateToString(bundle) + "' not '" + bundleStateToString(state)
                 + "' as expected");
         }
-        long startedTrying = System.currentTimeMillis();
-        do {
-            bundle = bundleContext.getBundle(bundleId);
-            try {
-                Thread.sleep(50);
+        // bundle and framework events release the latch as soon as the state is reached
+        final CountDownLatch stateReached = new CountDownLatch(1);
+        BundleListener bundleListener = event -> {
+            if (hasState(bundleId, state)) {
+                stateReached.countDown();
             }
-            catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+        };
+        FrameworkListener frameworkListener = event -> {
+            if (hasState(bundleId, state)) {
+                stateReached.countDown();
             }
+        };
+        bundleContext.addBundleListener(bundleListener);
+        bundleContext.addFrameworkListener(frameworkListener);
+        try {
+            if (!hasState(bundleId, state)) {
+                if (timeout.isNoTimeout()) {
+                    stateReached.await();
+                }
+                else {
+                    stateReached.await(timeout.getValue(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            bundleContext.removeFrameworkListener(frameworkListener);
+            bundleContext.removeBundleListener(bundleListener);
         }
-        while ((bundle == null || bundle.getState() < state)
-            && (timeout.isNoTimeout() || System.currentTimeMillis() < startedTrying
-                + timeout.getValue()));
 
+        bundle = bundleContext.getBundle(bundleId);
         if (bundle == null || bundle.getState() < state) {
             throw new TimeoutException("Timeout passed and bundle has state '"
-                + bundleStateToString(bundle.getState()) + "' not '" + bundleStateToString(state)
+                + bundleStateToString(bundle) + "' not '" + bundleStateToString(state)
                 + "' as expected");
         }
     }
 
+    private boolean hasState(long bundleId, int state) {
+        Bundle bundle = bundleContext.getBundle(bundleId);
+        return bundle != null && bundle.getState() >= state;
+    }
+
     /**
      * Starts a bundle.
      *
@@ -244,4 +517,17 @@ public class RemoteBundleContextImpl implements RemoteBundleContext, Serializabl
         }
     }
 
+    /**
+     * Bundle content received so far for a pending upload.
+     */
+    private static class Upload {
+
+        private final File file;
+        private final OutputStream out;
+
+        Upload(File file, OutputStream out) {
+            this.file = file;
+            this.out = out;
+        }
+    }
 }
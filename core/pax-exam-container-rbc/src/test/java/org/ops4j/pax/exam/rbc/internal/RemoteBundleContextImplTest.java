@@ -1,14 +1,44 @@
 package org.ops4j.pax.exam.rbc.internal;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Matchers.contains;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TimeoutException;
+import org.osgi.framework.Bundle;
 import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.BundleListener;
+import org.osgi.framework.Filter;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.cm.Configuration;
+import org.osgi.service.cm.ConfigurationAdmin;
 
 /**
  * Test cases for RemoteBundleContextImpl.
@@ -40,4 +70,199 @@ public class RemoteBundleContextImplTest {
         }
         verify(bundleContext).createFilter(contains(rightFilter));
     }
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testInstallUploadedBundle() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        File uploads = tempFolder.newFolder("uploads");
+        when(bundleContext.getDataFile("uploads")).thenReturn(uploads);
+        final ByteArrayOutputStream installed = new ByteArrayOutputStream();
+        final Bundle bundle = mock(Bundle.class);
+        when(bundle.getBundleId()).thenReturn(42L);
+        when(bundleContext.installBundle(eq("probe"), any(InputStream.class))).thenAnswer(
+            invocation -> {
+                InputStream in = (InputStream) invocation.getArguments()[1];
+                int b;
+                while ((b = in.read()) != -1) {
+                    installed.write(b);
+                }
+                return bundle;
+            });
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        String uploadId = remoteBundleContext.beginUpload();
+        remoteBundleContext.uploadChunk(uploadId, new byte[] { 1, 2, 3 });
+        remoteBundleContext.uploadChunk(uploadId, new byte[] { 4, 5 });
+        long bundleId = remoteBundleContext.installUpload(uploadId, "probe");
+
+        assertEquals(42L, bundleId);
+        assertArrayEquals(new byte[] { 1, 2, 3, 4, 5 }, installed.toByteArray());
+        assertEquals(0, uploads.list().length);
+    }
+
+    @Test
+    public void testAbortAndCloseDiscardUploads() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        File uploads = tempFolder.newFolder("uploads");
+        when(bundleContext.getDataFile("uploads")).thenReturn(uploads);
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        String aborted = remoteBundleContext.beginUpload();
+        remoteBundleContext.uploadChunk(aborted, new byte[] { 1, 2, 3 });
+        String pending = remoteBundleContext.beginUpload();
+        assertEquals(2, uploads.list().length);
+
+        remoteBundleContext.abortUpload(aborted);
+        remoteBundleContext.abortUpload(aborted);
+        assertEquals(1, uploads.list().length);
+
+        remoteBundleContext.close();
+        assertEquals(0, uploads.list().length);
+        try {
+            remoteBundleContext.uploadChunk(pending, new byte[] { 4 });
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException exc) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWaitForStateReturnsOnBundleEvent() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        final Bundle bundle = mock(Bundle.class);
+        final AtomicInteger state = new AtomicInteger(Bundle.RESOLVED);
+        when(bundle.getState()).thenAnswer(invocation -> state.get());
+        when(bundleContext.getBundle(7L)).thenReturn(bundle);
+        final AtomicReference<BundleListener> listener = new AtomicReference<>();
+        doAnswer(invocation -> {
+            listener.set((BundleListener) invocation.getArguments()[0]);
+            return null;
+        }).when(bundleContext).addBundleListener(any(BundleListener.class));
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        Thread activator = new Thread(() -> {
+            while (listener.get() == null) {
+                Thread.yield();
+            }
+            state.set(Bundle.ACTIVE);
+            listener.get().bundleChanged(new BundleEvent(BundleEvent.STARTED, bundle));
+        });
+        activator.start();
+
+        long start = System.nanoTime();
+        remoteBundleContext.waitForState(7L, Bundle.ACTIVE, new RelativeTimeout(60000));
+        long elapsedMillis = (System.nanoTime() - start) / 1000000;
+
+        assertTrue("waited " + elapsedMillis + " ms", elapsedMillis < 30000);
+        verify(bundleContext).removeBundleListener(listener.get());
+        activator.join();
+    }
+
+    @Test
+    public void testWaitForStateTimesOut() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        Bundle bundle = mock(Bundle.class);
+        when(bundle.getState()).thenReturn(Bundle.RESOLVED);
+        when(bundleContext.getBundle(7L)).thenReturn(bundle);
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        try {
+            remoteBundleContext.waitForState(7L, Bundle.ACTIVE, new RelativeTimeout(100));
+            fail("expected timeout");
+        }
+        catch (TimeoutException exc) {
+            assertTrue(exc.getMessage().contains("resolved"));
+        }
+    }
+
+    @Test
+    public void testServiceTrackerIsReusedAcrossRemoteCalls() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        Filter filter = mock(Filter.class);
+        when(filter.toString()).thenReturn("(objectClass=java.lang.Runnable)");
+        when(bundleContext.createFilter(anyString())).thenReturn(filter);
+        ServiceReference<?> reference = mock(ServiceReference.class);
+        when(bundleContext.getServiceReferences((String) null, "(objectClass=java.lang.Runnable)"))
+            .thenReturn(new ServiceReference<?>[] { reference });
+        final AtomicInteger runs = new AtomicInteger();
+        Runnable service = () -> runs.incrementAndGet();
+        when(bundleContext.getService(reference)).thenAnswer(invocation -> service);
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        for (int i = 0; i < 3; i++) {
+            remoteBundleContext.remoteCall(Runnable.class, "run", new Class<?>[] {}, null,
+                RelativeTimeout.TIMEOUT_DEFAULT);
+        }
+
+        assertEquals(3, runs.get());
+        verify(bundleContext, times(1)).createFilter(anyString());
+        remoteBundleContext.close();
+    }
+
+    @Test
+    public void testServiceTrackerIsSharedByFilters() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        Filter objectClass = mock(Filter.class);
+        when(objectClass.toString()).thenReturn("(objectClass=java.lang.Runnable)");
+        when(bundleContext.createFilter("(objectClass=java.lang.Runnable)"))
+            .thenReturn(objectClass);
+        final AtomicInteger runs = new AtomicInteger();
+        ServiceReference<?>[] references = new ServiceReference<?>[2];
+        for (int i = 0; i < references.length; i++) {
+            final String signature = "(Probe-Signature=probe" + i + ")";
+            final int increment = i + 1;
+            ServiceReference<?> reference = mock(ServiceReference.class);
+            Filter filter = mock(Filter.class);
+            when(filter.match(reference)).thenReturn(true);
+            when(bundleContext.createFilter(signature)).thenReturn(filter);
+            Runnable service = () -> runs.addAndGet(increment);
+            when(bundleContext.getService(reference)).thenAnswer(invocation -> service);
+            references[i] = reference;
+        }
+        when(bundleContext.getServiceReferences((String) null, "(objectClass=java.lang.Runnable)"))
+            .thenReturn(references);
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+
+        remoteBundleContext.remoteCall(Runnable.class, "run", new Class<?>[] {},
+            "(Probe-Signature=probe0)", RelativeTimeout.TIMEOUT_DEFAULT);
+        remoteBundleContext.remoteCall(Runnable.class, "run", new Class<?>[] {},
+            "(Probe-Signature=probe1)", RelativeTimeout.TIMEOUT_DEFAULT);
+
+        assertEquals(3, runs.get());
+        verify(bundleContext, times(1)).createFilter("(objectClass=java.lang.Runnable)");
+        verify(bundleContext, times(1)).getServiceReferences((String) null,
+            "(objectClass=java.lang.Runnable)");
+        remoteBundleContext.close();
+    }
+
+    @Test
+    public void testConfigurationHashesChangeWithProperties() throws Exception {
+        BundleContext bundleContext = mock(BundleContext.class);
+        @SuppressWarnings("unchecked")
+        ServiceReference<ConfigurationAdmin> reference = mock(ServiceReference.class);
+        ConfigurationAdmin configAdmin = mock(ConfigurationAdmin.class);
+        when(bundleContext.getServiceReference(ConfigurationAdmin.class)).thenReturn(reference);
+        when(bundleContext.getService(reference)).thenReturn(configAdmin);
+        Hashtable<String, Object> properties = new Hashtable<>();
+        properties.put("felix.fileinstall.filename", "file:/etc/org.foo.cfg");
+        properties.put("key", "a");
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getProperties()).thenAnswer(invocation -> new Hashtable<>(properties));
+        when(configAdmin.listConfigurations("(felix.fileinstall.filename=*)"))
+            .thenReturn(new Configuration[] { configuration });
+        RemoteBundleContextImpl remoteBundleContext = new RemoteBundleContextImpl(bundleContext);
+        List<String> fileNames = Arrays.asList("file:/etc/org.foo.cfg", "file:/etc/org.bar.cfg");
+
+        Map<String, Integer> before = remoteBundleContext.getConfigurationHashes(fileNames);
+        properties.put("key", "b");
+        Map<String, Integer> after = remoteBundleContext.getConfigurationHashes(fileNames);
+
+        assertEquals(Collections.singleton("file:/etc/org.foo.cfg"), before.keySet());
+        assertNotEquals(before, after);
+        verify(bundleContext, times(2)).ungetService(reference);
+    }
 }
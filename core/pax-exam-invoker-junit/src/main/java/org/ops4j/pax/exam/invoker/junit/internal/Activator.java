@@ -34,6 +34,6 @@ public class Activator implements BundleActivator {
     }
 
     public void stop(BundleContext context) throws Exception {
-        // empty
+        TestEventConnection.closeAll();
     }
 }
@@ -19,11 +19,6 @@ package org.ops4j.pax.exam.invoker.junit.internal;
 
 import static org.ops4j.pax.exam.Constants.EXAM_INVOKER_PORT;
 
-import java.io.IOException;
-import java.io.ObjectOutputStream;
-import java.net.InetAddress;
-import java.net.Socket;
-
 import org.junit.runner.Description;
 import org.junit.runner.JUnitCore;
 import org.junit.runner.manipulation.Filter;
@@ -122,14 +117,20 @@ public class JUnitProbeInvoker implements ProbeInvoker {
 
     @Override
     public void runTestClass(String description) {
-        try (Socket socket = new Socket(InetAddress.getLocalHost(), getPort())) {
-            ObjectOutputStream oos = new ObjectOutputStream(socket.getOutputStream());
-            OutputStreamTestListener streamListener = new OutputStreamTestListener(oos);
+        runTestClass(description, null);
+    }
+
+    @Override
+    public boolean runTestClass(String description, String runId) {
+        OutputStreamTestListener streamListener = new OutputStreamTestListener(
+            TestEventConnection.forPort(getPort()), runId);
+        try {
             runTestWithJUnit(TestDescription.parse(description), streamListener);
         }
-        catch (IOException exc) {
-            new TestContainerException(exc);
+        finally {
+            streamListener.runFinished();
         }
+        return true;
     }
 
     private int getPort() {
@@ -21,10 +21,10 @@ import static org.ops4j.pax.exam.TestEventType.TEST_ASSUMPTION_FAILED;
 import static org.ops4j.pax.exam.TestEventType.TEST_FAILED;
 import static org.ops4j.pax.exam.TestEventType.TEST_FINISHED;
 import static org.ops4j.pax.exam.TestEventType.TEST_IGNORED;
+import static org.ops4j.pax.exam.TestEventType.RUN_FINISHED;
 import static org.ops4j.pax.exam.TestEventType.TEST_STARTED;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestDescription;
@@ -33,26 +33,50 @@ import org.ops4j.pax.exam.TestFailure;
 import org.ops4j.pax.exam.TestListener;
 
 /**
+ * Sends the events of a test run, tagged with the run ID, on a {@link TestEventConnection}.
+ *
  * @author Harald Wellmann
  *
  */
 public class OutputStreamTestListener implements TestListener {
 
-    private ObjectOutputStream oos;
+    private TestEventConnection connection;
+    private String runId;
+    private long lostBatches;
 
-    public OutputStreamTestListener(ObjectOutputStream oos) {
-        this.oos = oos;
+    public OutputStreamTestListener(TestEventConnection connection, String runId) {
+        this.connection = connection;
+        this.runId = runId;
+        this.lostBatches = connection.getLostBatches();
     }
 
     @Override
     public void testStarted(TestDescription description) {
-        TestEvent event = new TestEvent(TEST_STARTED, description);
+        TestEvent event = new TestEvent(runId, TEST_STARTED, description, null);
         sendEvent(event);
     }
 
+    /**
+     * Signals that all events of this run have been sent and waits until they have been written.
+     * Fails if events may have been lost since the start of this run, since the container would
+     * then miss results or wait for the end of the run in vain.
+     */
+    public void runFinished() {
+        sendEvent(new TestEvent(runId, RUN_FINISHED, null, null));
+        try {
+            connection.flush();
+        }
+        catch (IOException exc) {
+            throw new TestContainerException(exc);
+        }
+        if (connection.getLostBatches() != lostBatches) {
+            throw new TestContainerException("test events of run " + runId + " have been lost");
+        }
+    }
+
     private void sendEvent(TestEvent event) {
         try {
-            oos.writeObject(event);
+            connection.send(event);
         }
         catch (IOException exc) {
             throw new TestContainerException(exc);
@@ -61,27 +85,27 @@ public class OutputStreamTestListener implements TestListener {
 
     @Override
     public void testFinished(TestDescription description) {
-        TestEvent event = new TestEvent(TEST_FINISHED, description);
+        TestEvent event = new TestEvent(runId, TEST_FINISHED, description, null);
         sendEvent(event);
     }
 
     @Override
     public void testFailure(TestFailure failure) {
-        TestEvent event = new TestEvent(TEST_FAILED, failure.getDescription(),
+        TestEvent event = new TestEvent(runId, TEST_FAILED, failure.getDescription(),
             failure.getException());
         sendEvent(event);
     }
 
     @Override
     public void testAssumptionFailure(TestFailure failure) {
-        TestEvent event = new TestEvent(TEST_ASSUMPTION_FAILED, failure.getDescription(),
+        TestEvent event = new TestEvent(runId, TEST_ASSUMPTION_FAILED, failure.getDescription(),
             failure.getException());
         sendEvent(event);
     }
 
     @Override
     public void testIgnored(TestDescription description) {
-        TestEvent event = new TestEvent(TEST_IGNORED, description);
+        TestEvent event = new TestEvent(runId, TEST_IGNORED, description, null);
         sendEvent(event);
     }
 }
@@ -0,0 +1,335 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.invoker.junit.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.ops4j.pax.exam.TestEvent;
+import org.ops4j.pax.exam.TestEventType;
+import org.ops4j.pax.exam.TestEventWriter;
+
+/**
+ * A persistent connection to the test event channel of the test container, shared by all test
+ * runs in this framework.
+ * <p>
+ * Events are not written by the test thread. They are put into a bounded queue and written in
+ * batches by a writer thread, which flushes the stream when a batch is full, when
+ * {@link #LINGER_MILLIS} have passed since the first event of the batch, or immediately after a
+ * failure or the end of a run. When the container reads events more slowly than the tests produce
+ * them, the queue fills up and {@link #send(TestEvent)} blocks. Events are written in the order
+ * they were sent.
+ * <p>
+ * Each event gets a sequence number when it is first written. When writing a batch fails, the
+ * batch is resent on a new connection with the same numbers, so the receiver can drop the events
+ * it already got. A batch which cannot be written after {@link #MAX_ATTEMPTS} attempts is lost.
+ * Callers waiting for the queue or for a flush give up after a timeout.
+ *
+ * @since 5.0.0
+ */
+public class TestEventConnection {
+
+    /** Maximum number of queued events. */
+    static final int QUEUE_CAPACITY = 1024;
+
+    /** Maximum number of events written between two flushes. */
+    static final int BATCH_SIZE = 128;
+
+    /** Maximum time an event waits for more events before it is flushed. */
+    static final long LINGER_MILLIS = 20;
+
+    /** Number of connections on which a batch is written before it is given up. */
+    static final int MAX_ATTEMPTS = 3;
+
+    /** Default time a caller waits for space in the queue or for a flush. */
+    static final long TIMEOUT_MILLIS = 60000;
+
+    private static final Map<Integer, TestEventConnection> CONNECTIONS = new HashMap<>();
+
+    private final int port;
+    private final long timeoutMillis;
+    private final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private Thread writerThread;
+    private volatile IOException error;
+    private volatile long lostBatches;
+
+    private Socket socket;
+    private TestEventWriter writer;
+    private long lastSequence;
+
+    TestEventConnection(int port) {
+        this(port, TIMEOUT_MILLIS);
+    }
+
+    TestEventConnection(int port, long timeoutMillis) {
+        this.port = port;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * @param port
+     *            port of the test event channel on the local host
+     * @return shared connection to the given port
+     */
+    public static synchronized TestEventConnection forPort(int port) {
+        TestEventConnection connection = CONNECTIONS.get(port);
+        if (connection == null) {
+            connection = new TestEventConnection(port);
+            CONNECTIONS.put(port, connection);
+        }
+        return connection;
+    }
+
+    /**
+     * Closes all shared connections.
+     */
+    public static synchronized void closeAll() {
+        for (TestEventConnection connection : CONNECTIONS.values()) {
+            connection.close();
+        }
+        CONNECTIONS.clear();
+    }
+
+    /**
+     * Queues an event, blocking while the queue is full.
+     *
+     * @param event
+     *            test event
+     * @throws IOException
+     *             if a previous event could not be sent, or if the queue stays full until the
+     *             timeout expires
+     */
+    public void send(TestEvent event) throws IOException {
+        enqueue(new Entry(event, null));
+    }
+
+    /**
+     * Waits until all events sent so far have been written and flushed, or have been lost.
+     * Callers compare {@link #getLostBatches()} before and after to detect lost events.
+     *
+     * @throws IOException
+     *             if an event could not be sent, or if the events have not been written when the
+     *             timeout expires
+     */
+    public void flush() throws IOException {
+        CountDownLatch written = new CountDownLatch(1);
+        enqueue(new Entry(null, written));
+        try {
+            if (!written.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("test events not written within " + timeoutMillis + " ms");
+            }
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        checkError();
+    }
+
+    /**
+     * @return the number of batches given up so far
+     */
+    public long getLostBatches() {
+        return lostBatches;
+    }
+
+    private void enqueue(Entry entry) throws IOException {
+        checkError();
+        startWriter();
+        try {
+            if (!queue.offer(entry, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IOException("test event queue still full after " + timeoutMillis
+                    + " ms");
+            }
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+    }
+
+    /**
+     * Rethrows a write error once. The next event opens a new connection.
+     */
+    private void checkError() throws IOException {
+        IOException exc = error;
+        if (exc != null) {
+            error = null;
+            throw exc;
+        }
+    }
+
+    private synchronized void startWriter() {
+        if (writerThread == null) {
+            writerThread = new Thread(this::drain, "TestEventConnection-" + port);
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    private void drain() {
+        List<Entry> batch = new ArrayList<>(BATCH_SIZE);
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                batch.add(queue.take());
+                collectBatch(batch);
+                writeBatch(batch);
+                batch.clear();
+            }
+        }
+        catch (InterruptedException exc) {
+            // connection closed
+        }
+        finally {
+            queue.drainTo(batch);
+            if (!batch.isEmpty()) {
+                error = new IOException("test event connection closed");
+            }
+            for (Entry entry : batch) {
+                entry.release();
+            }
+        }
+    }
+
+    /**
+     * Adds further events to the batch until it is full, the linger time has expired or an event
+     * requires an immediate flush.
+     */
+    private void collectBatch(List<Entry> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LINGER_MILLIS);
+        while (batch.size() < BATCH_SIZE && !batch.get(batch.size() - 1).isUrgent()) {
+            long remaining = deadline - System.nanoTime();
+            Entry entry = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+            if (entry == null) {
+                return;
+            }
+            batch.add(entry);
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        boolean hasEvents = batch.stream().anyMatch(entry -> entry.event != null);
+        for (int attempt = 1; hasEvents && attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                write(batch);
+                break;
+            }
+            catch (IOException exc) {
+                // the container may have dropped the connection, retry on a new one
+                disconnect();
+                if (attempt == MAX_ATTEMPTS) {
+                    error = exc;
+                    lostBatches++;
+                }
+            }
+        }
+        for (Entry entry : batch) {
+            entry.release();
+        }
+    }
+
+    private void write(List<Entry> batch) throws IOException {
+        if (writer == null) {
+            socket = new Socket(InetAddress.getLocalHost(), port);
+            writer = new TestEventWriter(socket.getOutputStream());
+        }
+        for (Entry entry : batch) {
+            TestEvent event = entry.event;
+            if (event != null) {
+                if (entry.sequence == 0) {
+                    entry.sequence = ++lastSequence;
+                }
+                writer.write(new TestEvent(event.getRunId(), entry.sequence, event.getType(),
+                    event.getDescription(), event.getException()));
+            }
+        }
+        writer.flush();
+    }
+
+    private void disconnect() {
+        if (socket != null) {
+            try {
+                socket.close();
+            }
+            catch (IOException exc) {
+                // ignore
+            }
+        }
+        socket = null;
+        writer = null;
+    }
+
+    /**
+     * Stops the writer thread and closes the connection. Queued events are discarded.
+     */
+    public void close() {
+        Thread thread;
+        synchronized (this) {
+            thread = writerThread;
+            writerThread = null;
+        }
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join();
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        disconnect();
+    }
+
+    private static class Entry {
+
+        private final TestEvent event;
+        private final CountDownLatch written;
+        private long sequence;
+
+        Entry(TestEvent event, CountDownLatch written) {
+            this.event = event;
+            this.written = written;
+        }
+
+        boolean isUrgent() {
+            if (event == null) {
+                return true;
+            }
+            TestEventType type = event.getType();
+            return type == TestEventType.TEST_FAILED
+                || type == TestEventType.TEST_ASSUMPTION_FAILED
+                || type == TestEventType.RUN_FINISHED;
+        }
+
+        void release() {
+            if (written != null) {
+                written.countDown();
+            }
+        }
+    }
+}
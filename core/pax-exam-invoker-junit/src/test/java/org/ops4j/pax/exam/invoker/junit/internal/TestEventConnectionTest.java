@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.invoker.junit.internal;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestEvent;
+import org.ops4j.pax.exam.TestEventReader;
+import org.ops4j.pax.exam.TestEventType;
+
+public class TestEventConnectionTest {
+
+    private ServerSocket serverSocket;
+    private TestEventConnection connection;
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        serverSocket = new ServerSocket(0);
+        connection = new TestEventConnection(serverSocket.getLocalPort());
+        executor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        connection.close();
+        serverSocket.close();
+        executor.shutdownNow();
+    }
+
+    private Future<List<String>> receive(int count) {
+        return executor.submit(() -> {
+            List<String> methods = new ArrayList<>();
+            try (Socket socket = serverSocket.accept();
+                TestEventReader reader = new TestEventReader(socket.getInputStream())) {
+                while (methods.size() < count) {
+                    TestEvent event = reader.read();
+                    methods.add(event.getDescription().getMethodName());
+                }
+            }
+            return methods;
+        });
+    }
+
+    private static TestEvent event(TestEventType type, String method) {
+        return new TestEvent("1", type, new TestDescription("Foo", method), null);
+    }
+
+    @Test
+    public void shouldKeepOrderBeyondQueueCapacity() throws Exception {
+        int count = 3 * TestEventConnection.QUEUE_CAPACITY;
+        Future<List<String>> received = receive(count);
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            connection.send(event(TestEventType.TEST_STARTED, "m" + i));
+            expected.add("m" + i);
+        }
+        connection.flush();
+
+        assertThat(received.get(10, TimeUnit.SECONDS), is(expected));
+    }
+
+    @Test
+    public void shouldFlushFailuresWithoutWaiting() throws Exception {
+        Future<List<String>> received = receive(2);
+        connection.send(event(TestEventType.TEST_STARTED, "a"));
+        connection.send(event(TestEventType.TEST_FAILED, "a"));
+
+        assertThat(received.get(10, TimeUnit.SECONDS).get(1), is("a"));
+    }
+
+    @Test
+    public void shouldCountLostBatches() throws Exception {
+        ServerSocket closed = new ServerSocket(0);
+        closed.close();
+        TestEventConnection refused = new TestEventConnection(closed.getLocalPort(), 10000);
+        try {
+            refused.send(event(TestEventType.RUN_FINISHED, null));
+            refused.flush();
+            fail("expected IOException");
+        }
+        catch (IOException exc) {
+            assertThat(refused.getLostBatches(), is(1L));
+        }
+        finally {
+            refused.close();
+        }
+    }
+}
@@ -18,7 +18,6 @@
 package org.ops4j.pax.exam.servlet;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 
 import org.junit.runner.Description;
 import org.junit.runner.notification.Failure;
@@ -26,7 +25,7 @@ import org.junit.runner.notification.RunListener;
 import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.TestEvent;
 import org.ops4j.pax.exam.TestEventType;
-import org.ops4j.pax.exam.WrappedTestContainerException;
+import org.ops4j.pax.exam.TestEventWriter;
 import org.ops4j.pax.exam.util.Exceptions;
 
 /**
@@ -35,16 +34,17 @@ import org.ops4j.pax.exam.util.Exceptions;
  */
 public class ContainerTestListener extends RunListener {
 
-    private ObjectOutputStream oos;
+    private TestEventWriter writer;
 
 
-    public ContainerTestListener(ObjectOutputStream oos) {
-        this.oos = oos;
+    public ContainerTestListener(TestEventWriter writer) {
+        this.writer = writer;
     }
 
     private void writeEvent(TestEvent event) {
         try {
-            oos.writeObject(event);
+            writer.write(event);
+            writer.flush();
         }
         catch (IOException exc) {
             throw Exceptions.unchecked(exc);
@@ -55,8 +55,7 @@ public class ContainerTestListener extends RunListener {
     @Override
     public void testFailure(Failure failure) throws Exception {
         TestDescription description = convertDescription(failure.getDescription());
-        Throwable exc = WrappedTestContainerException.wrapIfNeeded(failure.getException());
-        writeEvent(new TestEvent(TestEventType.TEST_FAILED, description, exc));
+        writeEvent(new TestEvent(TestEventType.TEST_FAILED, description, failure.getException()));
     }
 
     @Override
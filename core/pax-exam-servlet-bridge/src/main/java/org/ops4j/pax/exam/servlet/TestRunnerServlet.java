@@ -18,7 +18,6 @@
 package org.ops4j.pax.exam.servlet;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 
 import javax.servlet.ServletConfig;
@@ -35,6 +34,7 @@ import org.junit.runner.manipulation.Filter;
 import org.junit.runner.manipulation.NoTestsRemainException;
 import org.junit.runners.ParentRunner;
 import org.junit.runners.model.InitializationError;
+import org.ops4j.pax.exam.TestEventWriter;
 import org.ops4j.pax.exam.util.Exceptions;
 import org.ops4j.pax.exam.util.Injector;
 import org.ops4j.pax.exam.util.InjectorFactory;
@@ -101,10 +101,11 @@ public class TestRunnerServlet extends HttpServlet {
                 Description method = Description.createTestDescription(clazz, methodName);
                 runner.filter(Filter.matchMethodDescription(method));
             }
-            ObjectOutputStream oos = new ObjectOutputStream(os);
+            TestEventWriter writer = new TestEventWriter(os);
             JUnitCore junit = new JUnitCore();
-            junit.addListener(new ContainerTestListener(oos));
+            junit.addListener(new ContainerTestListener(writer));
             junit.run(runner);
+            writer.flush();
         }
         catch (InitializationError | NoTestsRemainException exc) {
             throw Exceptions.unchecked(exc);
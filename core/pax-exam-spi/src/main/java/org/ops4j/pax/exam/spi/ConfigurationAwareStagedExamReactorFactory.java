@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi;
+
+import java.util.List;
+
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestProbeBuilder;
+
+/**
+ * A {@link StagedExamReactorFactory} which creates the test containers itself. Instead of freshly
+ * created containers, {@link DefaultExamReactor} passes the configurations to this factory, so
+ * that the reactor can decide to reuse a running container from an earlier test class.
+ *
+ * @since 5.0.0
+ */
+public interface ConfigurationAwareStagedExamReactorFactory extends StagedExamReactorFactory {
+
+    /**
+     * Creates a staged reactor for the given configurations.
+     *
+     * @param system
+     *            exam system to be forked for each configuration
+     * @param configurations
+     *            user configurations, one per test container
+     * @param containerFactory
+     *            factory for creating test containers
+     * @param probes
+     *            probes to be installed in each container
+     * @return staged reactor
+     */
+    StagedExamReactor create(ExamSystem system, List<Option[]> configurations,
+        TestContainerFactory containerFactory, List<TestProbeBuilder> probes);
+}
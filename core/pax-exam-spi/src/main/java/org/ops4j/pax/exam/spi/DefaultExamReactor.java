@@ -20,9 +20,8 @@ package org.ops4j.pax.exam.spi;
 import static org.ops4j.pax.exam.CoreOptions.options;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.ops4j.pax.exam.ConfigurationFactory;
 import org.ops4j.pax.exam.ExamSystem;
@@ -30,6 +29,7 @@ import org.ops4j.pax.exam.Option;
 import org.ops4j.pax.exam.TestContainer;
 import org.ops4j.pax.exam.TestContainerFactory;
 import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
 import org.ops4j.spi.ServiceProviderFinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -52,11 +52,30 @@ public class DefaultExamReactor implements ExamReactor {
 
     private final ExamSystem system;
 
+    private final StagingExecutor staging;
+
     public DefaultExamReactor(ExamSystem system, TestContainerFactory factory) {
+        this(system, factory, StagingExecutor.fromConfiguration());
+    }
+
+    /**
+     * Creates a reactor using the given executor for creating the test containers. With more than
+     * one staging thread, the containers for multiple configurations are created concurrently.
+     *
+     * @param system
+     *            exam system to be forked for each configuration
+     * @param factory
+     *            test container factory
+     * @param staging
+     *            staging executor
+     */
+    public DefaultExamReactor(ExamSystem system, TestContainerFactory factory,
+        StagingExecutor staging) {
         this.system = system;
         this.configurations = new ArrayList<>();
         this.probes = new ArrayList<>();
         this.testContainerFactory = factory;
+        this.staging = staging;
     }
 
     @Override
@@ -86,12 +105,44 @@ public class DefaultExamReactor implements ExamReactor {
             LOG.debug("No configuration given. Setting an empty one.");
             configurations.add(options());
         }
-        configurations.stream().map(system::fork).map(testContainerFactory::create).collect(Collectors.toList());
-        for (Option[] config : configurations) {
-            containers.addAll(Arrays.asList(testContainerFactory.create(system.fork(config))));
+        if (factory instanceof ConfigurationAwareStagedExamReactorFactory) {
+            return ((ConfigurationAwareStagedExamReactorFactory) factory).create(system,
+                configurations, testContainerFactory, probes);
+        }
+        // each configuration is forked exactly once, the forked system is owned by its container
+        List<ExamSystem> forked = Collections.synchronizedList(new ArrayList<ExamSystem>());
+        try {
+            containers.addAll(staging.map(configurations, config -> {
+                ExamSystem forkedSystem = system.fork(config);
+                forked.add(forkedSystem);
+                return testContainerFactory.create(forkedSystem);
+            }, "Container creation"));
+        }
+        catch (RuntimeException | Error exc) {
+            clearForked(forked, exc);
+            throw exc;
         }
 
         return factory.create(containers, probes);
     }
 
+    /**
+     * Clears the systems forked before a failure to create another container. The containers
+     * created for them have not been started, so clearing their systems releases all their
+     * resources. Failures to clear are added to the original failure.
+     */
+    private static void clearForked(List<ExamSystem> forked, Throwable failure) {
+        synchronized (forked) {
+            for (ExamSystem forkedSystem : forked) {
+                try {
+                    forkedSystem.clear();
+                }
+                // CHECKSTYLE:SKIP : keep clearing the other systems
+                catch (Exception exc) {
+                    failure.addSuppressed(exc);
+                }
+            }
+        }
+    }
+
 }
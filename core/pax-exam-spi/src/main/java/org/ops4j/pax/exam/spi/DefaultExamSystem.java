@@ -17,6 +17,8 @@
  */
 package org.ops4j.pax.exam.spi;
 
+import static org.ops4j.pax.exam.Constants.EXAM_PROBE_CACHE_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_PROBE_CACHE_KEY;
 import static org.ops4j.pax.exam.OptionUtils.combine;
 import static org.ops4j.pax.exam.OptionUtils.expand;
 import static org.ops4j.pax.exam.OptionUtils.filter;
@@ -32,6 +34,7 @@ import java.util.UUID;
 
 import org.ops4j.io.FileUtils;
 import org.ops4j.pax.exam.ConfigurationFactory;
+import org.ops4j.pax.exam.ConfigurationManager;
 import org.ops4j.pax.exam.ExamConfigurationException;
 import org.ops4j.pax.exam.ExamSystem;
 import org.ops4j.pax.exam.Info;
@@ -43,6 +46,7 @@ import org.ops4j.pax.exam.options.TimeoutOption;
 import org.ops4j.pax.exam.options.WarProbeOption;
 import org.ops4j.pax.exam.options.extra.CleanCachesOption;
 import org.ops4j.pax.exam.options.extra.WorkingDirectoryOption;
+import org.ops4j.pax.exam.spi.intern.DirectoryListings;
 import org.ops4j.pax.exam.spi.intern.TestProbeBuilderImpl;
 import org.ops4j.pax.exam.spi.war.WarTestProbeBuilderImpl;
 import org.ops4j.spi.ServiceProviderFinder;
@@ -71,6 +75,8 @@ public class DefaultExamSystem implements ExamSystem {
     private final Set<Class<?>> requestedOptionTypes = new HashSet<Class<?>>();
     private final CleanCachesOption clean;
     private final File cache;
+    private final File probeCache;
+    private final DirectoryListings listings;
 
     private Option[] combinedOptions;
 
@@ -86,6 +92,17 @@ public class DefaultExamSystem implements ExamSystem {
      *             in case of an instantiation problem. (IO related)
      */
     private DefaultExamSystem(Option[] options) throws IOException {
+        this(options, new DirectoryListings());
+    }
+
+    /**
+     * @param options
+     *            options to be used to define the new system.
+     * @param listings
+     *            directory listings shared with the system this one is forked from
+     */
+    private DefaultExamSystem(Option[] options, DirectoryListings listings) throws IOException {
+        this.listings = listings;
         subsystems = new Stack<ExamSystem>();
         combinedOptions = expand(options);
         configDirectory = new File(System.getProperty("user.home") + "/.pax/exam/");
@@ -100,6 +117,11 @@ public class DefaultExamSystem implements ExamSystem {
 
         cache = createTemp(new File(work.getWorkingDirectory()));
         store = new TemporaryStore(cache, false);
+        String probeCacheEnabled = new ConfigurationManager().getProperty(EXAM_PROBE_CACHE_KEY,
+            EXAM_PROBE_CACHE_DEFAULT);
+        // outside of the working directory, which is deleted by clear()
+        probeCache = Boolean.parseBoolean(probeCacheEnabled)
+            ? new File(System.getProperty("user.home"), ".pax/exam-cache/probe-cache") : null;
 
         TimeoutOption timeoutOption = getSingleOption(TimeoutOption.class);
         if (timeoutOption != null) {
@@ -137,7 +159,7 @@ public class DefaultExamSystem implements ExamSystem {
     @Override
     public ExamSystem fork(Option[] options) {
         try {
-            ExamSystem sys = new DefaultExamSystem(combine(combinedOptions, options));
+            ExamSystem sys = new DefaultExamSystem(combine(combinedOptions, options), listings);
             subsystems.add(sys);
             return sys;
         }
@@ -271,7 +293,8 @@ public class DefaultExamSystem implements ExamSystem {
         WarProbeOption warProbeOption = getSingleOption(WarProbeOption.class);
         if (warProbeOption == null) {
             LOG.debug("creating default probe");
-            TestProbeBuilderImpl testProbeBuilder = new TestProbeBuilderImpl(cache, store);
+            TestProbeBuilderImpl testProbeBuilder = new TestProbeBuilderImpl(cache, store,
+                probeCache, listings);
             testProbeBuilder.setHeader("Bundle-SymbolicName", "PAXEXAM-PROBE-"
                 + createID("created probe"));
             return testProbeBuilder;
@@ -2,41 +2,70 @@ package org.ops4j.pax.exam.spi.intern;
 
 import java.io.File;
 import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.Path;
 import java.util.Map;
+
 import org.ops4j.pax.exam.spi.ContentCollector;
+import org.ops4j.pax.exam.spi.intern.DirectoryListings.Listing;
 
 /**
  * Collects files from a given base.
+ * <p>
+ * Directory listings are taken from the given {@link DirectoryListings}, so that a base collected
+ * again during the same test run only lists again the directories modified since the previous
+ * scan.
  */
 public class CollectFromBase implements ContentCollector {
 
     private File base;
+    private final DirectoryListings listings;
 
     public CollectFromBase(File base) {
+        this(base, new DirectoryListings());
+    }
+
+    /**
+     * @param base
+     *            base directory
+     * @param listings
+     *            directory listings of earlier scans in this test run
+     */
+    public CollectFromBase(File base, DirectoryListings listings) {
         this.base = base;
+        this.listings = listings;
     }
 
     public void collect(Map<String, URL> map) throws IOException {
-        collectFromBase(map, base);
+        if (base != null && base.canRead() && base.isDirectory()) {
+            Path root = base.getCanonicalFile().toPath();
+            collectFromBase(map, root, root.toUri().toString(), "");
+        }
     }
 
-    private void collectFromBase(Map<String, URL> map, File dir) throws IOException {
-        if (dir != null && dir.canRead() && dir.isDirectory()) {
-            for (File f : dir.listFiles()) {
-                if (f.isDirectory()) {
-                    collectFromBase(map, f);
-                }
-                else if (!f.isHidden()) {
-                    map.put(normalize(base, f), f.toURI().toURL());
-                }
-            }
+    private void collectFromBase(Map<String, URL> map, Path dir, String rootUri, String prefix)
+        throws IOException {
+        Listing listing = listings.list(dir);
+        for (String file : listing.files) {
+            map.put(prefix + file, toURL(rootUri, prefix + file));
+        }
+        for (String subdir : listing.directories) {
+            collectFromBase(map, dir.resolve(subdir), rootUri, prefix + subdir + "/");
         }
     }
 
-    private String normalize(File _base, File f) throws IOException {
-        return f.getCanonicalPath().substring(_base.getCanonicalPath().length() + 1)
-            .replace(File.separatorChar, '/');
+    /**
+     * Builds the URL of a file below the root without touching the file system.
+     */
+    private static URL toURL(String rootUri, String relativePath) throws IOException {
+        try {
+            String path = new URI(null, null, "/" + relativePath, null).getRawPath();
+            return new URL(rootUri + path.substring(1));
+        }
+        catch (URISyntaxException exc) {
+            throw new IOException(exc);
+        }
     }
-
 }
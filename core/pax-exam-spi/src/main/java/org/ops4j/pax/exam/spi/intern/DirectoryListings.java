@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.intern;
+
+import java.io.IOException;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Directory listings remembered for the lifetime of an exam system, so that probes built later in
+ * the same test run only list again the directories modified in the meantime.
+ * <p>
+ * A listing is reused while the modification time of its directory is unchanged. Since file
+ * systems may store modification times with a coarse resolution, a directory modified shortly
+ * before it was listed may change again without a new modification time. Such listings are not
+ * remembered.
+ *
+ * @since 5.0.0
+ */
+public class DirectoryListings {
+
+    /** Listings of directories modified less than this before the listing are not remembered. */
+    static final long RACY_MILLIS = 2000;
+
+    private final Map<Path, Listing> listings = new ConcurrentHashMap<Path, Listing>();
+
+    /**
+     * Returns the listing of the given directory. Hidden files are skipped, and an unreadable
+     * directory has an empty listing.
+     *
+     * @param dir
+     *            canonical directory path
+     * @return listing of the directory
+     * @throws IOException
+     *             on I/O error
+     */
+    Listing list(Path dir) throws IOException {
+        long now = System.currentTimeMillis();
+        FileTime modified = Files.getLastModifiedTime(dir);
+        Listing listing = listings.get(dir);
+        if (listing != null && listing.modified.equals(modified)) {
+            return listing;
+        }
+        List<String> files = new ArrayList<String>();
+        List<String> directories = new ArrayList<String>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(dir)) {
+            for (Path entry : entries) {
+                String name = entry.getFileName().toString();
+                if (Files.isDirectory(entry)) {
+                    directories.add(name);
+                }
+                else if (!Files.isHidden(entry)) {
+                    files.add(name);
+                }
+            }
+        }
+        catch (AccessDeniedException exc) {
+            // unreadable directories are skipped
+            return new Listing(modified, Collections.<String> emptyList(),
+                Collections.<String> emptyList());
+        }
+        listing = new Listing(modified, files, directories);
+        if (modified.toMillis() < now - RACY_MILLIS) {
+            listings.put(dir, listing);
+        }
+        else {
+            listings.remove(dir);
+        }
+        return listing;
+    }
+
+    /**
+     * Names of the files and subdirectories of a directory.
+     */
+    static class Listing {
+
+        final List<String> files;
+        final List<String> directories;
+        private final FileTime modified;
+
+        Listing(FileTime modified, List<String> files, List<String> directories) {
+            this.modified = modified;
+            this.files = files;
+            this.directories = directories;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.intern;
+
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STAGING_THREADS_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STAGING_THREADS_KEY;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the staging steps of a reactor (creating, starting and provisioning test containers) for a
+ * list of items.
+ * <p>
+ * With a single thread, the items are processed one after another on the calling thread and the
+ * first failure is propagated unchanged. With more threads, the items are processed on a bounded
+ * pool. All items are processed even if some of them fail, and all failures are reported together
+ * by a single {@link TestContainerException} carrying the individual failures as suppressed
+ * exceptions. Results are always returned in the order of the input items.
+ *
+ * @since 5.0.0
+ */
+public class StagingExecutor {
+
+    /**
+     * A staging step for a single item.
+     *
+     * @param <S>
+     *            input type
+     * @param <T>
+     *            result type
+     */
+    public interface Step<S, T> {
+
+        T apply(S item) throws Exception;
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(StagingExecutor.class);
+
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    private final int threads;
+
+    /**
+     * Creates a staging executor with the given maximum number of threads.
+     *
+     * @param threads
+     *            maximum number of threads, values less than 2 select sequential staging
+     */
+    public StagingExecutor(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Creates a staging executor configured by
+     * {@link org.ops4j.pax.exam.Constants#EXAM_REACTOR_STAGING_THREADS_KEY}.
+     *
+     * @return staging executor
+     */
+    public static StagingExecutor fromConfiguration() {
+        ConfigurationManager cm = new ConfigurationManager();
+        String value = cm.getProperty(EXAM_REACTOR_STAGING_THREADS_KEY,
+            EXAM_REACTOR_STAGING_THREADS_DEFAULT);
+        try {
+            return new StagingExecutor(Integer.parseInt(value.trim()));
+        }
+        catch (NumberFormatException exc) {
+            throw new TestContainerException("illegal value for "
+                + EXAM_REACTOR_STAGING_THREADS_KEY + ": " + value, exc);
+        }
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Applies the given step to all items.
+     *
+     * @param items
+     *            items to be processed
+     * @param step
+     *            step to be applied to each item
+     * @param description
+     *            short description of the step, used in failure messages
+     * @return results in the order of the items
+     */
+    public <S, T> List<T> map(List<S> items, Step<S, T> step, String description) {
+        int poolSize = Math.min(threads, items.size());
+        if (poolSize < 2) {
+            return mapSequentially(items, step);
+        }
+        LOG.debug("{} of {} items using {} threads",
+            new Object[] { description, items.size(), poolSize });
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize, r -> {
+            Thread thread = new Thread(r, "pax-exam-staging-" + THREAD_COUNT.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<T>> futures = new ArrayList<>(items.size());
+            for (S item : items) {
+                futures.add(executor.submit(() -> step.apply(item)));
+            }
+            return collect(futures, description);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Applies the given step to all items, ignoring any results.
+     *
+     * @param items
+     *            items to be processed
+     * @param step
+     *            step to be applied to each item
+     * @param description
+     *            short description of the step, used in failure messages
+     */
+    public <S> void forEach(List<S> items, Step<S, ?> step, String description) {
+        map(items, step, description);
+    }
+
+    private <S, T> List<T> mapSequentially(List<S> items, Step<S, T> step) {
+        List<T> results = new ArrayList<>(items.size());
+        for (S item : items) {
+            try {
+                results.add(step.apply(item));
+            }
+            catch (RuntimeException exc) {
+                throw exc;
+            }
+            // CHECKSTYLE:SKIP : Step may throw any exception
+            catch (Exception exc) {
+                throw new TestContainerException(exc);
+            }
+        }
+        return results;
+    }
+
+    private <T> List<T> collect(List<Future<T>> futures, String description) {
+        List<T> results = new ArrayList<>(futures.size());
+        List<Throwable> failures = new ArrayList<>();
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            }
+            catch (ExecutionException exc) {
+                failures.add(exc.getCause());
+                results.add(null);
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+                throw new TestContainerException(description + " interrupted", exc);
+            }
+        }
+        if (failures.size() == 1) {
+            Throwable failure = failures.get(0);
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            }
+            if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw new TestContainerException(description + " failed", failure);
+        }
+        if (!failures.isEmpty()) {
+            TestContainerException exc = new TestContainerException(description + " failed for "
+                + failures.size() + " of " + futures.size() + " items");
+            for (Throwable failure : failures) {
+                exc.addSuppressed(failure);
+            }
+            throw exc;
+        }
+        return results;
+    }
+}
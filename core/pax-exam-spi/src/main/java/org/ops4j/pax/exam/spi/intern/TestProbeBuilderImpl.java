@@ -22,44 +22,123 @@ import static org.ops4j.pax.tinybundles.core.TinyBundles.bundle;
 import static org.ops4j.pax.tinybundles.core.TinyBundles.withClassicBuilder;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
 
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestProbeBuilder;
 import org.ops4j.pax.exam.TestProbeProvider;
 import org.ops4j.pax.exam.spi.ContentCollector;
 import org.ops4j.pax.tinybundles.core.TinyBundle;
+import org.ops4j.store.Handle;
 import org.ops4j.store.Store;
 import org.osgi.framework.Constants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Default implementation allows you to dynamically create a probe from current classpath.
+ * <p>
+ * Probes are cached by a digest of their headers and collected resources. For file resources, the
+ * digest covers path, size and modification time, for all other resources the content. Resources
+ * are collected and digested once per builder and set of anchors. An unchanged probe is built only
+ * once per builder. When a probe cache folder is given, the probe jars are also kept in this folder
+ * and reused by subsequent test runs.
+ * <p>
+ * The symbolic name of the probe is not part of the digest. Each builder has its own symbolic name,
+ * which is written into the manifest of a probe taken from the probe cache folder, so that probes of
+ * different builders can be installed side by side. The builder keeps its own copy of each probe
+ * jar, so the name is written only once, and a probe removed from the store is copied back from
+ * this jar.
  *
  * @author Toni Menzel
  * @since Dec 2, 2009
  */
 public class TestProbeBuilderImpl implements TestProbeBuilder {
 
+    private static final Logger LOG = LoggerFactory.getLogger(TestProbeBuilderImpl.class);
+
+    /** Maximum number of probe jars kept in the probe cache folder. */
+    private static final int MAX_CACHED_PROBES = 16;
+
+    private static final String PROBE_SUFFIX = ".jar";
+
     private final List<Class<?>> anchors;
     private final Properties extraProperties;
     private final Set<String> ignorePackages = new HashSet<String>();
     private File tempDir;
     private final Store<InputStream> store;
+    private final File probeCache;
+    private final DirectoryListings listings;
+    private final Map<String, Handle> builtProbes = new HashMap<String, Handle>();
+    private final Map<String, File> probeCopies = new HashMap<String, File>();
+    private Map<String, URL> resources;
+    private String resourceDigest;
+    private final String defaultSymbolicName = "PAXEXAM-PROBE-" + UUID.randomUUID();
 
     public TestProbeBuilderImpl(File tempDir, Store<InputStream> store) throws IOException {
+        this(tempDir, store, null);
+    }
+
+    /**
+     * @param tempDir
+     *            temporary directory
+     * @param store
+     *            store for the probe jars
+     * @param probeCache
+     *            folder for probe jars to be reused across test runs, or null
+     * @throws IOException
+     *             when the builder cannot be created
+     */
+    public TestProbeBuilderImpl(File tempDir, Store<InputStream> store, File probeCache)
+        throws IOException {
+        this(tempDir, store, probeCache, new DirectoryListings());
+    }
+
+    /**
+     * @param tempDir
+     *            temporary directory
+     * @param store
+     *            store for the probe jars
+     * @param probeCache
+     *            folder for probe jars to be reused across test runs, or null
+     * @param listings
+     *            directory listings shared by all probes of the test run
+     * @throws IOException
+     *             when the builder cannot be created
+     */
+    public TestProbeBuilderImpl(File tempDir, Store<InputStream> store, File probeCache,
+        DirectoryListings listings) throws IOException {
         this.anchors = new ArrayList<Class<?>>();
         this.tempDir = tempDir;
         this.store = store;
+        this.probeCache = probeCache;
+        this.listings = listings;
         extraProperties = new Properties();
     }
 
@@ -70,6 +149,7 @@ public class TestProbeBuilderImpl implements TestProbeBuilder {
 
     public TestProbeBuilder addAnchor(Class<?> clazz) {
         anchors.add(clazz);
+        resources = null;
         return this;
     }
 
@@ -87,16 +167,36 @@ public class TestProbeBuilderImpl implements TestProbeBuilder {
         for (Class<?> c : classes) {
             ignorePackages.add(c.getPackage().getName());
         }
+        resources = null;
 
         return this;
     }
 
     @Override
-    public TestProbeProvider build() {
+    public synchronized TestProbeProvider build() {
         try {
-            TinyBundle bundle = prepareProbeBundle(createExtraIgnores());
-            return new DefaultTestProbeProvider(store,
-                store.store(bundle.build(withClassicBuilder())));
+            Properties ignores = createExtraIgnores();
+            if (resources == null) {
+                resources = collectResources();
+                resourceDigest = computeResourceDigest(resources);
+            }
+            String digest = computeDigest(ignores);
+            String key = digest + "/" + getSymbolicName();
+            Handle probe = builtProbes.get(key);
+            if (probe == null || !isStored(probe)) {
+                probe = loadProbeCopy(key);
+                if (probe == null) {
+                    probe = loadCachedProbe(digest);
+                    if (probe == null) {
+                        TinyBundle bundle = prepareProbeBundle(ignores, resources);
+                        probe = store.store(bundle.build(withClassicBuilder()));
+                        cacheProbe(digest, probe);
+                    }
+                    copyProbe(key, probe);
+                }
+                builtProbes.put(key, probe);
+            }
+            return new DefaultTestProbeProvider(store, probe);
 
         }
         catch (IOException e) {
@@ -104,11 +204,63 @@ public class TestProbeBuilderImpl implements TestProbeBuilder {
         }
     }
 
-    private TinyBundle prepareProbeBundle(Properties p) throws IOException {
+    /**
+     * Stores the copy of the given probe kept by this builder.
+     *
+     * @return handle of the probe, or null if this builder has no copy
+     */
+    private Handle loadProbeCopy(String key) throws IOException {
+        File copy = probeCopies.get(key);
+        if (copy == null || !copy.isFile()) {
+            return null;
+        }
+        try (InputStream is = new FileInputStream(copy)) {
+            return store.store(is);
+        }
+    }
+
+    /**
+     * Keeps a copy of the given probe outside of the store, which is cleared with the exam system.
+     */
+    private void copyProbe(String key, Handle probe) {
+        try {
+            Path copy = Files.createTempFile("paxexam-probe", PROBE_SUFFIX);
+            copy.toFile().deleteOnExit();
+            try (InputStream is = store.load(probe)) {
+                Files.copy(is, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            File previous = probeCopies.put(key, copy.toFile());
+            if (previous != null) {
+                previous.delete();
+            }
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot copy probe " + probe.getIdentification(), exc);
+        }
+    }
+
+    /**
+     * @return true if the jar of the given probe can still be loaded from the store, which may have
+     *         been cleared by an exam system
+     */
+    private boolean isStored(Handle probe) {
+        try (InputStream is = store.load(probe)) {
+            return true;
+        }
+        catch (IOException exc) {
+            return false;
+        }
+    }
+
+    private String getSymbolicName() {
+        return extraProperties.getProperty(Constants.BUNDLE_SYMBOLICNAME, defaultSymbolicName);
+    }
+
+    private TinyBundle prepareProbeBundle(Properties p, Map<String, URL> map) {
         TinyBundle bundle = bundle(store).set(Constants.DYNAMICIMPORT_PACKAGE, "*");
 
         bundle.set(PROBE_EXECUTABLE, "");
-        bundle.set(Constants.BUNDLE_SYMBOLICNAME, "");
+        bundle.set(Constants.BUNDLE_SYMBOLICNAME, defaultSymbolicName);
         bundle.set(Constants.BUNDLE_MANIFESTVERSION, "2");
         for (Object key : extraProperties.keySet()) {
             bundle.set((String) key, (String) extraProperties.get(key));
@@ -117,13 +269,161 @@ public class TestProbeBuilderImpl implements TestProbeBuilder {
             bundle.set((String) key, (String) p.get(key));
         }
 
-        Map<String, URL> map = collectResources();
         for (String item : map.keySet()) {
             bundle.add(item, map.get(item));
         }
         return bundle;
     }
 
+    private String computeDigest(Properties ignores) {
+        MessageDigest digest = createDigest();
+        Map<Object, Object> headers = new TreeMap<Object, Object>(extraProperties);
+        headers.putAll(ignores);
+        headers.remove(Constants.BUNDLE_SYMBOLICNAME);
+        update(digest, headers.toString());
+        update(digest, resourceDigest);
+        return toHex(digest);
+    }
+
+    private static String computeResourceDigest(Map<String, URL> resources) throws IOException {
+        MessageDigest digest = createDigest();
+        for (Map.Entry<String, URL> entry : new TreeMap<String, URL>(resources).entrySet()) {
+            update(digest, entry.getKey());
+            URL url = entry.getValue();
+            if ("file".equals(url.getProtocol())) {
+                File file = toFile(url);
+                update(digest, file.length() + ":" + file.lastModified());
+            }
+            else {
+                try (InputStream is = url.openStream()) {
+                    byte[] buffer = new byte[8192];
+                    int n;
+                    while ((n = is.read(buffer)) != -1) {
+                        digest.update(buffer, 0, n);
+                    }
+                }
+            }
+        }
+        return toHex(digest);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+
+    private static String toHex(MessageDigest digest) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        }
+        catch (URISyntaxException exc) {
+            return new File(url.getPath());
+        }
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private Handle loadCachedProbe(String digest) {
+        if (probeCache == null) {
+            return null;
+        }
+        File cached = new File(probeCache, digest + PROBE_SUFFIX);
+        if (!cached.isFile()) {
+            return null;
+        }
+        try {
+            Path renamed = Files.createTempFile(probeCache.toPath(), digest, ".tmp");
+            try {
+                setSymbolicName(cached, renamed.toFile(), getSymbolicName());
+                try (InputStream is = Files.newInputStream(renamed)) {
+                    Handle probe = store.store(is);
+                    cached.setLastModified(System.currentTimeMillis());
+                    LOG.debug("using cached probe {}", cached);
+                    return probe;
+                }
+            }
+            finally {
+                Files.deleteIfExists(renamed);
+            }
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot read cached probe " + cached, exc);
+            return null;
+        }
+    }
+
+    /**
+     * Copies a probe jar, replacing the symbolic name in its manifest.
+     */
+    private static void setSymbolicName(File source, File target, String symbolicName)
+        throws IOException {
+        try (JarInputStream jis = new JarInputStream(new FileInputStream(source), false)) {
+            Manifest manifest = jis.getManifest();
+            if (manifest == null) {
+                throw new IOException("no manifest in " + source);
+            }
+            manifest.getMainAttributes().putValue(Constants.BUNDLE_SYMBOLICNAME, symbolicName);
+            try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(target),
+                manifest)) {
+                byte[] buffer = new byte[8192];
+                JarEntry entry;
+                while ((entry = jis.getNextJarEntry()) != null) {
+                    jos.putNextEntry(new JarEntry(entry.getName()));
+                    int n;
+                    while ((n = jis.read(buffer)) != -1) {
+                        jos.write(buffer, 0, n);
+                    }
+                    jos.closeEntry();
+                }
+            }
+        }
+    }
+
+    private void cacheProbe(String digest, Handle probe) {
+        if (probeCache == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(probeCache.toPath());
+            Path tmp = Files.createTempFile(probeCache.toPath(), digest, ".tmp");
+            try (InputStream is = store.load(probe)) {
+                Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tmp, new File(probeCache, digest + PROBE_SUFFIX).toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+            pruneProbeCache();
+        }
+        catch (IOException exc) {
+            LOG.warn("cannot cache probe in " + probeCache, exc);
+        }
+    }
+
+    private void pruneProbeCache() {
+        File[] probes = probeCache.listFiles((dir, name) -> name.endsWith(PROBE_SUFFIX));
+        if (probes == null || probes.length <= MAX_CACHED_PROBES) {
+            return;
+        }
+        Arrays.sort(probes, Comparator.comparingLong(File::lastModified).reversed());
+        for (int i = MAX_CACHED_PROBES; i < probes.length; i++) {
+            probes[i].delete();
+        }
+    }
+
     private Map<String, URL> collectResources() throws IOException {
         ContentCollector collector = selectCollector();
         Map<String, URL> map = new HashMap<String, URL>();
@@ -170,7 +470,8 @@ public class TestProbeBuilderImpl implements TestProbeBuilder {
         File root = findClassesFolder(anchors.get(0));
 
         if (root != null) {
-            return new CompositeCollector(new CollectFromBase(root), new CollectFromItems(anchors));
+            return new CompositeCollector(new CollectFromBase(root, listings),
+                new CollectFromItems(anchors));
         }
         else {
             return new CollectFromItems(anchors);
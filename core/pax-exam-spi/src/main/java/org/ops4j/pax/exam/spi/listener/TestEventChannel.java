@@ -0,0 +1,244 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.listener;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestEvent;
+import org.ops4j.pax.exam.TestEventReader;
+import org.ops4j.pax.exam.TestEventType;
+import org.ops4j.pax.exam.TestListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Receives test events from the probe invoker of a test container.
+ * <p>
+ * The channel listens on a single server socket for the lifetime of the container. The invoker
+ * keeps its connection open across test runs and tags each event with the ID of the run it
+ * belongs to, so events of concurrent runs are dispatched to the right listener. A run is complete
+ * when its {@link TestEventType#RUN_FINISHED} event has been received.
+ * <p>
+ * After a connection failure, the invoker resends its pending events on a new connection. Events
+ * with a sequence number not above the last one received for their run are duplicates and are
+ * dropped.
+ *
+ * @since 5.0.0
+ */
+public class TestEventChannel implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestEventChannel.class);
+
+    private final ServerSocket serverSocket;
+    private final Map<String, Run> runs = new ConcurrentHashMap<>();
+    private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastRunId = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Binds the server socket and starts accepting connections.
+     *
+     * @param port
+     *            port to listen on
+     * @throws IOException
+     *             if the port cannot be bound
+     */
+    public TestEventChannel(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        startThread("TestEventChannel-" + port, this::accept);
+    }
+
+    /**
+     * Registers a new test run.
+     *
+     * @param listener
+     *            listener receiving the events of the run
+     * @return run ID to be passed to the probe invoker
+     */
+    public String register(TestListener listener) {
+        String runId = Long.toString(lastRunId.incrementAndGet());
+        runs.put(runId, new Run(listener));
+        return runId;
+    }
+
+    /**
+     * Waits until all events of the given run have been dispatched.
+     *
+     * @param runId
+     *            run ID
+     * @param timeout
+     *            maximum time to wait
+     */
+    public void await(String runId, RelativeTimeout timeout) {
+        Run run = runs.get(runId);
+        if (run == null) {
+            throw new TestContainerException("unknown test run " + runId);
+        }
+        try {
+            if (!run.finished.await(timeout.getValue(), TimeUnit.MILLISECONDS)) {
+                throw new TestContainerException(
+                    "end of test run " + runId + " not received within " + timeout);
+            }
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            throw new TestContainerException(exc);
+        }
+    }
+
+    /**
+     * Removes the given run. Events of this run received later on are dropped.
+     *
+     * @param runId
+     *            run ID
+     */
+    public void unregister(String runId) {
+        runs.remove(runId);
+    }
+
+    /**
+     * @return the local port of this channel
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        serverSocket.close();
+        for (Socket socket : connections) {
+            socket.close();
+        }
+    }
+
+    private void accept() {
+        while (!closed) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.add(socket);
+                startThread("TestEventChannel-" + socket.getPort(), () -> read(socket));
+            }
+            catch (IOException exc) {
+                if (!closed) {
+                    LOG.error("cannot accept test event connection", exc);
+                }
+                return;
+            }
+        }
+    }
+
+    private void read(Socket socket) {
+        try (TestEventReader reader = new TestEventReader(socket.getInputStream())) {
+            TestEvent event = reader.read();
+            while (event != null && !closed) {
+                handleEvent(event);
+                event = reader.read();
+            }
+        }
+        catch (EOFException | SocketException exc) {
+            // connection closed by invoker or by this channel
+        }
+        catch (IOException exc) {
+            LOG.error("cannot read test events", exc);
+        }
+        finally {
+            connections.remove(socket);
+        }
+    }
+
+    private void handleEvent(TestEvent event) {
+        Run run = findRun(event.getRunId());
+        if (run == null) {
+            LOG.warn("dropping {} event of unknown test run {}", event.getType(),
+                event.getRunId());
+            return;
+        }
+        synchronized (run) {
+            long sequence = event.getSequence();
+            if (sequence != 0) {
+                if (sequence <= run.lastSequence) {
+                    LOG.debug("dropping duplicate {} event of test run {}", event.getType(),
+                        event.getRunId());
+                    return;
+                }
+                run.lastSequence = sequence;
+            }
+            if (event.getType() == TestEventType.RUN_FINISHED) {
+                run.finished.countDown();
+                return;
+            }
+            try {
+                TestListenerTask.dispatch(event, run.listener);
+            }
+            // CHECKSTYLE:SKIP
+            catch (RuntimeException exc) {
+                LOG.error("test listener failed", exc);
+            }
+        }
+    }
+
+    /**
+     * Events without a run ID are sent by invokers which do not support multiplexing. They can
+     * only be assigned if there is exactly one active run.
+     */
+    private Run findRun(String runId) {
+        if (runId != null) {
+            return runs.get(runId);
+        }
+        Iterator<Run> it = runs.values().iterator();
+        if (it.hasNext()) {
+            Run run = it.next();
+            if (!it.hasNext()) {
+                return run;
+            }
+        }
+        return null;
+    }
+
+    private static void startThread(String name, Runnable runnable) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static class Run {
+
+        private final TestListener listener;
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private long lastSequence;
+
+        Run(TestListener listener) {
+            this.listener = listener;
+        }
+    }
+}
@@ -17,10 +17,8 @@
  */
 package org.ops4j.pax.exam.spi.listener;
 
-import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.ObjectInputStream;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.concurrent.ExecutionException;
@@ -28,6 +26,7 @@ import java.util.concurrent.Future;
 
 import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestEvent;
+import org.ops4j.pax.exam.TestEventReader;
 import org.ops4j.pax.exam.TestFailure;
 import org.ops4j.pax.exam.TestListener;
 import org.ops4j.pax.exam.util.Exceptions;
@@ -57,37 +56,27 @@ public class TestListenerTask implements Runnable {
 
     @Override
     public void run() {
-        try (ObjectInputStream ois = openObjectInputStream()) {
-            while (!closed) {
-                Object obj = ois.readObject();
-                if (obj instanceof TestEvent) {
-                    TestEvent event = (TestEvent) obj;
-                    handleEvent(event);
-                }
+        try (TestEventReader reader = openReader()) {
+            TestEvent event = reader.read();
+            while (event != null && !closed) {
+                dispatch(event, delegate);
+                event = reader.read();
             }
-        }
-        catch (EOFException exc) {
             closed = true;
         }
-        catch (ClassNotFoundException | IOException exc) {
+        catch (IOException exc) {
             throw new TestContainerException(exc);
         }
     }
 
-    /**
-     * @return
-     * @throws IOException
-     * @throws ExecutionException
-     * @throws InterruptedException
-     */
-    private ObjectInputStream openObjectInputStream() throws IOException {
+    private TestEventReader openReader() throws IOException {
         if (serverSocket != null) {
             Socket socket = serverSocket.accept();
-            return new ObjectInputStream(socket.getInputStream());
+            return new TestEventReader(socket.getInputStream());
         }
         else {
             try {
-                return new ObjectInputStream(isFuture.get());
+                return new TestEventReader(isFuture.get());
             }
             catch (InterruptedException | ExecutionException exc) {
                 throw Exceptions.unchecked(exc);
@@ -96,9 +85,14 @@ public class TestListenerTask implements Runnable {
     }
 
     /**
+     * Forwards the given event to a listener.
+     *
      * @param event
+     *            test event
+     * @param delegate
+     *            listener receiving the event
      */
-    private void handleEvent(TestEvent event) {
+    static void dispatch(TestEvent event, TestListener delegate) {
         switch (event.getType()) {
             case TEST_ASSUMPTION_FAILED:
                 delegate.testAssumptionFailure(
@@ -116,6 +110,8 @@ public class TestListenerTask implements Runnable {
             case TEST_STARTED:
                 delegate.testStarted(event.getDescription());
                 break;
+            case RUN_FINISHED:
+                break;
             default:
                 throw new IllegalStateException(event.getType().toString());
         }
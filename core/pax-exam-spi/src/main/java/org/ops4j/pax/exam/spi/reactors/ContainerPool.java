@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_POOL_SIZE_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_POOL_SIZE_KEY;
+import static org.ops4j.pax.exam.OptionUtils.expand;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of running test containers which are currently not used by any test class. Containers are
+ * keyed by their configuration, see {@link #keyOf(ExamSystem, Option[])}.
+ * <p>
+ * The pool keeps at most {@link org.ops4j.pax.exam.Constants#EXAM_REACTOR_POOL_SIZE_KEY} idle
+ * containers and stops the least recently used one when this limit is exceeded. All idle
+ * containers are stopped by {@link #clear()}, at the latest when the virtual machine exits.
+ *
+ * @since 5.0.0
+ */
+class ContainerPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContainerPool.class);
+
+    private static ContainerPool instance;
+
+    private final int maxIdle;
+
+    /** Idle containers in access order, the least recently used container comes first. */
+    private final Map<Key, TestContainer> idle = new LinkedHashMap<>(16, 0.75f, true);
+
+    ContainerPool(int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * Returns the singleton pool, configured by the Pax Exam configuration properties.
+     *
+     * @return container pool
+     */
+    static synchronized ContainerPool getInstance() {
+        if (instance == null) {
+            ConfigurationManager cm = new ConfigurationManager();
+            String maxIdle = cm.getProperty(EXAM_REACTOR_POOL_SIZE_KEY,
+                EXAM_REACTOR_POOL_SIZE_DEFAULT);
+            try {
+                instance = new ContainerPool(Integer.parseInt(maxIdle.trim()));
+            }
+            catch (NumberFormatException exc) {
+                throw new TestContainerException("illegal value for "
+                    + EXAM_REACTOR_POOL_SIZE_KEY + ": " + maxIdle, exc);
+            }
+            Runtime.getRuntime().addShutdownHook(
+                new Thread(instance::clear, "pax-exam-container-pool"));
+        }
+        return instance;
+    }
+
+    /**
+     * Computes the pool key for a configuration of the given exam system. Two keys are equal if
+     * they belong to the same exam system and the expanded options are equal, like in
+     * {@code DefaultExamSystem.equals()}. Options without {@code equals()} are only equal to
+     * themselves, so that the container will never be reused by a different test class.
+     *
+     * @param system
+     *            exam system to be forked for the configuration
+     * @param configuration
+     *            user configuration
+     * @return pool key
+     */
+    static Key keyOf(ExamSystem system, Option[] configuration) {
+        return new Key(system, expand(configuration));
+    }
+
+    /**
+     * Takes an idle container with the given key out of the pool.
+     *
+     * @param key
+     *            pool key
+     * @return running container, or null
+     */
+    synchronized TestContainer acquire(Key key) {
+        TestContainer container = idle.remove(key);
+        if (container != null) {
+            LOG.debug("reusing container {}", container);
+        }
+        return container;
+    }
+
+    /**
+     * Returns a running container to the pool. Evicted containers are stopped.
+     *
+     * @param key
+     *            pool key
+     * @param container
+     *            running container without probes
+     */
+    void release(Key key, TestContainer container) {
+        List<TestContainer> evicted = new ArrayList<>();
+        synchronized (this) {
+            TestContainer previous = idle.put(key, container);
+            if (previous != null) {
+                evicted.add(previous);
+            }
+            Iterator<TestContainer> it = idle.values().iterator();
+            while (idle.size() > maxIdle) {
+                evicted.add(it.next());
+                it.remove();
+            }
+        }
+        evicted.forEach(ContainerPool::stop);
+    }
+
+    /**
+     * Stops all idle containers.
+     */
+    void clear() {
+        List<TestContainer> containers;
+        synchronized (this) {
+            containers = new ArrayList<>(idle.values());
+            idle.clear();
+        }
+        containers.forEach(ContainerPool::stop);
+    }
+
+    synchronized int size() {
+        return idle.size();
+    }
+
+    static void stop(TestContainer container) {
+        LOG.debug("stopping container {}", container);
+        try {
+            container.stop();
+        }
+        catch (IOException | RuntimeException exc) {
+            LOG.warn("cannot stop container " + container, exc);
+        }
+    }
+
+    /**
+     * Pool key of a configuration.
+     */
+    static final class Key {
+
+        private final ExamSystem system;
+        private final Option[] options;
+
+        private Key(ExamSystem system, Option[] options) {
+            this.system = system;
+            this.options = options;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(system) + Arrays.hashCode(options);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return system == other.system && Arrays.equals(options, other.options);
+        }
+    }
+}
@@ -18,6 +18,8 @@
 package org.ops4j.pax.exam.spi.reactors;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.ops4j.pax.exam.TestContainer;
@@ -25,7 +27,9 @@ import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.TestListener;
 import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
 import org.ops4j.pax.exam.spi.StagedExamReactor;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +44,8 @@ public class EagerSingleStagedReactor implements StagedExamReactor {
 
     private final List<TestContainer> targetContainer;
     private final List<TestProbeBuilder> probes;
+    private final StagingExecutor staging;
+    private final List<TestContainer> started = Collections.synchronizedList(new ArrayList<>());
 
     /**
      * @param containers
@@ -48,33 +54,85 @@ public class EagerSingleStagedReactor implements StagedExamReactor {
      *            to be installed on all probes
      */
     public EagerSingleStagedReactor(List<TestContainer> containers, List<TestProbeBuilder> mProbes) {
+        this(containers, mProbes, StagingExecutor.fromConfiguration());
+    }
+
+    /**
+     * @param containers
+     *            to be used
+     * @param mProbes
+     *            to be installed on all probes
+     * @param staging
+     *            executor for starting the containers and installing the probes
+     */
+    public EagerSingleStagedReactor(List<TestContainer> containers, List<TestProbeBuilder> mProbes,
+        StagingExecutor staging) {
         targetContainer = containers;
         probes = mProbes;
+        this.staging = staging;
     }
 
     public void setUp() {
-        for (TestContainer container : targetContainer) {
+        if (targetContainer.isEmpty()) {
+            return;
+        }
+        List<TestProbeProvider> providers = new ArrayList<>();
+        for (TestProbeBuilder builder : probes) {
+            providers.add(builder.build());
+        }
+        try {
+            staging.forEach(targetContainer, container -> {
+                setUp(container, providers);
+                return null;
+            }, "Test-Container Setup");
+        }
+        catch (RuntimeException | Error exc) {
+            stopStarted(exc);
+            throw exc;
+        }
+        started.clear();
+    }
+
+    private void setUp(TestContainer container, List<TestProbeProvider> providers) {
+        try {
+            container.start();
+        }
+        catch (IOException e1) {
+            throw new TestContainerException("Test-Container Setup failed", e1);
+        }
+        started.add(container);
+
+        for (TestProbeProvider provider : providers) {
+            LOG.debug("installing probe " + provider);
+
             try {
-                container.start();
+                container.installProbe(provider.getStream());
             }
-            catch (IOException e1) {
-                throw new TestContainerException("Test-Container Setup failed", e1);
+            catch (IOException e) {
+                throw new TestContainerException("Unable to build the probe.", e);
             }
+        }
+    }
 
-            for (TestProbeBuilder builder : probes) {
-                LOG.debug("installing probe " + builder);
-
+    /**
+     * Stops the containers started before a failure of another container, so that no container
+     * outlives a failed test class. Failures to stop are added to the original failure.
+     */
+    private void stopStarted(Throwable failure) {
+        synchronized (started) {
+            for (TestContainer container : started) {
                 try {
-                    container.installProbe(builder.build().getStream());
+                    container.stop();
                 }
-                catch (IOException e) {
-                    throw new TestContainerException("Unable to build the probe.", e);
+                // CHECKSTYLE:SKIP : keep stopping the other containers
+                catch (Exception exc) {
+                    failure.addSuppressed(exc);
                 }
             }
+            started.clear();
         }
     }
 
-
     public void tearDown() {
         for (TestContainer container : targetContainer) {
             try {
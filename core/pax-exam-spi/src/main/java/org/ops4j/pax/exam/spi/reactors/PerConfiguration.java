@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import java.util.List;
+
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.spi.ConfigurationAwareStagedExamReactorFactory;
+import org.ops4j.pax.exam.spi.StagedExamReactor;
+
+/**
+ * This reactor factory creates a test reactor which keeps the test containers running after each
+ * test class and reuses them for subsequent test classes with an equivalent configuration. Only
+ * the probe is reinstalled between test classes.
+ *
+ * @since 5.0.0
+ */
+public class PerConfiguration implements ConfigurationAwareStagedExamReactorFactory {
+
+    @Override
+    public StagedExamReactor create(ExamSystem system, List<Option[]> configurations,
+        TestContainerFactory containerFactory, List<TestProbeBuilder> probes) {
+        return new PerConfigurationStagedReactor(system, configurations, containerFactory, probes);
+    }
+
+    /**
+     * Without access to the configurations, containers cannot be reused. This method falls back to
+     * the {@link PerClass} strategy.
+     */
+    @Override
+    public StagedExamReactor create(List<TestContainer> containers, List<TestProbeBuilder> probes) {
+        return new EagerSingleStagedReactor(containers, probes);
+    }
+}
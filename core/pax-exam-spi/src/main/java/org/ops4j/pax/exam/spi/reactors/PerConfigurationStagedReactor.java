@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestListener;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
+import org.ops4j.pax.exam.spi.StagedExamReactor;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A reactor which behaves like {@link EagerSingleStagedReactor}, but does not stop the test
+ * containers after each test class. The containers are kept running in a {@link ContainerPool}
+ * and are reused by the next test class with an equivalent configuration. Between test classes,
+ * only the probes are uninstalled and reinstalled.
+ * <p>
+ * Containers which cannot uninstall a probe are stopped after each class.
+ *
+ * @since 5.0.0
+ */
+public class PerConfigurationStagedReactor implements StagedExamReactor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerConfigurationStagedReactor.class);
+
+    private final ExamSystem system;
+    private final List<Option[]> configurations;
+    private final TestContainerFactory containerFactory;
+    private final List<TestProbeBuilder> probes;
+    private final ContainerPool pool;
+    private final StagingExecutor staging;
+    private final List<ContainerPool.Key> keys = new ArrayList<>();
+
+    private List<TestContainer> containers = Collections.emptyList();
+
+    /**
+     * @param system
+     *            exam system to be forked for each configuration
+     * @param configurations
+     *            user configurations, one per test container
+     * @param containerFactory
+     *            factory for creating test containers not found in the pool
+     * @param probes
+     *            to be installed on all containers
+     */
+    public PerConfigurationStagedReactor(ExamSystem system, List<Option[]> configurations,
+        TestContainerFactory containerFactory, List<TestProbeBuilder> probes) {
+        this(system, configurations, containerFactory, probes, ContainerPool.getInstance(),
+            StagingExecutor.fromConfiguration());
+    }
+
+    PerConfigurationStagedReactor(ExamSystem system, List<Option[]> configurations,
+        TestContainerFactory containerFactory, List<TestProbeBuilder> probes, ContainerPool pool,
+        StagingExecutor staging) {
+        this.system = system;
+        this.configurations = configurations;
+        this.containerFactory = containerFactory;
+        this.probes = probes;
+        this.pool = pool;
+        this.staging = staging;
+        for (Option[] configuration : configurations) {
+            keys.add(ContainerPool.keyOf(system, configuration));
+        }
+    }
+
+    @Override
+    public void beforeSuite() {
+    }
+
+    @Override
+    public void beforeClass() {
+        List<TestProbeProvider> providers = new ArrayList<>();
+        for (TestProbeBuilder builder : probes) {
+            providers.add(builder.build());
+        }
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < configurations.size(); i++) {
+            indexes.add(i);
+        }
+        containers = staging.map(indexes, i -> setUp(i, providers), "Test-Container Setup");
+    }
+
+    private TestContainer setUp(int index, List<TestProbeProvider> providers) {
+        TestContainer container = pool.acquire(keys.get(index));
+        if (container == null) {
+            container = containerFactory.create(system.fork(configurations.get(index)));
+            try {
+                container.start();
+            }
+            catch (IOException exc) {
+                throw new TestContainerException("Test-Container Setup failed", exc);
+            }
+        }
+        try {
+            for (TestProbeProvider provider : providers) {
+                LOG.debug("installing probe " + provider);
+                container.installProbe(provider.getStream());
+            }
+        }
+        catch (IOException | RuntimeException exc) {
+            ContainerPool.stop(container);
+            throw new TestContainerException("Unable to install the probe.", exc);
+        }
+        return container;
+    }
+
+    @Override
+    public void afterClass() {
+        for (int i = 0; i < containers.size(); i++) {
+            TestContainer container = containers.get(i);
+            if (!container.supportsProbeUninstall()) {
+                LOG.debug("container {} cannot uninstall probes and will not be reused", container);
+                ContainerPool.stop(container);
+                continue;
+            }
+            try {
+                container.uninstallProbe();
+                pool.release(keys.get(i), container);
+            }
+            catch (RuntimeException exc) {
+                LOG.warn("cannot uninstall probe from " + container, exc);
+                ContainerPool.stop(container);
+            }
+        }
+        containers = Collections.emptyList();
+    }
+
+    @Override
+    public void afterSuite() {
+        pool.clear();
+    }
+
+    @Override
+    public void runTest(TestDescription description, TestListener listener) throws Exception {
+        assert (description != null) : "TestDescription must not be null.";
+
+        if (description.getMethodName() != null) {
+            return;
+        }
+
+        TestContainer testContainer = containers.get(0);
+        testContainer.runTest(description, listener);
+    }
+}
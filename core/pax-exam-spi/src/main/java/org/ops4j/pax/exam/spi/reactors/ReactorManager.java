@@ -19,8 +19,10 @@ package org.ops4j.pax.exam.spi.reactors;
 
 import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STRATEGY_KEY;
 import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STRATEGY_PER_CLASS;
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STRATEGY_PER_CONFIGURATION;
 import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STRATEGY_PER_METHOD;
 import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STRATEGY_PER_SUITE;
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_STRATEGY_SHARDED;
 import static org.ops4j.pax.exam.Constants.EXAM_SERVICE_TIMEOUT_DEFAULT;
 import static org.ops4j.pax.exam.Constants.EXAM_SERVICE_TIMEOUT_KEY;
 import static org.ops4j.pax.exam.Constants.EXAM_SYSTEM_CDI;
@@ -34,9 +36,9 @@ import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.ops4j.pax.exam.Configuration;
 import org.ops4j.pax.exam.ConfigurationManager;
@@ -69,8 +71,9 @@ import org.slf4j.LoggerFactory;
  * This class was factored out from the JUnit4TestRunner of Pax Exam 2.x and does not depend on
  * JUnit.
  * <p>
- * TODO check if there are any concurrency issues. Some methods are synchronized, which is just
- * inherited from the 2.1.0 implementation. The use cases are not quite clear.
+ * Test drivers may run test classes concurrently. The current test class, its reactor and its
+ * number of configurations are therefore kept per thread, and the suite start and end are
+ * guarded by this manager's lock.
  *
  * @author Harald Wellmann
  */
@@ -89,11 +92,11 @@ public class ReactorManager {
     /** The system type, which determines the kind of probe to be used. */
     private String systemType;
 
-    /** The current test class. */
-    private Class<?> currentTestClass;
+    /** The current test class of the calling thread. */
+    private final ThreadLocal<Class<?>> currentTestClass = new ThreadLocal<Class<?>>();
 
-    /** The reactor. */
-    private ExamReactor reactor;
+    /** The reactor of the calling thread. */
+    private final ThreadLocal<ExamReactor> reactor = new ThreadLocal<ExamReactor>();
 
     /**
      * A probe builder for the current test probe. A probe builder contains a number of test classes
@@ -108,7 +111,7 @@ public class ReactorManager {
     /**
      * Set of test classes in suite.
      */
-    private Set<Class<?>> testClasses = new HashSet<Class<?>>();
+    private Set<Class<?>> testClasses = ConcurrentHashMap.newKeySet();
 
     /**
      * Has the suite been started? Set to true when the first test class is about to run.
@@ -122,7 +125,7 @@ public class ReactorManager {
 
     private boolean waitForAfterSuiteEvent;
 
-    private int numConfigurations;
+    private final ThreadLocal<Integer> numConfigurations = ThreadLocal.withInitial(() -> 0);
 
     /**
      * Private constructor for singleton.
@@ -131,10 +134,12 @@ public class ReactorManager {
         try {
             cm = new ConfigurationManager();
             system = createExamSystem();
-            reactorStrategies = new HashMap<String, StagedExamReactorFactory>(3);
+            reactorStrategies = new HashMap<String, StagedExamReactorFactory>(5);
             reactorStrategies.put(EXAM_REACTOR_STRATEGY_PER_SUITE, new PerSuite());
             reactorStrategies.put(EXAM_REACTOR_STRATEGY_PER_CLASS, new PerClass());
             reactorStrategies.put(EXAM_REACTOR_STRATEGY_PER_METHOD, new PerMethod());
+            reactorStrategies.put(EXAM_REACTOR_STRATEGY_PER_CONFIGURATION, new PerConfiguration());
+            reactorStrategies.put(EXAM_REACTOR_STRATEGY_SHARDED, new Sharded());
         }
         catch (IOException exc) {
             throw new TestContainerException("cannot create Exam system", exc);
@@ -164,11 +169,13 @@ public class ReactorManager {
      * @return reactor
      */
     public synchronized ExamReactor prepareReactor(Class<?> _testClass, Object testClassInstance) {
-        this.currentTestClass = _testClass;
-        this.reactor = createReactor(_testClass);
+        currentTestClass.set(_testClass);
+        reactor.set(createReactor(_testClass));
         testClasses.add(_testClass);
+        boolean prepared = false;
         try {
             addConfigurationsToReactor(_testClass, testClassInstance);
+            prepared = true;
         }
         catch (IllegalAccessException exc) {
             throw new TestContainerException(exc);
@@ -182,17 +189,37 @@ public class ReactorManager {
                 throw new TestContainerException(cause);
             }
         }
-        return reactor;
+        finally {
+            if (!prepared) {
+                clearThreadState();
+            }
+        }
+        return reactor.get();
     }
 
     /**
-     * Stages the reactor for the current class.
+     * Stages the reactor for the current class. This ends the preparation of the reactor by the
+     * calling thread, so the per-thread state is released.
      *
      * @return staged reactor
      */
     public StagedExamReactor stageReactor() {
-        StagedExamReactor stagedReactor = reactor.stage(getStagingFactory(currentTestClass));
-        return stagedReactor;
+        try {
+            return reactor.get().stage(getStagingFactory(currentTestClass.get()));
+        }
+        finally {
+            clearThreadState();
+        }
+    }
+
+    /**
+     * Releases the test class and reactor of the calling thread, so that they are not kept alive
+     * by a pooled thread.
+     */
+    private void clearThreadState() {
+        currentTestClass.remove();
+        reactor.remove();
+        numConfigurations.remove();
     }
 
     private ExamSystem createExamSystem() throws IOException {
@@ -227,15 +254,16 @@ public class ReactorManager {
      */
     private void addConfigurationsToReactor(Class<?> testClass, Object testClassInstance)
         throws IllegalAccessException, InvocationTargetException {
-        numConfigurations = 0;
+        int configurations = 0;
         Method[] methods = testClass.getMethods();
         for (Method m : methods) {
             if (isConfiguration(m)) {
                 // consider as option, so prepare that one:
-                reactor.addConfiguration(((Option[]) m.invoke(testClassInstance)));
-                numConfigurations++;
+                reactor.get().addConfiguration(((Option[]) m.invoke(testClassInstance)));
+                configurations++;
             }
         }
+        numConfigurations.set(configurations);
         failOnUnusedConfiguration(testClass.getDeclaredMethods());
     }
 
@@ -248,12 +276,13 @@ public class ReactorManager {
     }
 
     /**
-     * Returns the number of configurations for the current reactor.
+     * Returns the number of configurations for the reactor prepared by the calling thread and not
+     * yet staged.
      *
      * @return number of configurations
      */
     public int getNumConfigurations() {
-        return numConfigurations;
+        return numConfigurations.get();
     }
 
     private boolean isConfiguration(Method m) {
@@ -317,12 +346,12 @@ public class ReactorManager {
      * @throws IOException when probe cannot be created
      * @throws ExamConfigurationException when user-defined probe cannot be created
      */
-    public TestProbeBuilder createProbeBuilder(Object testClassInstance) throws IOException,
-        ExamConfigurationException {
+    public synchronized TestProbeBuilder createProbeBuilder(Object testClassInstance)
+        throws IOException, ExamConfigurationException {
         if (defaultProbeBuilder == null) {
             defaultProbeBuilder = system.createProbe();
         }
-        TestProbeBuilder probeBuilder = overwriteWithUserDefinition(currentTestClass,
+        TestProbeBuilder probeBuilder = overwriteWithUserDefinition(currentTestClass.get(),
             testClassInstance);
         if (probeBuilder.getTempDir() == null) {
             probeBuilder.setTempDir(defaultProbeBuilder.getTempDir());
@@ -370,32 +399,36 @@ public class ReactorManager {
         return systemType;
     }
 
-    public void beforeSuite(StagedExamReactor stagedReactor) {
+    public synchronized void beforeSuite(StagedExamReactor stagedReactor) {
         stagedReactor.beforeSuite();
         suiteStarted = true;
         waitForAfterSuiteEvent = true;
     }
 
-    public void afterSuite(StagedExamReactor stagedReactor) {
+    public synchronized void afterSuite(StagedExamReactor stagedReactor) {
         waitForAfterSuiteEvent = false;
         stagedReactor.afterSuite();
     }
 
     public void afterClass(StagedExamReactor stagedReactor, Class<?> klass) {
         stagedReactor.afterClass();
-        testClasses.remove(klass);
-        if (!waitForAfterSuiteEvent && testClasses.isEmpty()) {
-            LOG.info("suite finished");
-            stagedReactor.afterSuite();
-            suiteStarted = false;
-            testClasses.clear();
+        synchronized (this) {
+            testClasses.remove(klass);
+            if (!waitForAfterSuiteEvent && testClasses.isEmpty()) {
+                LOG.info("suite finished");
+                stagedReactor.afterSuite();
+                suiteStarted = false;
+                testClasses.clear();
+            }
         }
     }
 
     public void beforeClass(StagedExamReactor stagedReactor, Object testClassInstance) {
-        if (!suiteStarted) {
-            suiteStarted = true;
-            stagedReactor.beforeSuite();
+        synchronized (this) {
+            if (!suiteStarted) {
+                suiteStarted = true;
+                stagedReactor.beforeSuite();
+            }
         }
         stagedReactor.beforeClass();
     }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_SHARDS_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_REACTOR_SHARDS_KEY;
+
+import java.util.List;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.spi.ConfigurationAwareStagedExamReactorFactory;
+import org.ops4j.pax.exam.spi.StagedExamReactor;
+
+/**
+ * This reactor factory creates a test reactor which is used for the entire test suite and runs the
+ * tests on a number of identical test containers. The number of containers is given by the
+ * configuration property {@link org.ops4j.pax.exam.Constants#EXAM_REACTOR_SHARDS_KEY}.
+ *
+ * @since 5.0.0
+ */
+public class Sharded implements ConfigurationAwareStagedExamReactorFactory {
+
+    @Override
+    public StagedExamReactor create(ExamSystem system, List<Option[]> configurations,
+        TestContainerFactory containerFactory, List<TestProbeBuilder> probes) {
+        String shards = new ConfigurationManager().getProperty(EXAM_REACTOR_SHARDS_KEY,
+            EXAM_REACTOR_SHARDS_DEFAULT);
+        return ShardedStagedReactor.getInstance(system, configurations, containerFactory, probes,
+            Math.max(1, parseShards(shards)));
+    }
+
+    private static int parseShards(String shards) {
+        try {
+            return Integer.parseInt(shards.trim());
+        }
+        catch (NumberFormatException exc) {
+            throw new TestContainerException("invalid value of " + EXAM_REACTOR_SHARDS_KEY + ": "
+                + shards, exc);
+        }
+    }
+
+    /**
+     * Without access to the configurations, no additional containers can be created. This method
+     * falls back to the {@link PerSuite} strategy.
+     */
+    @Override
+    public StagedExamReactor create(List<TestContainer> containers, List<TestProbeBuilder> probes) {
+        return new PerSuiteStagedReactor(containers, probes);
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestListener;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
+import org.ops4j.pax.exam.spi.StagedExamReactor;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A singleton reactor which starts a number of identical test containers (shards) once for the
+ * entire test suite and installs the probes in each of them.
+ * <p>
+ * Each call to {@link #runTest(TestDescription, TestListener)} takes the next free shard, blocking
+ * until one is available, and returns it when the test is finished. When the test driver runs test
+ * classes concurrently, they are executed in parallel on different shards. The events of all
+ * shards are delivered to the listeners one at a time.
+ * <p>
+ * Like {@link SingletonStagedReactor}, this reactor only uses the first configuration. The shards
+ * must not share a fixed invoker port, so {@link org.ops4j.pax.exam.Constants#EXAM_INVOKER_PORT}
+ * should not be set.
+ *
+ * @since 5.0.0
+ */
+public class ShardedStagedReactor implements StagedExamReactor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardedStagedReactor.class);
+
+    private static ShardedStagedReactor instance;
+
+    private final ExamSystem system;
+    private final Option[] configuration;
+    private final TestContainerFactory containerFactory;
+    private final List<TestProbeBuilder> probes;
+    private final int shards;
+
+    private final List<TestContainer> containers = new ArrayList<>();
+    private final BlockingQueue<TestContainer> freeContainers = new LinkedBlockingQueue<>();
+    private final List<TestContainer> started = Collections.synchronizedList(new ArrayList<>());
+
+    ShardedStagedReactor(ExamSystem system, Option[] configuration,
+        TestContainerFactory containerFactory, List<TestProbeBuilder> probes, int shards) {
+        this.system = system;
+        this.configuration = configuration;
+        this.containerFactory = containerFactory;
+        this.probes = probes;
+        this.shards = shards;
+    }
+
+    /**
+     * @param system
+     *            exam system to be forked for each shard
+     * @param configurations
+     *            user configurations, only the first one is used
+     * @param containerFactory
+     *            factory for creating the shards
+     * @param probes
+     *            to be installed on all shards
+     * @param shards
+     *            number of shards
+     * @return staged reactor
+     */
+    public static synchronized StagedExamReactor getInstance(ExamSystem system,
+        List<Option[]> configurations, TestContainerFactory containerFactory,
+        List<TestProbeBuilder> probes, int shards) {
+        if (instance == null) {
+            if (configurations.size() > 1) {
+                LOG.warn("Sharded reactor only uses the first of {} configurations",
+                    configurations.size());
+            }
+            instance = new ShardedStagedReactor(system, configurations.get(0), containerFactory,
+                probes, shards);
+        }
+        else if (!instance.probes.equals(probes)) {
+            throw new TestContainerException(
+                "using the Sharded reactor strategy, all test classes must share the same probes");
+        }
+        return instance;
+    }
+
+    @Override
+    public synchronized void beforeSuite() {
+        if (!containers.isEmpty()) {
+            return;
+        }
+        List<TestProbeProvider> providers = new ArrayList<>();
+        for (TestProbeBuilder builder : probes) {
+            providers.add(builder.build());
+        }
+        List<Integer> indexes = new ArrayList<>();
+        for (int i = 0; i < shards; i++) {
+            indexes.add(i);
+        }
+        LOG.info("starting {} shards", shards);
+        try {
+            containers.addAll(new StagingExecutor(shards).map(indexes, i -> setUp(providers),
+                "start of shards"));
+        }
+        catch (RuntimeException | Error exc) {
+            stopStarted(exc);
+            throw exc;
+        }
+        started.clear();
+        freeContainers.addAll(containers);
+    }
+
+    private TestContainer setUp(List<TestProbeProvider> providers) throws IOException {
+        ExamSystem forked = system.fork(configuration);
+        TestContainer container;
+        try {
+            container = containerFactory.create(forked);
+            container.start();
+        }
+        catch (IOException | RuntimeException exc) {
+            forked.clear();
+            throw exc;
+        }
+        started.add(container);
+        for (TestProbeProvider provider : providers) {
+            LOG.debug("installing probe " + provider);
+            container.installProbe(provider.getStream());
+        }
+        return container;
+    }
+
+    /**
+     * Stops the shards started before a failure of another shard, so that no forked VM outlives
+     * a failed suite. Failures to stop are added to the original failure.
+     */
+    private void stopStarted(Throwable failure) {
+        synchronized (started) {
+            for (TestContainer container : started) {
+                try {
+                    container.stop();
+                }
+                // CHECKSTYLE:SKIP : keep stopping the other shards
+                catch (Exception exc) {
+                    failure.addSuppressed(exc);
+                }
+            }
+            started.clear();
+        }
+    }
+
+    /**
+     * Stops all shards. The next suite gets a new reactor from
+     * {@link #getInstance(ExamSystem, List, TestContainerFactory, List, int)}.
+     */
+    @Override
+    public synchronized void afterSuite() {
+        try {
+            new StagingExecutor(shards).forEach(containers, container -> {
+                container.stop();
+                return null;
+            }, "stop of shards");
+        }
+        finally {
+            containers.clear();
+            freeContainers.clear();
+            clearInstance(this);
+        }
+    }
+
+    private static synchronized void clearInstance(ShardedStagedReactor reactor) {
+        if (instance == reactor) {
+            instance = null;
+        }
+    }
+
+    @Override
+    public void beforeClass() {
+    }
+
+    @Override
+    public void afterClass() {
+    }
+
+    @Override
+    public void runTest(TestDescription description, TestListener listener) throws Exception {
+        assert (description != null) : "TestAddress must not be null.";
+
+        TestContainer testContainer = freeContainers.take();
+        try {
+            LOG.debug("running {} on {}", description, testContainer);
+            testContainer.runTest(description, new SynchronizedTestListener(listener, this));
+        }
+        finally {
+            freeContainers.add(testContainer);
+        }
+    }
+}
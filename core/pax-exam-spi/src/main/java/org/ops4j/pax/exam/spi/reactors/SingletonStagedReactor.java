@@ -18,6 +18,8 @@
 package org.ops4j.pax.exam.spi.reactors;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.ops4j.pax.exam.TestContainer;
@@ -25,7 +27,9 @@ import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.TestListener;
 import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
 import org.ops4j.pax.exam.spi.StagedExamReactor;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,10 +48,14 @@ public class SingletonStagedReactor implements StagedExamReactor {
 
     private List<TestContainer> testContainers;
     private List<TestProbeBuilder> probes;
+    private final StagingExecutor staging;
+    private final List<TestContainer> started = Collections.synchronizedList(new ArrayList<>());
 
-    private SingletonStagedReactor(List<TestContainer> containers, List<TestProbeBuilder> mProbes) {
+    SingletonStagedReactor(List<TestContainer> containers, List<TestProbeBuilder> mProbes,
+        StagingExecutor staging) {
         testContainers = containers;
         probes = mProbes;
+        this.staging = staging;
     }
 
     /**
@@ -57,10 +65,24 @@ public class SingletonStagedReactor implements StagedExamReactor {
      *            to be installed on all probes
      * @return staged reactor
      */
-    public static synchronized StagedExamReactor getInstance(List<TestContainer> containers,
+    public static StagedExamReactor getInstance(List<TestContainer> containers,
         List<TestProbeBuilder> mProbes) {
+        return getInstance(containers, mProbes, StagingExecutor.fromConfiguration());
+    }
+
+    /**
+     * @param containers
+     *            to be used
+     * @param mProbes
+     *            to be installed on all probes
+     * @param staging
+     *            executor for starting the containers and installing the probes
+     * @return staged reactor
+     */
+    public static synchronized StagedExamReactor getInstance(List<TestContainer> containers,
+        List<TestProbeBuilder> mProbes, StagingExecutor staging) {
         if (instance == null) {
-            instance = new SingletonStagedReactor(containers, mProbes);
+            instance = new SingletonStagedReactor(containers, mProbes, staging);
         }
         else {
             if ( /* ! instance.testContainers.equals( containers ) || */
@@ -77,30 +99,73 @@ public class SingletonStagedReactor implements StagedExamReactor {
 
     @Override
     public void beforeSuite() {
-        for (TestContainer container : testContainers) {
+        if (testContainers.isEmpty()) {
+            return;
+        }
+        List<TestProbeProvider> providers = new ArrayList<>();
+        for (TestProbeBuilder builder : probes) {
+            providers.add(builder.build());
+        }
+        try {
+            staging.forEach(testContainers, container -> {
+                beforeSuite(container, providers);
+                return null;
+            }, "start of containers");
+        }
+        catch (RuntimeException | Error exc) {
+            stopStarted(exc);
+            throw exc;
+        }
+    }
+
+    private void beforeSuite(TestContainer container, List<TestProbeProvider> providers) {
+        try {
+            container.start();
+        }
+        catch (IOException e1) {
+            throw new TestContainerException("start of container failed", e1);
+        }
+        started.add(container);
+
+        for (TestProbeProvider provider : providers) {
+            LOG.debug("installing probe " + provider);
+
             try {
-                container.start();
+                container.installProbe(provider.getStream());
             }
-            catch (IOException e1) {
-                new TestContainerException("start of container failed", e1);
+            catch (IOException e) {
+                throw new TestContainerException("Unable to build the probe.", e);
             }
+        }
+    }
 
-            for (TestProbeBuilder builder : probes) {
-                LOG.debug("installing probe " + builder);
-
+    /**
+     * Stops the containers started before a failure of another container, so that no container
+     * outlives a failed suite. Failures to stop are added to the original failure.
+     */
+    private void stopStarted(Throwable failure) {
+        synchronized (started) {
+            for (TestContainer container : started) {
                 try {
-                    container.installProbe(builder.build().getStream());
+                    container.stop();
                 }
-                catch (IOException e) {
-                    throw new TestContainerException("Unable to build the probe.", e);
+                // CHECKSTYLE:SKIP : keep stopping the other containers
+                catch (Exception exc) {
+                    failure.addSuppressed(exc);
                 }
             }
+            started.clear();
         }
     }
 
     @Override
     public void afterSuite() {
-        for (TestContainer container : testContainers) {
+        List<TestContainer> containers;
+        synchronized (started) {
+            containers = new ArrayList<>(started);
+            started.clear();
+        }
+        for (TestContainer container : containers) {
             try {
                 container.stop();
             }
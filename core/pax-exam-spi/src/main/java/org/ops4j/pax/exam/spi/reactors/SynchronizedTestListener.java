@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestFailure;
+import org.ops4j.pax.exam.TestListener;
+
+/**
+ * A {@link TestListener} which forwards all events to a delegate while holding a shared lock.
+ * Listeners sharing the same lock never receive events concurrently, even when the events are
+ * produced by several test containers at the same time.
+ *
+ * @since 5.0.0
+ */
+public class SynchronizedTestListener implements TestListener {
+
+    private final TestListener delegate;
+    private final Object lock;
+
+    /**
+     * @param delegate
+     *            listener receiving the events
+     * @param lock
+     *            lock held while forwarding an event
+     */
+    public SynchronizedTestListener(TestListener delegate, Object lock) {
+        this.delegate = delegate;
+        this.lock = lock;
+    }
+
+    @Override
+    public void testStarted(TestDescription description) {
+        synchronized (lock) {
+            delegate.testStarted(description);
+        }
+    }
+
+    @Override
+    public void testFinished(TestDescription description) {
+        synchronized (lock) {
+            delegate.testFinished(description);
+        }
+    }
+
+    @Override
+    public void testFailure(TestFailure failure) {
+        synchronized (lock) {
+            delegate.testFailure(failure);
+        }
+    }
+
+    @Override
+    public void testAssumptionFailure(TestFailure failure) {
+        synchronized (lock) {
+            delegate.testAssumptionFailure(failure);
+        }
+    }
+
+    @Override
+    public void testIgnored(TestDescription description) {
+        synchronized (lock) {
+            delegate.testIgnored(description);
+        }
+    }
+}
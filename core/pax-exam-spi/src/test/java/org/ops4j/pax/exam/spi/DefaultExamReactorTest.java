@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.ops4j.pax.exam.CoreOptions.frameworkProperty;
+import static org.ops4j.pax.exam.CoreOptions.options;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestContainerFactory;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestListener;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
+import org.ops4j.pax.exam.spi.reactors.PerClass;
+
+/**
+ * Counts the expensive operations performed while staging a reactor. Each configuration must be
+ * forked and turned into a container exactly once.
+ */
+public class DefaultExamReactorTest {
+
+    private final AtomicInteger forks = new AtomicInteger();
+    private final AtomicInteger creates = new AtomicInteger();
+    private final AtomicInteger clears = new AtomicInteger();
+    private int failingCreate = -1;
+
+    private final TestContainerFactory containerFactory = new TestContainerFactory() {
+
+        @Override
+        public TestContainer create(ExamSystem system) {
+            if (creates.incrementAndGet() == failingCreate) {
+                throw new TestContainerException("boom");
+            }
+            return new NullContainer();
+        }
+    };
+
+    private void stage(int configurations, int threads) {
+        ExamReactor reactor = new DefaultExamReactor(new CountingExamSystem(), containerFactory,
+            new StagingExecutor(threads));
+        for (int i = 0; i < configurations; i++) {
+            reactor.addConfiguration(options(frameworkProperty("config").value(i)));
+        }
+        reactor.stage(new PerClass());
+    }
+
+    @Test
+    public void shouldForkAndCreateOncePerConfiguration() {
+        stage(3, 1);
+
+        assertThat(forks.get(), is(3));
+        assertThat(creates.get(), is(3));
+    }
+
+    @Test
+    public void shouldForkAndCreateOncePerConfigurationInParallel() {
+        stage(4, 2);
+
+        assertThat(forks.get(), is(4));
+        assertThat(creates.get(), is(4));
+    }
+
+    @Test
+    public void shouldClearForkedSystemsWhenCreationFails() {
+        failingCreate = 2;
+        try {
+            stage(3, 1);
+            fail("expected TestContainerException");
+        }
+        catch (TestContainerException exc) {
+            assertThat(exc.getMessage(), is("boom"));
+        }
+
+        assertThat(forks.get(), is(2));
+        assertThat(clears.get(), is(2));
+    }
+
+    private class CountingExamSystem implements ExamSystem {
+
+        @Override
+        public <T extends Option> T getSingleOption(Class<T> optionType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Option> T[] getOptions(Class<T> optionType) {
+            return null;
+        }
+
+        @Override
+        public ExamSystem fork(Option[] options) {
+            forks.incrementAndGet();
+            return this;
+        }
+
+        @Override
+        public File getConfigFolder() {
+            return null;
+        }
+
+        @Override
+        public File getTempFolder() {
+            return null;
+        }
+
+        @Override
+        public RelativeTimeout getTimeout() {
+            return RelativeTimeout.TIMEOUT_DEFAULT;
+        }
+
+        @Override
+        public TestProbeBuilder createProbe() {
+            return null;
+        }
+
+        @Override
+        public String createID(String purposeText) {
+            return purposeText;
+        }
+
+        @Override
+        public void clear() {
+            clears.incrementAndGet();
+        }
+    }
+
+    private static class NullContainer implements TestContainer {
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void installProbe(InputStream stream) {
+        }
+
+        @Override
+        public void stop() {
+        }
+
+        @Override
+        public void runTest(TestDescription description, TestListener listener) {
+        }
+    }
+}
@@ -1,12 +1,101 @@
 package org.ops4j.pax.exam.spi;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
 
 public class ExamSystemTest {
 
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private String userHome;
+
+    @Before
+    public void setUp() throws IOException {
+        userHome = System.getProperty("user.home");
+        System.setProperty("user.home", tempFolder.newFolder("home").getAbsolutePath());
+    }
+
+    @After
+    public void tearDown() {
+        System.setProperty("user.home", userHome);
+    }
+
+    private static TestProbeProvider buildProbe(ExamSystem system) throws IOException {
+        TestProbeBuilder builder = system.createProbe();
+        builder.addTest(ExamSystemTest.class);
+        return builder.build();
+    }
+
+    private static String header(TestProbeProvider probe, String name) throws IOException {
+        try (JarInputStream jar = new JarInputStream(probe.getStream())) {
+            return jar.getManifest().getMainAttributes().getValue(name);
+        }
+    }
+
+    /**
+     * Adds a marker header to the given probe jar, so that a probe taken from it can be
+     * recognized.
+     */
+    private static void mark(File probe) throws IOException {
+        File marked = new File(probe.getPath() + ".marked");
+        try (JarInputStream jis = new JarInputStream(new FileInputStream(probe))) {
+            Manifest manifest = jis.getManifest();
+            manifest.getMainAttributes().putValue("Cached", "true");
+            try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(marked),
+                manifest)) {
+                byte[] buffer = new byte[8192];
+                for (JarEntry entry = jis.getNextJarEntry(); entry != null; entry = jis
+                    .getNextJarEntry()) {
+                    jos.putNextEntry(new JarEntry(entry.getName()));
+                    int n;
+                    while ((n = jis.read(buffer)) != -1) {
+                        jos.write(buffer, 0, n);
+                    }
+                    jos.closeEntry();
+                }
+            }
+        }
+        probe.delete();
+        marked.renameTo(probe);
+    }
+
     @Test
-    public void testSimple() throws IOException {
-        // Files.deleteRecursively(file);
+    public void shouldKeepProbeCacheWhenSystemIsCleared() throws IOException {
+        ExamSystem first = DefaultExamSystem.create(new Option[0]);
+        buildProbe(first);
+        first.clear();
+
+        File probeCache = new File(System.getProperty("user.home"), ".pax/exam-cache/probe-cache");
+        File[] probes = probeCache.listFiles();
+        assertThat(probes.length, is(1));
+        mark(probes[0]);
+
+        ExamSystem second = DefaultExamSystem.create(new Option[0]);
+        try {
+            assertThat(header(buildProbe(second), "Cached"), is("true"));
+        }
+        finally {
+            second.clear();
+        }
     }
 }
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.intern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CollectFromBaseTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final DirectoryListings listings = new DirectoryListings();
+
+    private Map<String, URL> collect(File base) throws IOException {
+        Map<String, URL> map = new HashMap<String, URL>();
+        new CollectFromBase(base, listings).collect(map);
+        return map;
+    }
+
+    private File touch(File base, String path) throws IOException {
+        File file = new File(base, path);
+        file.getParentFile().mkdirs();
+        file.createNewFile();
+        return file;
+    }
+
+    @Test
+    public void shouldCollectNestedFilesAndSkipHiddenFiles() throws Exception {
+        File base = tempFolder.newFolder("classes");
+        touch(base, "Foo.class");
+        touch(base, "org/example/Bar.class");
+        touch(base, "org/example/with space/Baz.class");
+        touch(base, "org/.hidden");
+
+        Map<String, URL> map = collect(base);
+
+        assertThat(new TreeSet<String>(map.keySet()), is((Set<String>) new TreeSet<String>(
+            Arrays.asList("Foo.class", "org/example/Bar.class",
+                "org/example/with space/Baz.class"))));
+        File baz = new File(map.get("org/example/with space/Baz.class").toURI());
+        assertTrue(baz.isFile());
+    }
+
+    @Test
+    public void shouldSeeFilesAddedSinceLastScan() throws Exception {
+        File base = tempFolder.newFolder("classes");
+        touch(base, "org/example/Bar.class");
+        assertThat(collect(base).size(), is(1));
+
+        File qux = touch(base, "org/example/Qux.class");
+        // make sure the change is visible on file systems with coarse timestamps
+        File dir = qux.getParentFile();
+        Files.setLastModifiedTime(dir.toPath(),
+            FileTime.fromMillis(dir.lastModified() + 2000));
+
+        Map<String, URL> map = collect(base);
+        assertThat(map.size(), is(2));
+        assertTrue(map.containsKey("org/example/Qux.class"));
+    }
+
+    @Test
+    public void shouldReuseListingsOfUnmodifiedDirectories() throws Exception {
+        File base = tempFolder.newFolder("classes");
+        touch(base, "Bar.class");
+        FileTime old = FileTime.fromMillis(System.currentTimeMillis() - 60000);
+        Files.setLastModifiedTime(base.toPath(), old);
+        assertThat(collect(base).size(), is(1));
+
+        touch(base, "Qux.class");
+        Files.setLastModifiedTime(base.toPath(), old);
+
+        assertThat(collect(base).size(), is(1));
+        Map<String, URL> map = new HashMap<String, URL>();
+        new CollectFromBase(base).collect(map);
+        assertThat(map.size(), is(2));
+    }
+
+    @Test
+    public void shouldNotRememberRecentlyModifiedDirectories() throws Exception {
+        File base = tempFolder.newFolder("classes");
+        touch(base, "Bar.class");
+        FileTime recent = Files.getLastModifiedTime(base.toPath());
+        assertThat(collect(base).size(), is(1));
+
+        // a second file within the timestamp resolution of the file system
+        touch(base, "Qux.class");
+        Files.setLastModifiedTime(base.toPath(), recent);
+
+        assertThat(collect(base).size(), is(2));
+    }
+}
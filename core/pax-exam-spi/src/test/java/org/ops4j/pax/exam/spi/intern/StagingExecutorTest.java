@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.intern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.TestContainerException;
+
+public class StagingExecutorTest {
+
+    @Test
+    public void shouldKeepOrderOfResults() {
+        StagingExecutor staging = new StagingExecutor(4);
+        List<Integer> results = staging.map(Arrays.asList(30, 20, 10, 0), millis -> {
+            Thread.sleep(millis);
+            return millis;
+        }, "sleeping");
+        assertThat(results, is(Arrays.asList(30, 20, 10, 0)));
+    }
+
+    @Test
+    public void shouldRunConcurrently() {
+        CountDownLatch latch = new CountDownLatch(3);
+        StagingExecutor staging = new StagingExecutor(3);
+        List<Boolean> results = staging.map(Arrays.asList(1, 2, 3), item -> {
+            latch.countDown();
+            return latch.await(10, TimeUnit.SECONDS);
+        }, "waiting");
+        assertThat(results, is(Arrays.asList(true, true, true)));
+    }
+
+    @Test
+    public void shouldReportAllFailures() {
+        StagingExecutor staging = new StagingExecutor(2);
+        try {
+            staging.forEach(Arrays.asList(1, 2, 3), item -> {
+                if (item != 2) {
+                    throw new IOException("failure " + item);
+                }
+                return item;
+            }, "Container creation");
+            fail("expected TestContainerException");
+        }
+        catch (TestContainerException exc) {
+            assertThat(exc.getSuppressed().length, is(2));
+            assertThat(exc.getSuppressed()[0].getMessage(), is("failure 1"));
+            assertThat(exc.getSuppressed()[1].getMessage(), is("failure 3"));
+        }
+    }
+
+    @Test
+    public void shouldFailFastWhenSequential() {
+        StagingExecutor staging = new StagingExecutor(1);
+        int[] calls = new int[1];
+        try {
+            staging.forEach(Arrays.asList(1, 2, 3), item -> {
+                calls[0]++;
+                throw new IllegalStateException("failure " + item);
+            }, "Container creation");
+            fail("expected IllegalStateException");
+        }
+        catch (IllegalStateException exc) {
+            assertThat(exc.getMessage(), is("failure 1"));
+            assertThat(calls[0], is(1));
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.intern;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.ops4j.pax.exam.TestProbeProvider;
+import org.ops4j.store.Store;
+import org.ops4j.store.intern.TemporaryStore;
+
+public class TestProbeBuilderImplTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File probeCache;
+
+    @Before
+    public void setUp() throws IOException {
+        probeCache = tempFolder.newFolder("probe-cache");
+    }
+
+    private TestProbeBuilderImpl createBuilder() throws IOException {
+        return createBuilder(tempFolder.newFolder());
+    }
+
+    private TestProbeBuilderImpl createBuilder(File tempDir) throws IOException {
+        Store<InputStream> store = new TemporaryStore(tempDir, false);
+        TestProbeBuilderImpl builder = new TestProbeBuilderImpl(tempDir, store, probeCache);
+        builder.addTest(TestProbeBuilderImplTest.class);
+        return builder;
+    }
+
+    private String header(TestProbeProvider probe, String name) throws IOException {
+        try (JarInputStream jar = new JarInputStream(probe.getStream())) {
+            return jar.getManifest().getMainAttributes().getValue(name);
+        }
+    }
+
+    private String symbolicName(TestProbeProvider probe) throws IOException {
+        return header(probe, "Bundle-SymbolicName");
+    }
+
+    private List<String> entries(TestProbeProvider probe) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (JarInputStream jar = new JarInputStream(probe.getStream())) {
+            for (JarEntry entry = jar.getNextJarEntry(); entry != null; entry = jar
+                .getNextJarEntry()) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+
+    @Test
+    public void shouldReuseUnchangedProbe() throws IOException {
+        TestProbeBuilderImpl builder = createBuilder();
+        TestProbeProvider first = builder.build();
+        TestProbeProvider second = builder.build();
+
+        assertThat(second.toString(), is(first.toString()));
+        assertThat(probeCache.list().length, is(1));
+    }
+
+    @Test
+    public void shouldReuseCachedProbeInNewBuilder() throws IOException {
+        TestProbeBuilderImpl firstBuilder = createBuilder();
+        firstBuilder.setHeader("Bundle-SymbolicName", "first");
+        TestProbeProvider first = firstBuilder.build();
+        TestProbeBuilderImpl secondBuilder = createBuilder();
+        secondBuilder.setHeader("Bundle-SymbolicName", "second");
+        TestProbeProvider second = secondBuilder.build();
+
+        assertThat(symbolicName(first), is("first"));
+        assertThat(symbolicName(second), is("second"));
+        assertThat(probeCache.list().length, is(1));
+    }
+
+    @Test
+    public void shouldUseUniqueSymbolicNamePerBuilder() throws IOException {
+        TestProbeProvider first = createBuilder().build();
+        TestProbeProvider second = createBuilder().build();
+
+        assertThat(symbolicName(second), is(not(symbolicName(first))));
+        assertThat(probeCache.list().length, is(1));
+    }
+
+    @Test
+    public void shouldRebuildProbeRemovedFromStore() throws IOException {
+        File tempDir = tempFolder.newFolder();
+        TestProbeBuilderImpl builder = createBuilder(tempDir);
+        TestProbeProvider first = builder.build();
+        List<String> entries = entries(first);
+        String symbolicName = symbolicName(first);
+        for (File file : tempDir.listFiles()) {
+            file.delete();
+        }
+        TestProbeProvider second = builder.build();
+
+        assertThat(entries(second), is(entries));
+        assertThat(symbolicName(second), is(symbolicName));
+    }
+
+    @Test
+    public void shouldRebuildProbeWithChangedHeaders() throws IOException {
+        TestProbeBuilderImpl builder = createBuilder();
+        TestProbeProvider first = builder.build();
+        builder.setHeader("Foo", "bar");
+        TestProbeProvider second = builder.build();
+
+        assertThat(header(first, "Foo"), is(nullValue()));
+        assertThat(header(second, "Foo"), is("bar"));
+        assertThat(probeCache.list().length, is(2));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.listener;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestEvent;
+import org.ops4j.pax.exam.TestEventType;
+import org.ops4j.pax.exam.TestEventWriter;
+import org.ops4j.pax.exam.TestFailure;
+import org.ops4j.pax.exam.TestListener;
+
+public class TestEventChannelTest {
+
+    private static class RecordingListener implements TestListener {
+
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public void testStarted(TestDescription description) {
+            events.add("started " + description.getMethodName());
+        }
+
+        @Override
+        public void testFinished(TestDescription description) {
+            events.add("finished " + description.getMethodName());
+        }
+
+        @Override
+        public void testFailure(TestFailure failure) {
+            events.add("failed " + failure.getDescription().getMethodName());
+        }
+
+        @Override
+        public void testAssumptionFailure(TestFailure failure) {
+            events.add("assumption failed " + failure.getDescription().getMethodName());
+        }
+
+        @Override
+        public void testIgnored(TestDescription description) {
+            events.add("ignored " + description.getMethodName());
+        }
+    }
+
+    private static TestEvent event(String runId, TestEventType type, String method) {
+        return new TestEvent(runId, type, new TestDescription("Foo", method), null);
+    }
+
+    @Test
+    public void shouldDispatchInterleavedRunsOverOneConnection() throws Exception {
+        try (TestEventChannel channel = new TestEventChannel(0)) {
+            RecordingListener first = new RecordingListener();
+            RecordingListener second = new RecordingListener();
+            String firstRun = channel.register(first);
+            String secondRun = channel.register(second);
+
+            try (Socket socket = new Socket(InetAddress.getLocalHost(), channel.getPort());
+                TestEventWriter writer = new TestEventWriter(socket.getOutputStream())) {
+                writer.write(event(firstRun, TestEventType.TEST_STARTED, "a"));
+                writer.write(event(secondRun, TestEventType.TEST_STARTED, "b"));
+                writer.write(event(secondRun, TestEventType.TEST_IGNORED, "b"));
+                writer.write(event(firstRun, TestEventType.TEST_FINISHED, "a"));
+                writer.write(event(firstRun, TestEventType.RUN_FINISHED, null));
+                writer.write(event(secondRun, TestEventType.RUN_FINISHED, null));
+                writer.flush();
+
+                channel.await(firstRun, RelativeTimeout.TIMEOUT_DEFAULT);
+                channel.await(secondRun, RelativeTimeout.TIMEOUT_DEFAULT);
+            }
+
+            assertThat(first.events, is(Arrays.asList("started a", "finished a")));
+            assertThat(second.events, is(Arrays.asList("started b", "ignored b")));
+        }
+    }
+
+    @Test
+    public void shouldKeepConnectionAcrossRuns() throws Exception {
+        try (TestEventChannel channel = new TestEventChannel(0);
+            Socket socket = new Socket(InetAddress.getLocalHost(), channel.getPort());
+            TestEventWriter writer = new TestEventWriter(socket.getOutputStream())) {
+            for (int i = 0; i < 3; i++) {
+                RecordingListener listener = new RecordingListener();
+                String runId = channel.register(listener);
+                writer.write(event(runId, TestEventType.TEST_STARTED, "m" + i));
+                writer.write(event(runId, TestEventType.RUN_FINISHED, null));
+                writer.flush();
+                channel.await(runId, RelativeTimeout.TIMEOUT_DEFAULT);
+                channel.unregister(runId);
+
+                assertThat(listener.events, is(Arrays.asList("started m" + i)));
+            }
+        }
+    }
+
+    @Test
+    public void shouldDropEventsResentOnNewConnection() throws Exception {
+        try (TestEventChannel channel = new TestEventChannel(0)) {
+            RecordingListener listener = new RecordingListener();
+            String runId = channel.register(listener);
+            TestDescription a = new TestDescription("Foo", "a");
+            try (Socket socket = new Socket(InetAddress.getLocalHost(), channel.getPort());
+                TestEventWriter writer = new TestEventWriter(socket.getOutputStream())) {
+                writer.write(new TestEvent(runId, 1, TestEventType.TEST_STARTED, a, null));
+                writer.flush();
+            }
+            try (Socket socket = new Socket(InetAddress.getLocalHost(), channel.getPort());
+                TestEventWriter writer = new TestEventWriter(socket.getOutputStream())) {
+                writer.write(new TestEvent(runId, 1, TestEventType.TEST_STARTED, a, null));
+                writer.write(new TestEvent(runId, 2, TestEventType.TEST_FINISHED, a, null));
+                writer.write(new TestEvent(runId, 3, TestEventType.RUN_FINISHED, null, null));
+                writer.flush();
+                channel.await(runId, RelativeTimeout.TIMEOUT_DEFAULT);
+            }
+
+            assertThat(listener.events, is(Arrays.asList("started a", "finished a")));
+        }
+    }
+
+    @Test(expected = TestContainerException.class)
+    public void shouldFailWhenRunDoesNotFinish() throws Exception {
+        try (TestEventChannel channel = new TestEventChannel(0)) {
+            String runId = channel.register(new RecordingListener());
+            channel.await(runId, new RelativeTimeout(100));
+        }
+    }
+}
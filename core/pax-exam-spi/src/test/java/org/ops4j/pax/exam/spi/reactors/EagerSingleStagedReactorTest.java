@@ -17,11 +17,24 @@
  */
 package org.ops4j.pax.exam.spi.reactors;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
+import org.junit.Test;
 import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
 import org.ops4j.pax.exam.TestProbeBuilder;
 import org.ops4j.pax.exam.spi.StagedExamReactor;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
 
 /**
  *
@@ -33,4 +46,25 @@ public class EagerSingleStagedReactorTest extends BaseStagedReactorTest {
         List<TestProbeBuilder> providers) {
         return new EagerSingleStagedReactor(containers, providers);
     }
+
+    @Test
+    public void shouldStopStartedContainersWhenStartFails() throws IOException {
+        TestContainer started = mock(TestContainer.class);
+        TestContainer failed = mock(TestContainer.class);
+        IOException failure = new IOException("boom");
+        doThrow(failure).when(failed).start();
+        EagerSingleStagedReactor reactor = new EagerSingleStagedReactor(
+            Arrays.asList(started, failed), Collections.<TestProbeBuilder> emptyList(),
+            new StagingExecutor(2));
+
+        try {
+            reactor.beforeClass();
+            fail("expected TestContainerException");
+        }
+        catch (TestContainerException exc) {
+            assertEquals(failure, exc.getCause());
+        }
+        verify(started).stop();
+        verify(failed, never()).stop();
+    }
 }
@@ -0,0 +1,256 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.ops4j.pax.exam.CoreOptions.frameworkProperty;
+import static org.ops4j.pax.exam.CoreOptions.mavenBundle;
+import static org.ops4j.pax.exam.CoreOptions.options;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestListener;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
+import org.ops4j.pax.exam.spi.StagedExamReactor;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
+
+public class PerConfigurationStagedReactorTest {
+
+    private static class CountingContainer implements TestContainer {
+
+        private final boolean canUninstall;
+        private int starts;
+        private int stops;
+        private int installs;
+        private int uninstalls;
+
+        CountingContainer(boolean canUninstall) {
+            this.canUninstall = canUninstall;
+        }
+
+        @Override
+        public void start() {
+            starts++;
+        }
+
+        @Override
+        public void installProbe(InputStream stream) {
+            installs++;
+        }
+
+        @Override
+        public boolean supportsProbeUninstall() {
+            return canUninstall;
+        }
+
+        @Override
+        public void uninstallProbe() {
+            uninstalls++;
+        }
+
+        @Override
+        public void stop() {
+            stops++;
+        }
+
+        @Override
+        public void runTest(TestDescription description, TestListener listener) {
+        }
+    }
+
+    private static class Probe implements TestProbeBuilder, TestProbeProvider {
+
+        @Override
+        public InputStream getStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public TestProbeBuilder setHeader(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public TestProbeBuilder ignorePackageOf(Class<?>... classes) {
+            return this;
+        }
+
+        @Override
+        public TestProbeProvider build() {
+            return this;
+        }
+
+        @Override
+        public void addTest(Class<?> clazz) {
+        }
+
+        @Override
+        public void setTempDir(File tempDir) {
+        }
+
+        @Override
+        public File getTempDir() {
+            return null;
+        }
+    }
+
+    private ExamSystem system;
+    private List<CountingContainer> created;
+    private boolean canUninstall;
+    private ContainerPool pool;
+
+    @Before
+    public void setUp() {
+        system = new StubExamSystem();
+        created = new ArrayList<>();
+        canUninstall = true;
+        pool = new ContainerPool(2);
+    }
+
+    private void runClass(Option[] configuration) {
+        StagedExamReactor reactor = new PerConfigurationStagedReactor(system,
+            Collections.singletonList(configuration), sys -> {
+                CountingContainer container = new CountingContainer(canUninstall);
+                created.add(container);
+                return container;
+            }, Collections.<TestProbeBuilder> singletonList(new Probe()), pool,
+            new StagingExecutor(1));
+        reactor.beforeClass();
+        reactor.afterClass();
+    }
+
+    @Test
+    public void shouldReuseContainerForEquivalentConfiguration() {
+        runClass(options(frameworkProperty("foo").value("bar")));
+        runClass(options(frameworkProperty("foo").value("bar")));
+
+        assertThat(created.size(), is(1));
+        CountingContainer container = created.get(0);
+        assertThat(container.starts, is(1));
+        assertThat(container.installs, is(2));
+        assertThat(container.uninstalls, is(2));
+        assertThat(container.stops, is(0));
+        assertThat(pool.size(), is(1));
+
+        pool.clear();
+        assertThat(container.stops, is(1));
+    }
+
+    @Test
+    public void shouldNotReuseContainerForDifferentConfiguration() {
+        runClass(options(frameworkProperty("foo").value("bar")));
+        runClass(options(frameworkProperty("foo").value("baz")));
+
+        assertThat(created.size(), is(2));
+        assertThat(pool.size(), is(2));
+    }
+
+    @Test
+    public void shouldNotReuseContainerForDifferentStartLevel() {
+        runClass(options(mavenBundle("org.example", "foo", "1.0").startLevel(3)));
+        runClass(options(mavenBundle("org.example", "foo", "1.0").startLevel(4)));
+        runClass(options(mavenBundle("org.example", "foo", "1.0").startLevel(4)));
+
+        assertThat(created.size(), is(2));
+        assertThat(pool.size(), is(2));
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedContainer() {
+        runClass(options(frameworkProperty("foo").value("1")));
+        runClass(options(frameworkProperty("foo").value("2")));
+        runClass(options(frameworkProperty("foo").value("1")));
+        runClass(options(frameworkProperty("foo").value("3")));
+
+        assertThat(created.size(), is(3));
+        assertThat(pool.size(), is(2));
+        assertThat(created.get(0).stops, is(0));
+        assertThat(created.get(1).stops, is(1));
+    }
+
+    @Test
+    public void shouldStopContainerWhichCannotUninstallProbe() {
+        canUninstall = false;
+        runClass(options(frameworkProperty("foo").value("bar")));
+
+        assertThat(created.get(0).uninstalls, is(0));
+        assertThat(created.get(0).stops, is(1));
+        assertThat(pool.size(), is(0));
+    }
+
+    private static class StubExamSystem implements ExamSystem {
+
+        @Override
+        public <T extends Option> T getSingleOption(Class<T> optionType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Option> T[] getOptions(Class<T> optionType) {
+            return null;
+        }
+
+        @Override
+        public ExamSystem fork(Option[] options) {
+            return this;
+        }
+
+        @Override
+        public File getConfigFolder() {
+            return null;
+        }
+
+        @Override
+        public File getTempFolder() {
+            return null;
+        }
+
+        @Override
+        public RelativeTimeout getTimeout() {
+            return RelativeTimeout.TIMEOUT_DEFAULT;
+        }
+
+        @Override
+        public TestProbeBuilder createProbe() {
+            return null;
+        }
+
+        @Override
+        public String createID(String purposeText) {
+            return purposeText;
+        }
+
+        @Override
+        public void clear() {
+        }
+    }
+}
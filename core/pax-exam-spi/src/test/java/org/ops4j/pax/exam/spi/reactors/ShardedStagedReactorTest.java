@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.ops4j.pax.exam.CoreOptions.options;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.ExamSystem;
+import org.ops4j.pax.exam.Option;
+import org.ops4j.pax.exam.RelativeTimeout;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestDescription;
+import org.ops4j.pax.exam.TestFailure;
+import org.ops4j.pax.exam.TestListener;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.TestProbeProvider;
+import org.ops4j.pax.exam.spi.StagedExamReactor;
+
+public class ShardedStagedReactorTest {
+
+    private final List<ShardContainer> created = new CopyOnWriteArrayList<>();
+
+    /**
+     * Blocks each test until the given number of tests is running concurrently.
+     */
+    private CountDownLatch running;
+
+    /**
+     * Index of the shard which fails to start, or -1.
+     */
+    private volatile int failingStart = -1;
+
+    private class ShardContainer implements TestContainer {
+
+        private int starts;
+        private int stops;
+        private int tests;
+
+        @Override
+        public void start() {
+            starts++;
+            if (created.indexOf(this) == failingStart) {
+                throw new TestContainerException("boom");
+            }
+        }
+
+        @Override
+        public void installProbe(InputStream stream) {
+        }
+
+        @Override
+        public void stop() {
+            stops++;
+        }
+
+        @Override
+        public void runTest(TestDescription description, TestListener listener) {
+            tests++;
+            listener.testStarted(description);
+            running.countDown();
+            try {
+                assertTrue(running.await(10, TimeUnit.SECONDS));
+            }
+            catch (InterruptedException exc) {
+                Thread.currentThread().interrupt();
+            }
+            listener.testFinished(description);
+        }
+    }
+
+    private ShardedStagedReactor createReactor(int shards) {
+        return new ShardedStagedReactor(new StubExamSystem(), options(), sys -> {
+            ShardContainer container = new ShardContainer();
+            created.add(container);
+            return container;
+        }, Collections.<TestProbeBuilder> singletonList(new Probe()), shards);
+    }
+
+    @Test
+    public void shouldRunTestsConcurrentlyOnDifferentShards() throws Exception {
+        ShardedStagedReactor reactor = createReactor(2);
+        reactor.beforeSuite();
+        reactor.beforeSuite();
+        assertThat(created.size(), is(2));
+
+        running = new CountDownLatch(2);
+        CountingListener listener = new CountingListener();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = executor.submit(() -> runTest(reactor, "A", listener));
+            Future<?> second = executor.submit(() -> runTest(reactor, "B", listener));
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        }
+        finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(listener.events, is(4));
+        assertThat(created.get(0).tests, is(1));
+        assertThat(created.get(1).tests, is(1));
+
+        reactor.afterSuite();
+        assertThat(created.get(0).stops, is(1));
+        assertThat(created.get(1).stops, is(1));
+    }
+
+    @Test
+    public void shouldStopStartedShardsWhenStartFails() {
+        failingStart = 1;
+        ShardedStagedReactor reactor = createReactor(3);
+        try {
+            reactor.beforeSuite();
+            fail("expected TestContainerException");
+        }
+        catch (TestContainerException exc) {
+            assertThat(exc.getMessage(), is("boom"));
+        }
+
+        assertThat(created.size(), is(3));
+        assertThat(created.get(0).stops, is(1));
+        assertThat(created.get(1).stops, is(0));
+        assertThat(created.get(2).stops, is(1));
+    }
+
+    @Test
+    public void shouldReturnShardAfterTest() throws Exception {
+        ShardedStagedReactor reactor = createReactor(1);
+        reactor.beforeSuite();
+
+        running = new CountDownLatch(0);
+        CountingListener listener = new CountingListener();
+        runTest(reactor, "A", listener);
+        runTest(reactor, "B", listener);
+
+        assertThat(created.size(), is(1));
+        assertThat(created.get(0).starts, is(1));
+        assertThat(created.get(0).tests, is(2));
+        reactor.afterSuite();
+    }
+
+    @Test
+    public void shouldCreateNewInstanceAfterSuite() throws Exception {
+        List<TestProbeBuilder> probes = Collections.<TestProbeBuilder> singletonList(new Probe());
+        List<Option[]> configurations = Collections.singletonList(options());
+        StagedExamReactor first = ShardedStagedReactor.getInstance(new StubExamSystem(),
+            configurations, sys -> new ShardContainer(), probes, 1);
+        assertThat(ShardedStagedReactor.getInstance(new StubExamSystem(), configurations,
+            sys -> new ShardContainer(), probes, 1) == first, is(true));
+
+        first.beforeSuite();
+        first.afterSuite();
+
+        StagedExamReactor second = ShardedStagedReactor.getInstance(new StubExamSystem(),
+            configurations, sys -> new ShardContainer(),
+            Collections.<TestProbeBuilder> singletonList(new Probe()), 1);
+        assertThat(second == first, is(false));
+        second.afterSuite();
+    }
+
+    private Void runTest(ShardedStagedReactor reactor, String className, TestListener listener)
+        throws Exception {
+        reactor.runTest(new TestDescription(className), listener);
+        return null;
+    }
+
+    private static class CountingListener implements TestListener {
+
+        private int events;
+
+        @Override
+        public void testStarted(TestDescription description) {
+            events++;
+        }
+
+        @Override
+        public void testFinished(TestDescription description) {
+            events++;
+        }
+
+        @Override
+        public void testFailure(TestFailure failure) {
+        }
+
+        @Override
+        public void testAssumptionFailure(TestFailure failure) {
+        }
+
+        @Override
+        public void testIgnored(TestDescription description) {
+        }
+    }
+
+    private static class Probe implements TestProbeBuilder, TestProbeProvider {
+
+        @Override
+        public InputStream getStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public TestProbeBuilder setHeader(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public TestProbeBuilder ignorePackageOf(Class<?>... classes) {
+            return this;
+        }
+
+        @Override
+        public TestProbeProvider build() {
+            return this;
+        }
+
+        @Override
+        public void addTest(Class<?> clazz) {
+        }
+
+        @Override
+        public void setTempDir(File tempDir) {
+        }
+
+        @Override
+        public File getTempDir() {
+            return null;
+        }
+    }
+
+    private static class StubExamSystem implements ExamSystem {
+
+        @Override
+        public <T extends Option> T getSingleOption(Class<T> optionType) {
+            return null;
+        }
+
+        @Override
+        public <T extends Option> T[] getOptions(Class<T> optionType) {
+            return null;
+        }
+
+        @Override
+        public ExamSystem fork(Option[] options) {
+            return this;
+        }
+
+        @Override
+        public File getConfigFolder() {
+            return null;
+        }
+
+        @Override
+        public File getTempFolder() {
+            return null;
+        }
+
+        @Override
+        public RelativeTimeout getTimeout() {
+            return RelativeTimeout.TIMEOUT_DEFAULT;
+        }
+
+        @Override
+        public TestProbeBuilder createProbe() {
+            return null;
+        }
+
+        @Override
+        public String createID(String purposeText) {
+            return purposeText;
+        }
+
+        @Override
+        public void clear() {
+        }
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.spi.reactors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+import org.ops4j.pax.exam.TestContainer;
+import org.ops4j.pax.exam.TestContainerException;
+import org.ops4j.pax.exam.TestProbeBuilder;
+import org.ops4j.pax.exam.spi.intern.StagingExecutor;
+
+public class SingletonStagedReactorTest {
+
+    @Test
+    public void shouldStopStartedContainersWhenStartFails() throws IOException {
+        TestContainer started = mock(TestContainer.class);
+        TestContainer failed = mock(TestContainer.class);
+        IOException failure = new IOException("boom");
+        doThrow(failure).when(failed).start();
+        SingletonStagedReactor reactor = new SingletonStagedReactor(
+            Arrays.asList(started, failed), Collections.<TestProbeBuilder> emptyList(),
+            new StagingExecutor(2));
+
+        try {
+            reactor.beforeSuite();
+            fail("expected TestContainerException");
+        }
+        catch (TestContainerException exc) {
+            assertEquals(failure, exc.getCause());
+        }
+        verify(started).stop();
+        verify(failed, never()).stop();
+
+        reactor.afterSuite();
+        verify(started).stop();
+    }
+}
@@ -61,6 +61,18 @@ public class Constants {
      */
     public static final String PROBE_EXECUTABLE = "PaxExam-Executable";
 
+    /**
+     * Enables the probe cache. When true, probe jars are kept in the {@code probe-cache} subfolder
+     * of {@code ~/.pax/exam-cache} and reused by later test runs as long as the probe content is
+     * unchanged.
+     */
+    public static final String EXAM_PROBE_CACHE_KEY = "pax.exam.probe.cache";
+
+    /**
+     * Default value for the probe cache (enabled).
+     */
+    public static final String EXAM_PROBE_CACHE_DEFAULT = "true";
+
     /** Name of configuration properties file. */
     public static final String EXAM_PROPERTIES_FILE = "exam.properties";
 
@@ -89,13 +101,49 @@ public class Constants {
     public static final String EXAM_SYSTEM_TEST = "test";
 
     /**
-     * Default reactor strategy. Legal values are {@code PerSuite, PerClass, PerMethod}.
+     * Default reactor strategy. Legal values are {@code PerSuite, PerClass, PerMethod,
+     * PerConfiguration, Sharded}.
      */
     public static final String EXAM_REACTOR_STRATEGY_KEY = "pax.exam.reactor.strategy";
 
     public static final String EXAM_REACTOR_STRATEGY_PER_SUITE = "PerSuite";
     public static final String EXAM_REACTOR_STRATEGY_PER_CLASS = "PerClass";
     public static final String EXAM_REACTOR_STRATEGY_PER_METHOD = "PerMethod";
+    public static final String EXAM_REACTOR_STRATEGY_PER_CONFIGURATION = "PerConfiguration";
+    public static final String EXAM_REACTOR_STRATEGY_SHARDED = "Sharded";
+
+    /**
+     * Number of identical test containers started by the {@code Sharded} reactor strategy. Test
+     * classes running concurrently are dispatched to the next free container.
+     */
+    public static final String EXAM_REACTOR_SHARDS_KEY = "pax.exam.reactor.shards";
+
+    /**
+     * Default value for the number of shards.
+     */
+    public static final String EXAM_REACTOR_SHARDS_DEFAULT = "2";
+
+    /**
+     * Maximum number of idle test containers kept running by the {@code PerConfiguration} reactor
+     * strategy. The least recently used container is stopped when the limit is exceeded.
+     */
+    public static final String EXAM_REACTOR_POOL_SIZE_KEY = "pax.exam.reactor.pool.size";
+
+    /**
+     * Default value for the container pool size.
+     */
+    public static final String EXAM_REACTOR_POOL_SIZE_DEFAULT = "2";
+
+    /**
+     * Maximum number of threads used to create, start and provision the test containers of a
+     * reactor. With the default value of 1, containers are staged one after another.
+     */
+    public static final String EXAM_REACTOR_STAGING_THREADS_KEY = "pax.exam.reactor.staging.threads";
+
+    /**
+     * Default value for staging threads (sequential staging).
+     */
+    public static final String EXAM_REACTOR_STAGING_THREADS_DEFAULT = "1";
 
     /**
      * Timeout for service lookup in milliseconds.
@@ -128,6 +176,55 @@ public class Constants {
      */
     public static final String EXAM_FAIL_ON_UNRESOLVED_KEY = "pax.exam.osgi.unresolved.fail";
 
+    /**
+     * Should the Native Test Container save the provisioned framework storage as a template and
+     * restore it for later containers with the same configuration instead of installing all
+     * bundles again? Values: true | false.
+     */
+    public static final String EXAM_NATIVE_STORAGE_SNAPSHOT_KEY = "pax.exam.native.storage.snapshot";
+
+    /**
+     * Default value for framework storage snapshots (disabled).
+     */
+    public static final String EXAM_NATIVE_STORAGE_SNAPSHOT_DEFAULT = "false";
+
+    /**
+     * Number of threads used by the Native Test Container to download provisioned bundles ahead
+     * of their installation. With a value of 1, each bundle is downloaded by the framework when it
+     * is installed.
+     */
+    public static final String EXAM_NATIVE_DOWNLOAD_THREADS_KEY = "pax.exam.native.download.threads";
+
+    /**
+     * Default value for download threads.
+     */
+    public static final String EXAM_NATIVE_DOWNLOAD_THREADS_DEFAULT = "4";
+
+    /**
+     * Should the Karaf Test Container extract each distribution only once into a template in the
+     * {@code karaf-templates} subfolder of {@code ~/.pax/exam-cache} and clone this template for
+     * each container? Values: true | false.
+     */
+    public static final String EXAM_KARAF_TEMPLATES_KEY = "pax.exam.karaf.templates";
+
+    /**
+     * Default value for Karaf distribution templates (enabled).
+     */
+    public static final String EXAM_KARAF_TEMPLATES_DEFAULT = "true";
+
+    /**
+     * Should the Karaf Test Container save the framework storage of a container once it has
+     * booted and restore it for later containers with the same distribution, features and
+     * provisioned bundles, so that Karaf does not resolve and install the boot features again? The
+     * storage is saved before the first probe is installed. Values: true | false.
+     */
+    public static final String EXAM_KARAF_BOOT_CACHE_KEY = "pax.exam.karaf.boot.cache";
+
+    /**
+     * Default value for the Karaf boot cache (disabled).
+     */
+    public static final String EXAM_KARAF_BOOT_CACHE_DEFAULT = "false";
+
     /**
      * Port for socket-based communication with remote invoker.
      */
@@ -158,6 +255,48 @@ public class Constants {
      */
     public static final String EXAM_FORKED_INVOKER_PORT_RANGE_UPPERBOUND = "pax.exam.forked.invoker.port.range.upperbound";
 
+    /**
+     * Maximum number of idle Java VMs kept ready by the Forked Test Container. When a container
+     * is started, the pool forks another VM with the same configuration in the background, so the
+     * next container with this configuration does not have to wait for VM startup.
+     */
+    public static final String EXAM_FORKED_POOL_SIZE_KEY = "pax.exam.forked.pool.size";
+
+    /**
+     * Default value for the forked VM pool size (no pool).
+     */
+    public static final String EXAM_FORKED_POOL_SIZE_DEFAULT = "0";
+
+    /**
+     * Should forked and Karaf Java VMs use a class data sharing archive, created automatically for
+     * each class path and Java version in the {@code cds} subfolder of {@code ~/.pax/exam-cache}?
+     * Requires Java 19 or higher in the forked VM. Values: true | false.
+     */
+    public static final String EXAM_CDS_KEY = "pax.exam.cds";
+
+    /**
+     * Default value for class data sharing (disabled).
+     */
+    public static final String EXAM_CDS_DEFAULT = "false";
+
+    /**
+     * Directory of the artifact cache shared by all forked and Karaf test containers and test runs
+     * of the current user. Defaults to {@code ~/.pax/exam-cache/artifact-cache}, which is outside
+     * of the default runtime folder {@code ~/.pax/exam} of the Karaf Test Container.
+     */
+    public static final String EXAM_ARTIFACT_CACHE_KEY = "pax.exam.artifact.cache";
+
+    /**
+     * Maximum size of the artifact cache in megabytes. The least recently used artifacts are
+     * evicted when the cache grows beyond this size.
+     */
+    public static final String EXAM_ARTIFACT_CACHE_SIZE_KEY = "pax.exam.artifact.cache.size";
+
+    /**
+     * Default value for the artifact cache size (1 GB).
+     */
+    public static final String EXAM_ARTIFACT_CACHE_SIZE_DEFAULT = "1024";
+
     /** Hidden utility class constructor. */
     private Constants() {
     }
@@ -26,4 +26,24 @@ public interface ProbeInvoker {
     void runTest(TestDescription description, TestListener listener);
 
     void runTestClass(String description);
+
+    /**
+     * Runs the given tests and reports the events tagged with the given run ID on the event
+     * channel of the test container, followed by a {@link TestEventType#RUN_FINISHED} event.
+     * <p>
+     * The default implementation ignores the run ID and calls {@link #runTestClass(String)}.
+     * Invokers which do not override this method do not send a RUN_FINISHED event, so the test
+     * container must not wait for it.
+     *
+     * @param description
+     *            encoded test description
+     * @param runId
+     *            run ID chosen by the test container
+     * @return true if a RUN_FINISHED event has been sent for the given run
+     * @since 5.0.0
+     */
+    default boolean runTestClass(String description, String runId) {
+        runTestClass(description);
+        return false;
+    }
 }
@@ -59,6 +59,28 @@ public interface TestContainer {
      */
     void installProbe(InputStream stream) throws IOException;
 
+    /**
+     * Tells whether {@link #uninstallProbe()} is supported. Reactors may only reuse a running
+     * container for another probe if this method returns true.
+     *
+     * @return true if this container can uninstall probes
+     */
+    default boolean supportsProbeUninstall() {
+        return false;
+    }
+
+    /**
+     * Uninstalls the probe installed by {@link #installProbe(InputStream)}, leaving the container
+     * running. This lets a reactor reuse a running container for another probe. Callers must
+     * check {@link #supportsProbeUninstall()} first.
+     *
+     * @throws UnsupportedOperationException
+     *             if {@link #supportsProbeUninstall()} returns false
+     */
+    default void uninstallProbe() {
+        throw new UnsupportedOperationException("Not available.");
+    }
+
     /**
      * Stops the regression container. Implementations should take care of calling cleanup()
      * internally, too.
@@ -26,6 +26,8 @@ public class TestEvent implements Serializable {
     private final TestEventType type;
     private final TestDescription description;
     private final Throwable exception;
+    private final String runId;
+    private final long sequence;
 
 
 
@@ -34,6 +36,44 @@ public class TestEvent implements Serializable {
     }
 
     public TestEvent(TestEventType type, TestDescription description, Throwable exception) {
+        this(null, type, description, exception);
+    }
+
+    /**
+     * @param runId
+     *            identifies the test run this event belongs to, when several runs share an event
+     *            channel
+     * @param type
+     *            event type
+     * @param description
+     *            test description
+     * @param exception
+     *            exception of a failure event, or null
+     * @since 5.0.0
+     */
+    public TestEvent(String runId, TestEventType type, TestDescription description,
+        Throwable exception) {
+        this(runId, 0, type, description, exception);
+    }
+
+    /**
+     * @param runId
+     *            identifies the test run this event belongs to, when several runs share an event
+     *            channel
+     * @param sequence
+     *            sequence number of this event on its connection, or 0 if the event is not numbered
+     * @param type
+     *            event type
+     * @param description
+     *            test description
+     * @param exception
+     *            exception of a failure event, or null
+     * @since 5.0.0
+     */
+    public TestEvent(String runId, long sequence, TestEventType type,
+        TestDescription description, Throwable exception) {
+        this.runId = runId;
+        this.sequence = sequence;
         this.type = type;
         this.description = description;
         this.exception = exception;
@@ -62,4 +102,25 @@ public class TestEvent implements Serializable {
     public Throwable getException() {
         return exception;
     }
+
+
+    /**
+     * @return the run ID, or null if this event is not tagged with a run
+     * @since 5.0.0
+     */
+    public String getRunId() {
+        return runId;
+    }
+
+
+    /**
+     * Sequence numbers increase with each event written on a connection. Events resent after a
+     * connection failure keep their number, so a receiver can drop duplicates.
+     *
+     * @return the sequence number, or 0 if this event is not numbered
+     * @since 5.0.0
+     */
+    public long getSequence() {
+        return sequence;
+    }
 }
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.ops4j.pax.exam.TestEventWriter.MAGIC;
+import static org.ops4j.pax.exam.TestEventWriter.STRING_LITERAL;
+import static org.ops4j.pax.exam.TestEventWriter.STRING_NEW;
+import static org.ops4j.pax.exam.TestEventWriter.STRING_NULL;
+import static org.ops4j.pax.exam.TestEventWriter.STRING_REF;
+import static org.ops4j.pax.exam.TestEventWriter.VERSION;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Constructor;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads {@link TestEvent}s written by a {@link TestEventWriter}.
+ * <p>
+ * Exceptions are recreated from their class name and message if the class can be loaded and has a
+ * suitable constructor. Otherwise, they are represented by a
+ * {@link WrappedTestContainerException}. In both cases, the original stack trace is restored.
+ *
+ * @since 5.0.0
+ */
+public class TestEventReader implements Closeable {
+
+    private static final TestEventType[] TYPES = TestEventType.values();
+
+    private final DataInputStream in;
+    private final ClassLoader classLoader;
+    private final List<String> strings = new ArrayList<>();
+
+    /**
+     * Creates a reader loading exception classes from the context class loader.
+     *
+     * @param is
+     *            input stream
+     * @throws IOException
+     *             if the stream header cannot be read or is invalid
+     */
+    public TestEventReader(InputStream is) throws IOException {
+        this(is, null);
+    }
+
+    /**
+     * Creates a reader and reads the stream header.
+     *
+     * @param is
+     *            input stream
+     * @param classLoader
+     *            class loader for exception classes, or null for the context class loader
+     * @throws IOException
+     *             if the stream header cannot be read or is invalid
+     */
+    public TestEventReader(InputStream is, ClassLoader classLoader) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(is));
+        this.classLoader = classLoader;
+        if (in.readInt() != MAGIC) {
+            throw new StreamCorruptedException("not a test event stream");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) {
+            throw new StreamCorruptedException("unsupported test event stream version " + version);
+        }
+    }
+
+    /**
+     * Reads the next event, blocking until it is available.
+     *
+     * @return event, or null at the end of the stream
+     * @throws IOException
+     *             on I/O error, or if the stream ends in the middle of an event
+     */
+    public TestEvent read() throws IOException {
+        int ordinal = in.read();
+        if (ordinal < 0) {
+            return null;
+        }
+        if (ordinal >= TYPES.length) {
+            throw new StreamCorruptedException("unknown test event type " + ordinal);
+        }
+        TestEventType type = TYPES[ordinal];
+        String runId = readString();
+        long sequence = readVarLong();
+        TestDescription description = readDescription();
+        Throwable exception = readThrowable();
+        if (type == TestEventType.RUN_FINISHED) {
+            strings.clear();
+        }
+        return new TestEvent(runId, sequence, type, description, exception);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private TestDescription readDescription() throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String className = readString();
+        String methodName = readString();
+        Integer index = in.readBoolean() ? in.readInt() : null;
+        TestFilter filter = null;
+        if (in.readBoolean()) {
+            filter = new TestFilter(readString());
+            int count = readVarInt();
+            for (int i = 0; i < count; i++) {
+                filter.addUniqueId(readString());
+            }
+        }
+        return new TestDescription(className, methodName, index, filter);
+    }
+
+    private Throwable readThrowable() throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        String className = readString();
+        String message = readString();
+        StackTraceElement[] stackTrace = new StackTraceElement[readVarInt()];
+        for (int i = 0; i < stackTrace.length; i++) {
+            String declaringClass = readString();
+            String methodName = readString();
+            String fileName = readString();
+            int lineNumber = readVarInt() - 2;
+            stackTrace[i] = new StackTraceElement(declaringClass, methodName, fileName,
+                lineNumber);
+        }
+        Throwable cause = readThrowable();
+        int suppressedCount = readVarInt();
+        Throwable exc = createThrowable(className, message);
+        exc.setStackTrace(stackTrace);
+        if (cause != null) {
+            try {
+                exc.initCause(cause);
+            }
+            catch (IllegalStateException | IllegalArgumentException e) {
+                // cause already set by constructor
+            }
+        }
+        for (int i = 0; i < suppressedCount; i++) {
+            Throwable suppressed = readThrowable();
+            if (suppressed != null) {
+                exc.addSuppressed(suppressed);
+            }
+        }
+        return exc;
+    }
+
+    private Throwable createThrowable(String className, String message) {
+        try {
+            ClassLoader cl = classLoader;
+            if (cl == null) {
+                cl = Thread.currentThread().getContextClassLoader();
+            }
+            Class<?> klass = Class.forName(className, false, cl);
+            if (Throwable.class.isAssignableFrom(klass)) {
+                Throwable exc = newInstance(klass, message);
+                if (exc != null) {
+                    return exc;
+                }
+            }
+        }
+        // CHECKSTYLE:SKIP
+        catch (ClassNotFoundException | LinkageError | RuntimeException exc) {
+            // fall through
+        }
+        return new WrappedTestContainerException(className, message);
+    }
+
+    private static Throwable newInstance(Class<?> klass, String message) {
+        for (Class<?> paramType : new Class<?>[] { String.class, Object.class }) {
+            try {
+                Constructor<?> ctor = klass.getConstructor(paramType);
+                return (Throwable) ctor.newInstance(message);
+            }
+            catch (ReflectiveOperationException exc) {
+                // try next constructor
+            }
+        }
+        if (message == null) {
+            try {
+                return (Throwable) klass.getConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException exc) {
+                // no default constructor
+            }
+        }
+        return null;
+    }
+
+    private String readString() throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case STRING_NULL:
+                return null;
+            case STRING_REF:
+                int index = readVarInt();
+                if (index >= strings.size()) {
+                    throw new StreamCorruptedException("invalid string reference " + index);
+                }
+                return strings.get(index);
+            case STRING_NEW:
+            case STRING_LITERAL:
+                byte[] bytes = new byte[readVarInt()];
+                in.readFully(bytes);
+                String s = new String(bytes, StandardCharsets.UTF_8);
+                if (tag == STRING_NEW) {
+                    strings.add(s);
+                }
+                return s;
+            default:
+                throw new StreamCorruptedException("invalid string tag " + tag);
+        }
+    }
+
+    private int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("invalid varint");
+    }
+
+    private long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new StreamCorruptedException("invalid varint");
+    }
+}
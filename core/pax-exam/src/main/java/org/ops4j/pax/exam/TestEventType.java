@@ -23,5 +23,10 @@ public enum TestEventType {
     TEST_FINISHED,
     TEST_FAILED,
     TEST_ASSUMPTION_FAILED,
-    TEST_IGNORED
+    TEST_IGNORED,
+
+    /**
+     * Sent after the last event of a test run on a multiplexed event channel.
+     */
+    RUN_FINISHED
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes {@link TestEvent}s in a compact binary format, to be read by a {@link TestEventReader}.
+ * <p>
+ * Unlike Java serialization, the format does not contain class descriptors. Exceptions are written
+ * as class name, message, stack trace, cause and suppressed exceptions, so the reader does not
+ * need the exception classes. Strings are written once per test run and referenced by index
+ * afterwards, which keeps repeated class names in stack traces small.
+ * <p>
+ * The stream starts with a header containing {@link #MAGIC} and {@link #VERSION}. Each event is
+ * written as
+ *
+ * <pre>
+ * event       = type:byte runId:string description exception
+ * description = 0 | 1 className:string methodName:string index:int? filter?
+ * filter      = 0 | 1 description:string count:varint uniqueId:string*
+ * exception   = 0 | 1 className:string message:string count:varint frame* exception
+ *               count:varint exception*
+ * frame       = declaringClass:string methodName:string fileName:string lineNumber:varint
+ * string      = 0 (null) | 1 length:varint utf8 (indexed) | 2 index:varint | 3 length:varint utf8
+ * </pre>
+ *
+ * @since 5.0.0
+ */
+public class TestEventWriter implements Closeable, Flushable {
+
+    /** Identifies a test event stream. */
+    public static final int MAGIC = 0x50584556;
+
+    /** Format version written by this class. */
+    public static final int VERSION = 2;
+
+    static final int STRING_NULL = 0;
+    static final int STRING_NEW = 1;
+    static final int STRING_REF = 2;
+    static final int STRING_LITERAL = 3;
+
+    /** Maximum number of strings remembered per test run. */
+    static final int MAX_STRINGS = 4096;
+
+    private final DataOutputStream out;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    /**
+     * Creates a writer and writes the stream header.
+     *
+     * @param os
+     *            output stream
+     * @throws IOException
+     *             on I/O error
+     */
+    public TestEventWriter(OutputStream os) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(os));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+    }
+
+    /**
+     * Writes an event. The event is buffered until the writer is flushed.
+     *
+     * @param event
+     *            test event
+     * @throws IOException
+     *             on I/O error
+     */
+    public void write(TestEvent event) throws IOException {
+        out.writeByte(event.getType().ordinal());
+        writeString(event.getRunId());
+        writeVarLong(event.getSequence());
+        writeDescription(event.getDescription());
+        writeThrowable(event.getException(),
+            Collections.newSetFromMap(new IdentityHashMap<Throwable, Boolean>()));
+        if (event.getType() == TestEventType.RUN_FINISHED) {
+            // the reader clears its string table at the same point
+            strings.clear();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeDescription(TestDescription description) throws IOException {
+        if (description == null) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        writeString(description.getClassName());
+        writeString(description.getMethodName());
+        Integer index = description.getIndex();
+        out.writeBoolean(index != null);
+        if (index != null) {
+            out.writeInt(index);
+        }
+        TestFilter filter = description.getFilter();
+        out.writeBoolean(filter != null);
+        if (filter != null) {
+            writeString(filter.getDescription());
+            List<String> uniqueIds = filter.getUniqueIds();
+            writeVarInt(uniqueIds.size());
+            for (String uniqueId : uniqueIds) {
+                writeString(uniqueId);
+            }
+        }
+    }
+
+    private void writeThrowable(Throwable exc, Set<Throwable> written) throws IOException {
+        if (exc == null || !written.add(exc)) {
+            out.writeBoolean(false);
+            return;
+        }
+        out.writeBoolean(true);
+        if (exc instanceof WrappedTestContainerException) {
+            writeString(((WrappedTestContainerException) exc).getWrappedClassName());
+        }
+        else {
+            writeString(exc.getClass().getName());
+        }
+        writeString(exc.getMessage());
+        StackTraceElement[] stackTrace = exc.getStackTrace();
+        writeVarInt(stackTrace.length);
+        for (StackTraceElement frame : stackTrace) {
+            writeString(frame.getClassName());
+            writeString(frame.getMethodName());
+            writeString(frame.getFileName());
+            // native methods have line number -2
+            writeVarInt(frame.getLineNumber() + 2);
+        }
+        writeThrowable(exc.getCause(), written);
+        Throwable[] suppressed = exc.getSuppressed();
+        writeVarInt(suppressed.length);
+        for (Throwable s : suppressed) {
+            writeThrowable(s, written);
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            out.writeByte(STRING_NULL);
+            return;
+        }
+        Integer index = strings.get(s);
+        if (index != null) {
+            out.writeByte(STRING_REF);
+            writeVarInt(index);
+            return;
+        }
+        if (strings.size() < MAX_STRINGS) {
+            strings.put(s, strings.size());
+            out.writeByte(STRING_NEW);
+        }
+        else {
+            out.writeByte(STRING_LITERAL);
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private void writeVarInt(int value) throws IOException {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            out.writeByte((int) (v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte((int) v);
+    }
+}
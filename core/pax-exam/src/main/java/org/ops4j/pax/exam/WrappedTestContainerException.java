@@ -40,6 +40,21 @@ public class WrappedTestContainerException extends TestContainerException {
         setStackTrace(exception.getStackTrace());
     }
 
+    /**
+     * Represents an exception of a class which is not available.
+     *
+     * @param wrappedClassName
+     *            class name of the original exception
+     * @param wrappedMessage
+     *            message of the original exception
+     * @since 5.0.0
+     */
+    public WrappedTestContainerException(String wrappedClassName, String wrappedMessage) {
+        super(wrappedMessage);
+        this.wrappedClassName = wrappedClassName;
+        this.wrappedMessage = wrappedMessage;
+    }
+
     public String getWrappedClassName() {
         return wrappedClassName;
     }
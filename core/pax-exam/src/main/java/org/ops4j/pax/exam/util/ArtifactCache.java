@@ -0,0 +1,334 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import static org.ops4j.pax.exam.Constants.EXAM_ARTIFACT_CACHE_KEY;
+import static org.ops4j.pax.exam.Constants.EXAM_ARTIFACT_CACHE_SIZE_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_ARTIFACT_CACHE_SIZE_KEY;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A content-addressed cache of downloaded artifacts, shared by all test containers and test runs
+ * of the current user. Containers may hard link the cached files, so they are never modified.
+ * <p>
+ * Artifacts are stored as {@code artifacts/<sha-256>.jar}. Each process keeps an in-memory index
+ * from URL to digest. Since released Maven artifacts never change, the digests of {@code mvn:}
+ * URLs without {@code SNAPSHOT} are also kept on disk in {@code index/}, so that later runs do not
+ * download them again. All other URLs are downloaded once per process.
+ * <p>
+ * Files are written to a temporary file in the cache and published with an atomic rename, so
+ * concurrent processes never see partial files. Two processes downloading the same artifact
+ * publish identical content under the same name.
+ * <p>
+ * When the cache exceeds its maximum size, the least recently used artifacts are deleted, except
+ * for those used by the current process. The last use of an artifact is recorded by an empty file
+ * in {@code access/}, since changing the modification time of an artifact which is linked into a
+ * running container could make this container reinstall it.
+ *
+ * @since 5.0.0
+ */
+public class ArtifactCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArtifactCache.class);
+
+    private static ArtifactCache defaultCache;
+
+    private final File artifactDir;
+    private final File indexDir;
+    private final File accessDir;
+    private final File tempDir;
+    private final long maxSize;
+
+    private final Map<String, File> urlIndex = new ConcurrentHashMap<>();
+    private final Set<File> used = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates a cache in the given directory.
+     *
+     * @param root
+     *            cache directory
+     * @param maxSize
+     *            maximum cache size in bytes
+     */
+    public ArtifactCache(File root, long maxSize) {
+        this.artifactDir = new File(root, "artifacts");
+        this.indexDir = new File(root, "index");
+        this.accessDir = new File(root, "access");
+        this.tempDir = new File(root, "tmp");
+        this.maxSize = maxSize;
+        artifactDir.mkdirs();
+        indexDir.mkdirs();
+        accessDir.mkdirs();
+        tempDir.mkdirs();
+    }
+
+    /**
+     * @return the cache configured by {@code pax.exam.artifact.cache} and
+     *         {@code pax.exam.artifact.cache.size}
+     */
+    public static synchronized ArtifactCache getDefault() {
+        if (defaultCache == null) {
+            ConfigurationManager cm = new ConfigurationManager();
+            File defaultRoot = new File(System.getProperty("user.home"),
+                ".pax/exam-cache/artifact-cache");
+            String root = cm.getProperty(EXAM_ARTIFACT_CACHE_KEY, defaultRoot.getPath());
+            String size = cm.getProperty(EXAM_ARTIFACT_CACHE_SIZE_KEY,
+                EXAM_ARTIFACT_CACHE_SIZE_DEFAULT);
+            long megabytes;
+            try {
+                megabytes = Long.parseLong(size.trim());
+            }
+            catch (NumberFormatException exc) {
+                throw new TestContainerException("illegal value for "
+                    + EXAM_ARTIFACT_CACHE_SIZE_KEY + ": " + size, exc);
+            }
+            defaultCache = new ArtifactCache(new File(root), megabytes * 1024 * 1024);
+        }
+        return defaultCache;
+    }
+
+    /**
+     * Looks up the artifact of the given URL.
+     *
+     * @param url
+     *            artifact URL
+     * @return cached file, or null if the artifact has to be downloaded
+     */
+    public File get(String url) {
+        File file = urlIndex.get(url);
+        if (file == null && isImmutable(url)) {
+            file = readIndex(url);
+        }
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        use(url, file);
+        return file;
+    }
+
+    /**
+     * @return a new temporary file in the cache directory, to be passed to
+     *         {@link #publish(String, File)}
+     * @throws IOException
+     *             if the file cannot be created
+     */
+    public File createTempFile() throws IOException {
+        return File.createTempFile("download", ".part", tempDir);
+    }
+
+    /**
+     * Moves a downloaded file into the cache.
+     *
+     * @param url
+     *            artifact URL
+     * @param download
+     *            temporary file created by {@link #createTempFile()}
+     * @return cached file
+     * @throws IOException
+     *             if the file cannot be published
+     */
+    public File publish(String url, File download) throws IOException {
+        String digest = digest(download);
+        File file = new File(artifactDir, digest + ".jar");
+        if (file.exists()) {
+            Files.delete(download.toPath());
+        }
+        else {
+            move(download.toPath(), file.toPath());
+        }
+        if (isImmutable(url)) {
+            writeIndex(url, digest);
+        }
+        use(url, file);
+        evict();
+        return file;
+    }
+
+    private void use(String url, File file) {
+        urlIndex.put(url, file);
+        if (used.add(file)) {
+            File access = new File(accessDir, file.getName());
+            try {
+                if (!access.createNewFile()) {
+                    access.setLastModified(System.currentTimeMillis());
+                }
+            }
+            catch (IOException exc) {
+                LOG.debug("cannot record access to {}", file, exc);
+            }
+        }
+    }
+
+    private long lastAccess(File file) {
+        File access = new File(accessDir, file.getName());
+        return access.exists() ? access.lastModified() : file.lastModified();
+    }
+
+    /**
+     * Released Maven artifacts never change, so their digests can be kept across test runs. This
+     * requires a fixed version: snapshots, version ranges, {@code LATEST}, {@code RELEASE} and
+     * missing versions resolve to different artifacts over time.
+     *
+     * @param url
+     *            artifact URL
+     * @return true if the given URL is a Maven URL with a fixed version
+     */
+    public static boolean isImmutable(String url) {
+        if (!url.startsWith("mvn:")) {
+            return false;
+        }
+        String coordinates = url.substring(url.lastIndexOf('!') + 1);
+        if (coordinates.startsWith("mvn:")) {
+            coordinates = coordinates.substring("mvn:".length());
+        }
+        String[] parts = coordinates.split("/");
+        if (parts.length < 3) {
+            return false;
+        }
+        String version = parts[2];
+        return !version.isEmpty() && !version.contains("SNAPSHOT") && !version.equals("LATEST")
+            && !version.equals("RELEASE") && version.matches("[^\\[\\](),]+");
+    }
+
+    private File readIndex(String url) {
+        File indexFile = new File(indexDir, hash(url));
+        if (!indexFile.exists()) {
+            return null;
+        }
+        try {
+            String digest = new String(Files.readAllBytes(indexFile.toPath()),
+                StandardCharsets.UTF_8);
+            return new File(artifactDir, digest + ".jar");
+        }
+        catch (IOException exc) {
+            LOG.debug("cannot read cache index {}", indexFile, exc);
+            return null;
+        }
+    }
+
+    private void writeIndex(String url, String digest) throws IOException {
+        File indexFile = new File(indexDir, hash(url));
+        File temp = createTempFile();
+        Files.write(temp.toPath(), digest.getBytes(StandardCharsets.UTF_8));
+        move(temp.toPath(), indexFile.toPath());
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException exc) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the least recently used artifacts until the cache fits into its maximum size.
+     * Index entries of deleted artifacts are left behind and ignored on lookup.
+     */
+    private synchronized void evict() {
+        File[] files = artifactDir.listFiles();
+        if (files == null) {
+            return;
+        }
+        long size = 0;
+        for (File file : files) {
+            size += file.length();
+        }
+        if (size <= maxSize) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(this::lastAccess));
+        for (File file : files) {
+            if (size <= maxSize) {
+                break;
+            }
+            if (used.contains(file)) {
+                continue;
+            }
+            long length = file.length();
+            try {
+                Files.delete(file.toPath());
+                new File(accessDir, file.getName()).delete();
+                size -= length;
+                LOG.debug("evicted {} from artifact cache", file);
+            }
+            catch (NoSuchFileException exc) {
+                // evicted by another process
+                size -= length;
+            }
+            catch (IOException exc) {
+                LOG.warn("cannot evict {} from artifact cache", file, exc);
+            }
+        }
+    }
+
+    private static String digest(File file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream is = Files.newInputStream(file.toPath())) {
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = is.read(buffer)) != -1) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private static String hash(String url) {
+        return toHex(newDigest().digest(url.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder();
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 OPS4J Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Exponential backoff with jitter for retry loops, e.g. when waiting for a remote object to appear
+ * in an RMI registry.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * Backoff backoff = new Backoff(10, 500);
+ * long deadline = System.currentTimeMillis() + timeout;
+ * do {
+ *     // try and break on success
+ * }
+ * while (backoff.await(deadline));
+ * </pre>
+ *
+ * @since 5.0.0
+ */
+public class Backoff {
+
+    private final long maxDelay;
+
+    private long delay;
+
+    private int attempts;
+
+    /**
+     * Creates a backoff.
+     *
+     * @param initialDelay
+     *            upper bound of the first delay in milliseconds
+     * @param maxDelay
+     *            upper bound of all delays in milliseconds
+     */
+    public Backoff(long initialDelay, long maxDelay) {
+        this.delay = Math.max(1, initialDelay);
+        this.maxDelay = Math.max(delay, maxDelay);
+    }
+
+    /**
+     * Returns the next delay and doubles the delay bound for the subsequent call. The delay is
+     * chosen randomly between half the current bound and the bound itself, so that concurrent
+     * retry loops do not run in lockstep.
+     *
+     * @return delay in milliseconds
+     */
+    public long nextDelay() {
+        attempts++;
+        long bound = delay;
+        delay = Math.min(maxDelay, delay * 2);
+        long half = bound / 2;
+        return half + ThreadLocalRandom.current().nextLong(bound - half + 1);
+    }
+
+    /**
+     * Sleeps for the next delay, but not beyond the given deadline.
+     *
+     * @param deadline
+     *            deadline in milliseconds as given by {@link System#currentTimeMillis()}, or
+     *            {@link Long#MAX_VALUE} for no deadline
+     * @return true if the caller should retry, false if the deadline has passed or the thread was
+     *         interrupted
+     */
+    public boolean await(long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+            return false;
+        }
+        try {
+            Thread.sleep(Math.min(nextDelay(), remaining));
+            return true;
+        }
+        catch (InterruptedException exc) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Returns the number of delays handed out so far.
+     *
+     * @return number of retries
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+}
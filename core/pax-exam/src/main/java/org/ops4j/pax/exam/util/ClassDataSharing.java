@@ -0,0 +1,216 @@
+/*
+ * Copyright 2026 OPS4J Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import static org.ops4j.pax.exam.Constants.EXAM_CDS_DEFAULT;
+import static org.ops4j.pax.exam.Constants.EXAM_CDS_KEY;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Properties;
+
+import org.ops4j.pax.exam.ConfigurationManager;
+import org.ops4j.pax.exam.TestContainerException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Computes the VM options for class data sharing in Java VMs launched by Pax Exam.
+ * <p>
+ * Each distinct combination of Java installation and class path gets its own archive in
+ * {@code ~/.pax/exam-cache/cds}. The archive is created by the first VM when it exits and used by
+ * all later VMs. Java 19 or higher is required, since creating the archive on demand and
+ * recreating it when the class path has changed relies on {@code -XX:+AutoCreateSharedArchive}.
+ * For older Java versions, and when the VM options already contain class data sharing settings, no
+ * options are added.
+ * <p>
+ * Archives are identified by the names and the content of the class path entries rather than by
+ * their paths, so containers unpacked into different folders share an archive. If the VM does not
+ * accept the archive for a class path in another folder, it recreates the same archive instead of
+ * adding a new one.
+ *
+ * @since 5.0.0
+ */
+public class ClassDataSharing {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClassDataSharing.class);
+
+    /** Minimum Java version supporting {@code -XX:+AutoCreateSharedArchive}. */
+    static final int MIN_JAVA_VERSION = 19;
+
+    /** Maximum number of archives kept. The least recently used ones are deleted. */
+    static final int MAX_ARCHIVES = 16;
+
+    private ClassDataSharing() {
+    }
+
+    /**
+     * Returns the VM options for class data sharing.
+     *
+     * @param javaHome
+     *            Java installation of the VM to be launched
+     * @param vmArgs
+     *            VM arguments configured by the user
+     * @param classpath
+     *            class path of the VM to be launched
+     * @return VM options, may be empty
+     */
+    public static List<String> getVmOptions(String javaHome, List<String> vmArgs,
+        List<String> classpath) {
+        ConfigurationManager cm = new ConfigurationManager();
+        if (!Boolean.parseBoolean(cm.getProperty(EXAM_CDS_KEY, EXAM_CDS_DEFAULT))
+            || hasSharingOptions(vmArgs)) {
+            return Collections.emptyList();
+        }
+        String javaVersion = getJavaVersion(javaHome);
+        if (javaVersion == null || getFeatureVersion(javaVersion) < MIN_JAVA_VERSION) {
+            LOG.debug("no class data sharing for Java version {} in {}", javaVersion, javaHome);
+            return Collections.emptyList();
+        }
+        File archiveDir = new File(System.getProperty("user.home"), ".pax/exam-cache/cds");
+        archiveDir.mkdirs();
+        String key = getKey(javaHome, javaVersion, classpath);
+        File archive = new File(archiveDir, key + ".jsa");
+        if (archive.exists()) {
+            archive.setLastModified(System.currentTimeMillis());
+        }
+        else {
+            evict(archiveDir);
+        }
+        return Arrays.asList("-XX:+AutoCreateSharedArchive",
+            "-XX:SharedArchiveFile=" + archive.getAbsolutePath());
+    }
+
+    static boolean hasSharingOptions(List<String> vmArgs) {
+        for (String arg : vmArgs) {
+            if (arg.startsWith("-Xshare") || arg.startsWith("-XX:SharedArchiveFile")
+                || arg.startsWith("-XX:ArchiveClassesAtExit")
+                || arg.contains("AutoCreateSharedArchive")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the version in the {@code release} file of the given Java installation, or the
+     *         version of the running VM if it is the same installation
+     */
+    static String getJavaVersion(String javaHome) {
+        File release = new File(javaHome, "release");
+        if (release.isFile()) {
+            Properties properties = new Properties();
+            try (InputStream is = Files.newInputStream(release.toPath())) {
+                properties.load(is);
+                String version = properties.getProperty("JAVA_VERSION");
+                if (version != null) {
+                    return version.replace("\"", "");
+                }
+            }
+            catch (IOException exc) {
+                LOG.debug("cannot read {}", release, exc);
+            }
+        }
+        if (new File(javaHome).getAbsoluteFile().equals(
+            new File(System.getProperty("java.home")).getAbsoluteFile())) {
+            return System.getProperty("java.version");
+        }
+        return null;
+    }
+
+    /**
+     * @return the feature version, e.g. 8 for {@code 1.8.0_292} and 21 for {@code 21.0.1}
+     */
+    static int getFeatureVersion(String javaVersion) {
+        String[] parts = javaVersion.split("[.\\-+_]");
+        try {
+            int feature = Integer.parseInt(parts[0]);
+            if (feature == 1 && parts.length > 1) {
+                feature = Integer.parseInt(parts[1]);
+            }
+            return feature;
+        }
+        catch (NumberFormatException exc) {
+            return 0;
+        }
+    }
+
+    private static void evict(File archiveDir) {
+        File[] archives = archiveDir.listFiles((dir, name) -> name.endsWith(".jsa"));
+        if (archives == null || archives.length < MAX_ARCHIVES) {
+            return;
+        }
+        Arrays.sort(archives, Comparator.comparingLong(File::lastModified));
+        for (int i = 0; i <= archives.length - MAX_ARCHIVES; i++) {
+            archives[i].delete();
+        }
+    }
+
+    /**
+     * @return digest of the Java installation and the names and content of the class path entries
+     */
+    static String getKey(String javaHome, String javaVersion, List<String> classpath) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException exc) {
+            throw new TestContainerException(exc);
+        }
+        update(digest, javaHome);
+        update(digest, javaVersion);
+        byte[] buffer = new byte[65536];
+        for (String entry : classpath) {
+            File file = new File(entry);
+            if (!file.isFile()) {
+                update(digest, entry);
+                continue;
+            }
+            update(digest, file.getName());
+            try (InputStream is = Files.newInputStream(file.toPath())) {
+                int n;
+                while ((n = is.read(buffer)) != -1) {
+                    digest.update(buffer, 0, n);
+                }
+            }
+            catch (IOException exc) {
+                LOG.debug("cannot read {}", file, exc);
+                update(digest, entry);
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        digest.update(text.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class TestEventReaderTest {
+
+    private static List<TestEvent> roundTrip(TestEvent... events) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (TestEventWriter writer = new TestEventWriter(os)) {
+            for (TestEvent event : events) {
+                writer.write(event);
+            }
+        }
+        TestEventReader reader = new TestEventReader(new ByteArrayInputStream(os.toByteArray()));
+        TestEvent[] result = new TestEvent[events.length];
+        for (int i = 0; i < events.length; i++) {
+            result[i] = reader.read();
+        }
+        assertThat(reader.read(), is(nullValue()));
+        return Arrays.asList(result);
+    }
+
+    @Test
+    public void shouldReadDescriptions() throws IOException {
+        TestFilter filter = new TestFilter("custom", Arrays.asList("1", "2"));
+        TestDescription description = new TestDescription("Foo", "bar", 3, filter);
+        TestEvent event = roundTrip(new TestEvent("7", TestEventType.TEST_STARTED, description,
+            null)).get(0);
+
+        assertThat(event.getType(), is(TestEventType.TEST_STARTED));
+        assertThat(event.getRunId(), is("7"));
+        assertThat(event.getDescription(), equalTo(description));
+        assertThat(event.getException(), is(nullValue()));
+    }
+
+    @Test
+    public void shouldReadSequenceNumbers() throws IOException {
+        List<TestEvent> events = roundTrip(
+            new TestEvent("7", TestEventType.TEST_STARTED, null, null),
+            new TestEvent("7", 300L, TestEventType.TEST_FINISHED, null, null),
+            new TestEvent("7", Long.MAX_VALUE, TestEventType.RUN_FINISHED, null, null));
+
+        assertThat(events.get(0).getSequence(), is(0L));
+        assertThat(events.get(1).getSequence(), is(300L));
+        assertThat(events.get(2).getSequence(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldRecreateKnownExceptions() throws IOException {
+        IllegalStateException cause = new IllegalStateException("cause");
+        AssertionError error = new AssertionError("expected");
+        error.initCause(cause);
+        TestDescription description = new TestDescription("Foo", "bar");
+        List<TestEvent> events = roundTrip(
+            new TestEvent(TestEventType.TEST_FAILED, description, error),
+            new TestEvent(TestEventType.TEST_FINISHED, description));
+
+        Throwable exc = events.get(0).getException();
+        assertThat(exc, instanceOf(AssertionError.class));
+        assertThat(exc.getMessage(), is("expected"));
+        assertThat(exc.getStackTrace().length, is(error.getStackTrace().length));
+        assertThat(exc.getStackTrace()[0].toString(), is(error.getStackTrace()[0].toString()));
+        assertThat(exc.getCause(), instanceOf(IllegalStateException.class));
+        assertThat(exc.getCause().getMessage(), is("cause"));
+        assertThat(events.get(1).getDescription(), equalTo(description));
+    }
+
+    @Test
+    public void shouldWrapUnknownExceptions() throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        try (TestEventWriter writer = new TestEventWriter(os)) {
+            writer.write(new TestEvent(TestEventType.TEST_FAILED, new TestDescription("Foo"),
+                new RuntimeException("boom")));
+        }
+        byte[] bytes = os.toByteArray();
+        String renamed = new String(bytes, "ISO-8859-1").replace("java.lang.RuntimeException",
+            "org.example.MissingFailure");
+        TestEventReader reader = new TestEventReader(
+            new ByteArrayInputStream(renamed.getBytes("ISO-8859-1")));
+
+        Throwable exc = reader.read().getException();
+        assertThat(exc, instanceOf(WrappedTestContainerException.class));
+        assertThat(((WrappedTestContainerException) exc).getWrappedClassName(),
+            is("org.example.MissingFailure"));
+        assertThat(exc.getMessage(), is("boom"));
+    }
+
+    @Test(expected = StreamCorruptedException.class)
+    public void shouldRejectForeignStream() throws IOException {
+        new TestEventReader(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 }));
+    }
+}
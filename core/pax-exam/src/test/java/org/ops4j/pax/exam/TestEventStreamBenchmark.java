@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Compares Java serialization of test events with {@link TestEventWriter} and
+ * {@link TestEventReader}. This is not a unit test, run its main method on the test class path of
+ * this module.
+ * <p>
+ * Each round writes and reads the events of a test class with 100 methods, 10 of them failing.
+ * The benchmark reports time, stream size and allocated bytes per round.
+ */
+public class TestEventStreamBenchmark {
+
+    private static final int WARMUP_ROUNDS = 2000;
+    private static final int ROUNDS = 5000;
+
+    private interface Codec {
+
+        byte[] write(TestEvent[] events) throws IOException;
+
+        int read(byte[] bytes) throws IOException, ClassNotFoundException;
+    }
+
+    private static class SerializationCodec implements Codec {
+
+        @Override
+        public byte[] write(TestEvent[] events) throws IOException {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(os)) {
+                for (TestEvent event : events) {
+                    oos.writeObject(event);
+                }
+            }
+            return os.toByteArray();
+        }
+
+        @Override
+        public int read(byte[] bytes) throws IOException, ClassNotFoundException {
+            int count = 0;
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+                while (true) {
+                    ois.readObject();
+                    count++;
+                }
+            }
+            catch (EOFException exc) {
+                // end of stream
+            }
+            return count;
+        }
+    }
+
+    private static class BinaryCodec implements Codec {
+
+        @Override
+        public byte[] write(TestEvent[] events) throws IOException {
+            ByteArrayOutputStream os = new ByteArrayOutputStream();
+            try (TestEventWriter writer = new TestEventWriter(os)) {
+                for (TestEvent event : events) {
+                    writer.write(event);
+                }
+            }
+            return os.toByteArray();
+        }
+
+        @Override
+        public int read(byte[] bytes) throws IOException {
+            int count = 0;
+            try (TestEventReader reader = new TestEventReader(new ByteArrayInputStream(bytes))) {
+                while (reader.read() != null) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static TestEvent[] createEvents() {
+        TestEvent[] events = new TestEvent[211];
+        int n = 0;
+        for (int i = 0; i < 100; i++) {
+            TestDescription description = new TestDescription("org.example.SomeTest",
+                "testMethod" + i);
+            events[n++] = new TestEvent("1", TestEventType.TEST_STARTED, description, null);
+            if (i % 10 == 0) {
+                events[n++] = new TestEvent("1", TestEventType.TEST_FAILED, description,
+                    deepException(40));
+            }
+            events[n++] = new TestEvent("1", TestEventType.TEST_FINISHED, description, null);
+        }
+        events[n] = new TestEvent("1", TestEventType.RUN_FINISHED, null, null);
+        return events;
+    }
+
+    private static Throwable deepException(int depth) {
+        if (depth == 0) {
+            return new AssertionError("expected:<1> but was:<2>");
+        }
+        return deepException(depth - 1);
+    }
+
+    private static void run(String name, Codec codec, TestEvent[] events) throws Exception {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            codec.read(codec.write(events));
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory
+            .getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        int size = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            byte[] bytes = codec.write(events);
+            size = bytes.length;
+            codec.read(bytes);
+        }
+        long micros = (System.nanoTime() - start) / 1000 / ROUNDS;
+        long allocated = (threads.getThreadAllocatedBytes(threadId) - allocatedBefore) / ROUNDS;
+        System.out.printf("%-14s %8d us/round %8d bytes/stream %10d bytes allocated/round%n",
+            name, micros, size, allocated);
+    }
+
+    public static void main(String[] args) throws Exception {
+        TestEvent[] events = createEvents();
+        run("serialization", new SerializationCodec(), events);
+        run("binary", new BinaryCodec(), events);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 OPS4J Contributors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ArtifactCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static File publish(ArtifactCache cache, String url, String content)
+        throws IOException {
+        File download = cache.createTempFile();
+        Files.write(download.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return cache.publish(url, download);
+    }
+
+    @Test
+    public void shouldStoreIdenticalContentOnce() throws IOException {
+        ArtifactCache cache = new ArtifactCache(tempFolder.getRoot(), 1024);
+        File first = publish(cache, "file:/a.jar", "content");
+        File second = publish(cache, "file:/b.jar", "content");
+
+        assertThat(second, is(first));
+        assertThat(cache.get("file:/a.jar"), is(first));
+        assertThat(new File(tempFolder.getRoot(), "artifacts").list().length, is(1));
+    }
+
+    @Test
+    public void shouldKeepReleasedArtifactsAcrossProcesses() throws IOException {
+        File file = publish(new ArtifactCache(tempFolder.getRoot(), 1024), "mvn:g/a/1.0", "a");
+        publish(new ArtifactCache(tempFolder.getRoot(), 1024), "mvn:g/a/1.0-SNAPSHOT", "b");
+        publish(new ArtifactCache(tempFolder.getRoot(), 1024), "file:/a.jar", "c");
+
+        ArtifactCache cache = new ArtifactCache(tempFolder.getRoot(), 1024);
+        assertThat(cache.get("mvn:g/a/1.0"), is(file));
+        assertThat(cache.get("mvn:g/a/1.0-SNAPSHOT"), is(nullValue()));
+        assertThat(cache.get("file:/a.jar"), is(nullValue()));
+    }
+
+    @Test
+    public void shouldIndexFixedVersionsOnly() {
+        assertThat(ArtifactCache.isImmutable("mvn:g/a/1.0"), is(true));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a/1.0/xml/features"), is(true));
+        assertThat(ArtifactCache.isImmutable("mvn:http://repo.example.org/maven2!g/a/1.0"),
+            is(true));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a"), is(false));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a//jar"), is(false));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a/LATEST"), is(false));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a/RELEASE"), is(false));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a/[1.0,2.0)"), is(false));
+        assertThat(ArtifactCache.isImmutable("mvn:g/a/1.0-SNAPSHOT"), is(false));
+        assertThat(ArtifactCache.isImmutable("file:/a.jar"), is(false));
+    }
+
+    @Test
+    public void shouldEvictArtifactsOfOtherProcesses() throws IOException {
+        File old = publish(new ArtifactCache(tempFolder.getRoot(), 10), "mvn:g/a/1", "12345678");
+        old.setLastModified(System.currentTimeMillis() - 60000);
+
+        ArtifactCache cache = new ArtifactCache(tempFolder.getRoot(), 10);
+        File current = publish(cache, "mvn:g/b/1", "abcdefgh");
+
+        assertThat(old.exists(), is(false));
+        assertThat(current.exists(), is(true));
+        assertThat(cache.get("mvn:g/a/1"), is(nullValue()));
+    }
+}
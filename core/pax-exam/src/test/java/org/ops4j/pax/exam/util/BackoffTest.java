@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 OPS4J Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BackoffTest {
+
+    @Test
+    public void delaysGrowExponentiallyUpToMaximum() {
+        Backoff backoff = new Backoff(10, 100);
+        long[] bounds = { 10, 20, 40, 80, 100, 100 };
+        for (long bound : bounds) {
+            long delay = backoff.nextDelay();
+            assertTrue(delay + " > " + bound, delay <= bound);
+            assertTrue(delay + " < " + bound / 2, delay >= bound / 2);
+        }
+        assertEquals(bounds.length, backoff.getAttempts());
+    }
+
+    @Test
+    public void awaitStopsAtDeadline() {
+        Backoff backoff = new Backoff(10, 100);
+        assertFalse(backoff.await(System.currentTimeMillis() - 1));
+        assertTrue(backoff.await(System.currentTimeMillis() + 1000));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 OPS4J Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.ops4j.pax.exam.Constants;
+
+/**
+ * Compares the startup time of Java VMs with and without the class data sharing options of
+ * {@link ClassDataSharing}. This is not a unit test, run its main method on the test class path
+ * of this module with Java 19 or higher.
+ * <p>
+ * Each forked VM loads all classes from the jars on the test class path, which is roughly what a
+ * forked framework does while starting. The first VM with class data sharing creates the archive
+ * and is not measured.
+ */
+public class ClassDataSharingBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    /**
+     * Main class of the forked VMs.
+     */
+    public static class LoadClasses {
+
+        public static void main(String[] args) throws IOException {
+            ClassLoader loader = LoadClasses.class.getClassLoader();
+            for (String path : System.getProperty("java.class.path").split(File.pathSeparator)) {
+                if (!path.endsWith(".jar")) {
+                    continue;
+                }
+                try (JarFile jar = new JarFile(path)) {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        String name = entries.nextElement().getName();
+                        if (name.endsWith(".class") && !name.contains("-")) {
+                            load(loader, name.substring(0, name.length() - 6).replace('/', '.'));
+                        }
+                    }
+                }
+            }
+        }
+
+        private static void load(ClassLoader loader, String className) {
+            try {
+                Class.forName(className, false, loader);
+            }
+            // CHECKSTYLE:SKIP : any linkage error is expected here
+            catch (Throwable exc) {
+                // ignore
+            }
+        }
+    }
+
+    private static long run(List<String> vmOptions) throws IOException, InterruptedException {
+        String javaHome = System.getProperty("java.home");
+        List<String> command = new ArrayList<>();
+        command.add(javaHome + "/bin/java");
+        command.addAll(vmOptions);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(LoadClasses.class.getName());
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).inheritIO().start();
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException("forked VM failed");
+        }
+        return (System.nanoTime() - start) / 1000000;
+    }
+
+    private static void measure(String name, List<String> vmOptions) throws Exception {
+        long total = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            total += run(vmOptions);
+        }
+        System.out.printf("%-10s %6d ms/VM%n", name, total / ROUNDS);
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty(Constants.EXAM_CDS_KEY, "true");
+        String javaHome = System.getProperty("java.home");
+        List<String> classpath = Arrays.asList(System.getProperty("java.class.path").split(
+            File.pathSeparator));
+        List<String> cds = ClassDataSharing.getVmOptions(javaHome,
+            Collections.<String> emptyList(), classpath);
+        if (cds.isEmpty()) {
+            System.out.println("class data sharing not available for " + javaHome);
+            return;
+        }
+        measure("default", Collections.<String> emptyList());
+        run(cds);
+        measure("archive", cds);
+    }
+}
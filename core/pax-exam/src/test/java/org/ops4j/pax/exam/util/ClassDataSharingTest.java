@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 OPS4J Contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or
+ * implied.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ops4j.pax.exam.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ClassDataSharingTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void shouldParseFeatureVersions() {
+        assertThat(ClassDataSharing.getFeatureVersion("1.8.0_292"), is(8));
+        assertThat(ClassDataSharing.getFeatureVersion("17.0.9"), is(17));
+        assertThat(ClassDataSharing.getFeatureVersion("21"), is(21));
+        assertThat(ClassDataSharing.getFeatureVersion("22-ea"), is(22));
+    }
+
+    @Test
+    public void shouldReadVersionFromReleaseFile() throws IOException {
+        File javaHome = tempFolder.newFolder("jdk");
+        Files.write(new File(javaHome, "release").toPath(),
+            "IMPLEMENTOR=\"Test\"\nJAVA_VERSION=\"21.0.1\"\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ClassDataSharing.getJavaVersion(javaHome.getPath()), is("21.0.1"));
+        assertThat(ClassDataSharing.getJavaVersion(tempFolder.newFolder("unknown").getPath()),
+            is(nullValue()));
+    }
+
+    @Test
+    public void shouldKeepUserSharingOptions() {
+        assertThat(ClassDataSharing.hasSharingOptions(Arrays.asList("-Xmx1g", "-Xshare:off")),
+            is(true));
+        assertThat(ClassDataSharing.hasSharingOptions(Collections.singletonList("-Xmx1g")),
+            is(false));
+    }
+
+    @Test
+    public void shouldKeyArchivesByClassPathContent() throws IOException {
+        File first = new File(tempFolder.newFolder("first"), "boot.jar");
+        File second = new File(tempFolder.newFolder("second"), "boot.jar");
+        Files.write(first.toPath(), "boot".getBytes(StandardCharsets.UTF_8));
+        Files.write(second.toPath(), "boot".getBytes(StandardCharsets.UTF_8));
+        String key = ClassDataSharing.getKey("jdk", "21", Arrays.asList(first.getPath()));
+
+        assertThat(ClassDataSharing.getKey("jdk", "21", Arrays.asList(second.getPath())),
+            is(key));
+        Files.write(second.toPath(), "changed".getBytes(StandardCharsets.UTF_8));
+        assertThat(ClassDataSharing.getKey("jdk", "21", Arrays.asList(second.getPath())),
+            is(not(key)));
+    }
+
+    @Test
+    public void shouldNotShareWithOldJava() throws IOException {
+        File javaHome = tempFolder.newFolder("jdk");
+        Files.write(new File(javaHome, "release").toPath(),
+            "JAVA_VERSION=\"11.0.2\"\n".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(ClassDataSharing.getVmOptions(javaHome.getPath(),
+            Collections.<String> emptyList(), Collections.singletonList("a.jar")).isEmpty(),
+            is(true));
+    }
+}
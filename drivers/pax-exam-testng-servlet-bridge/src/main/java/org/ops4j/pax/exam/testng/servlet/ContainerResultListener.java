@@ -18,11 +18,11 @@
 package org.ops4j.pax.exam.testng.servlet;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 
 import org.ops4j.pax.exam.TestDescription;
 import org.ops4j.pax.exam.TestEvent;
 import org.ops4j.pax.exam.TestEventType;
+import org.ops4j.pax.exam.TestEventWriter;
 import org.ops4j.pax.exam.util.Exceptions;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
@@ -34,10 +34,10 @@ import org.testng.ITestResult;
  */
 public class ContainerResultListener implements ITestListener {
 
-    private ObjectOutputStream oos;
+    private TestEventWriter writer;
 
-    public ContainerResultListener(ObjectOutputStream oos) {
-        this.oos = oos;
+    public ContainerResultListener(TestEventWriter writer) {
+        this.writer = writer;
     }
 
     @Override
@@ -47,7 +47,8 @@ public class ContainerResultListener implements ITestListener {
 
     private void writeEvent(TestEvent event) {
         try {
-            oos.writeObject(event);
+            writer.write(event);
+            writer.flush();
         }
         catch (IOException exc) {
             throw Exceptions.unchecked(exc);
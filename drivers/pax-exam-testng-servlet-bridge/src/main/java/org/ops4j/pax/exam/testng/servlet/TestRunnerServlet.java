@@ -18,7 +18,6 @@
 package org.ops4j.pax.exam.testng.servlet;
 
 import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.io.OutputStream;
 import java.util.Arrays;
 
@@ -29,6 +28,7 @@ import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.ops4j.pax.exam.TestEventWriter;
 import org.testng.TestNG;
 import org.testng.xml.XmlClass;
 import org.testng.xml.XmlInclude;
@@ -68,12 +68,12 @@ public class TestRunnerServlet extends HttpServlet {
 
     private void runSuite(OutputStream os, Class<?> clazz, String methodName) throws IOException {
 
-        ObjectOutputStream oos = new ObjectOutputStream(os);
+        TestEventWriter writer = new TestEventWriter(os);
 
         TestNG testNG = new TestNG();
         testNG.setUseDefaultListeners(false);
         testNG.setVerbose(0);
-        ContainerResultListener listener = new ContainerResultListener(oos);
+        ContainerResultListener listener = new ContainerResultListener(writer);
         testNG.addListener(listener);
         XmlSuite suite = new XmlSuite();
         suite.setName("PaxExamInternal");
@@ -87,5 +87,6 @@ public class TestRunnerServlet extends HttpServlet {
 
         testNG.setXmlSuites(Arrays.asList(suite));
         testNG.run();
+        writer.flush();
     }
 }